@@ -0,0 +1,86 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.benchmarks.domain.Post;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserts through a {@link ExecutorType#BATCH} session. The transaction is rolled back
+ * after every operation so the table does not grow between invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+  private static final int FIRST_ID = 1_000_000;
+
+  @Param({"100", "1000"})
+  public int rows;
+
+  @Param({"0", "50"})
+  public int multiRowInsertSize;
+
+  private SqlSessionFactory sqlSessionFactory;
+  private Post[] posts;
+
+  @Setup
+  public void setup() throws Exception {
+    sqlSessionFactory = BenchmarkDatabase.createSqlSessionFactory("batch");
+    sqlSessionFactory.getConfiguration().setMultiRowInsertSize(multiRowInsertSize);
+    Date now = new Date();
+    posts = new Post[rows];
+    for (int i = 0; i < rows; i++) {
+      posts[i] = new Post(FIRST_ID + i, 1 + i % BenchmarkDatabase.BLOG_COUNT, "Subject " + i, "Body " + i, now);
+    }
+  }
+
+  @Benchmark
+  public List<BatchResult> insertPosts() {
+    try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      BlogMapper mapper = session.getMapper(BlogMapper.class);
+      for (Post post : posts) {
+        mapper.insertPost(post);
+      }
+      List<BatchResult> results = session.flushStatements();
+      session.rollback(true);
+      return results;
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Properties;
+
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+
+/**
+ * Creates and populates the in-memory database shared by the benchmark suites.
+ */
+public final class BenchmarkDatabase {
+
+  public static final int BLOG_COUNT = 100;
+  public static final int POSTS_PER_BLOG = 10;
+
+  private static final String CONFIG = "org/apache/ibatis/benchmarks/mybatis-config.xml";
+  private static final String DDL = "org/apache/ibatis/benchmarks/CreateDB.sql";
+
+  private BenchmarkDatabase() {
+    // Prevent Instantiation
+  }
+
+  /**
+   * Builds a session factory backed by a fresh in-memory HSQLDB database.
+   *
+   * @param name
+   *          the database name, each suite should use its own one
+   * @return the session factory
+   */
+  public static SqlSessionFactory createSqlSessionFactory(String name) throws IOException, SQLException {
+    Properties properties = new Properties();
+    properties.setProperty("url", "jdbc:hsqldb:mem:" + name);
+    SqlSessionFactory sqlSessionFactory;
+    try (Reader reader = Resources.getResourceAsReader(CONFIG)) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader, properties);
+    }
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Connection connection = session.getConnection();
+      createSchema(connection);
+      loadData(connection);
+      session.commit(true);
+    }
+    return sqlSessionFactory;
+  }
+
+  private static void createSchema(Connection connection) throws IOException, SQLException {
+    ScriptRunner runner = new ScriptRunner(connection);
+    runner.setLogWriter(null);
+    try (Reader reader = Resources.getResourceAsReader(DDL)) {
+      runner.runScript(reader);
+    }
+  }
+
+  private static void loadData(Connection connection) throws SQLException {
+    try (PreparedStatement blogs = connection.prepareStatement("insert into blog (id, title, author_name) values (?, ?, ?)");
+         PreparedStatement posts = connection.prepareStatement("insert into post (id, blog_id, subject, body, created_on) values (?, ?, ?, ?, ?)")) {
+      Timestamp now = new Timestamp(System.currentTimeMillis());
+      int postId = 0;
+      for (int blogId = 1; blogId <= BLOG_COUNT; blogId++) {
+        blogs.setInt(1, blogId);
+        blogs.setString(2, "Blog " + blogId);
+        blogs.setString(3, "author" + blogId);
+        blogs.addBatch();
+        for (int i = 0; i < POSTS_PER_BLOG; i++) {
+          posts.setInt(1, ++postId);
+          posts.setInt(2, blogId);
+          posts.setString(3, "Post " + postId);
+          posts.setString(4, "Body of post " + postId + " in blog " + blogId);
+          posts.setTimestamp(5, now);
+          posts.addBatch();
+        }
+      }
+      blogs.executeBatch();
+      posts.executeBatch();
+    }
+  }
+
+}
@@ -0,0 +1,36 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.benchmarks.domain.Blog;
+import org.apache.ibatis.benchmarks.domain.Post;
+
+public interface BlogMapper {
+
+  Blog selectBlog(int id);
+
+  List<Blog> selectBlogs();
+
+  List<Blog> selectBlogsWithPosts();
+
+  List<Blog> selectBlogsByIds(@Param("ids") List<Integer> ids);
+
+  int insertPost(Post post);
+
+}
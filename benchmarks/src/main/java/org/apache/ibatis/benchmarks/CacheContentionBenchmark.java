@@ -0,0 +1,117 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.impl.ConcurrentCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads of a namespace cache by as many threads as there are processors, with the default chain
+ * ({@code PERPETUAL}, LRU eviction and a lock) and with {@code CONCURRENT}.
+ * The caches are read-only ({@code readOnly="true"}), so that the copies of a read-write cache do not hide the locking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheContentionBenchmark {
+
+  private static final int KEY_COUNT = 1024;
+
+  @Param({ "PERPETUAL", "CONCURRENT" })
+  public String type;
+
+  private Cache cache;
+  private CacheKey[] keys;
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    int next = ThreadLocalRandom.current().nextInt(KEY_COUNT);
+  }
+
+  @Setup
+  public void setup() {
+    cache = new CacheBuilder("org.apache.ibatis.benchmarks.CachedBlogMapper")
+        .implementation("CONCURRENT".equals(type) ? ConcurrentCache.class : PerpetualCache.class)
+        .addDecorator(LruCache.class)
+        .size(KEY_COUNT)
+        .readWrite(false)
+        .build();
+    keys = new CacheKey[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; i++) {
+      CacheKey key = new CacheKey();
+      key.update("org.apache.ibatis.benchmarks.CachedBlogMapper.selectBlog");
+      key.update(i);
+      keys[i] = key;
+      cache.putObject(key, "blog" + i);
+    }
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object contendedHotRead() {
+    // every thread reads the same entry, as with a popular lookup
+    return cache.getObject(keys[0]);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object contendedRead(ThreadState state) {
+    state.next = (state.next + 1) & (KEY_COUNT - 1);
+    return cache.getObject(keys[state.next]);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object contendedReadMostly(ThreadState state) {
+    // one put every 16 reads, as statements of the namespace miss and fill the cache
+    state.next = (state.next + 1) & (KEY_COUNT - 1);
+    CacheKey key = keys[state.next];
+    if ((state.next & 15) == 0) {
+      cache.putObject(key, "blog" + state.next);
+      return key;
+    }
+    return cache.getObject(key);
+  }
+
+  @Benchmark
+  public Object uncontendedRead(ThreadState state) {
+    state.next = (state.next + 1) & (KEY_COUNT - 1);
+    return cache.getObject(keys[state.next]);
+  }
+
+}
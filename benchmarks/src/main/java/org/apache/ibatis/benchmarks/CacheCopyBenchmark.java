@@ -0,0 +1,94 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.benchmarks.domain.Blog;
+import org.apache.ibatis.benchmarks.domain.Post;
+import org.apache.ibatis.cache.CacheCopier;
+import org.apache.ibatis.cache.ReflectiveCopier;
+import org.apache.ibatis.cache.SerializationCopier;
+import org.apache.ibatis.cache.decorators.SerializedCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hits and puts of a read-write cache holding a list of blogs with their posts, copied with Java serialization
+ * ({@code SERIALIZATION}, the default) and by reflection ({@code REFLECTIVE}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheCopyBenchmark {
+
+  @Param({ "SERIALIZATION", "REFLECTIVE" })
+  public String copier;
+
+  @Param({ "1", "100", "1000" })
+  public int blogCount;
+
+  private SerializedCache cache;
+  private List<Blog> blogs;
+
+  @Setup
+  public void setup() {
+    cache = new SerializedCache(new PerpetualCache("org.apache.ibatis.benchmarks.CachedBlogMapper"));
+    CacheCopier cacheCopier = "REFLECTIVE".equals(copier) ? new ReflectiveCopier() : new SerializationCopier();
+    cache.setCopier(cacheCopier);
+    blogs = new ArrayList<>();
+    for (int i = 1; i <= blogCount; i++) {
+      Blog blog = new Blog();
+      blog.setId(i);
+      blog.setTitle("Blog " + i);
+      blog.setAuthorName("Author " + i);
+      List<Post> posts = new ArrayList<>();
+      for (int j = 1; j <= 5; j++) {
+        posts.add(new Post(i * 10 + j, i, "Subject " + j, "Body of post " + j + " of blog " + i, new Date()));
+      }
+      blog.setPosts(posts);
+      blogs.add(blog);
+    }
+    cache.putObject("blogs", blogs);
+  }
+
+  @Benchmark
+  public Object get() {
+    return cache.getObject("blogs");
+  }
+
+  @Benchmark
+  public void put() {
+    cache.putObject("blogs", blogs);
+  }
+
+}
@@ -0,0 +1,101 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.session.RowBounds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds {@link CacheKey}s the way the executor and the result set handler do, without a database:
+ * the statement key with its row bounds, and the row keys of a blog with its posts combined with their parent key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+  private static final String BLOG_MAP = "org.apache.ibatis.benchmarks.BlogMapper.blogWithPostsMap";
+  private static final String POST_MAP = "org.apache.ibatis.benchmarks.BlogMapper.blogWithPostsMap_collection[posts]";
+  private static final String SQL = "select b.id, b.title, p.id as post_id, p.subject from blog b left join post p on p.blog_id = b.id where b.id = ?";
+
+  private Map<CacheKey, Object> nestedResultObjects;
+
+  @Setup
+  public void setup() {
+    nestedResultObjects = new HashMap<>();
+  }
+
+  @Benchmark
+  public CacheKey statementKey() {
+    CacheKey cacheKey = new CacheKey();
+    cacheKey.update("org.apache.ibatis.benchmarks.BlogMapper.selectBlogsWithPosts");
+    cacheKey.updateInt(RowBounds.NO_ROW_OFFSET);
+    cacheKey.updateInt(RowBounds.NO_ROW_LIMIT);
+    cacheKey.update(SQL);
+    cacheKey.update(42);
+    cacheKey.update("development");
+    return cacheKey;
+  }
+
+  @Benchmark
+  public int nestedRowKeys() {
+    nestedResultObjects.clear();
+    int postId = 0;
+    for (int blogId = 1; blogId <= BenchmarkDatabase.BLOG_COUNT; blogId++) {
+      for (int i = 0; i < BenchmarkDatabase.POSTS_PER_BLOG; i++) {
+        // every row repeats the parent key, as rows of a join do
+        CacheKey blogKey = rowKey(BLOG_MAP, "ID", blogId);
+        nestedResultObjects.putIfAbsent(blogKey, blogKey);
+        CacheKey postKey = rowKey(POST_MAP, "POST_ID", ++postId);
+        CacheKey combinedKey;
+        try {
+          combinedKey = postKey.clone();
+        } catch (CloneNotSupportedException e) {
+          throw new IllegalStateException(e);
+        }
+        combinedKey.update(blogKey);
+        nestedResultObjects.putIfAbsent(combinedKey, postKey);
+      }
+    }
+    return nestedResultObjects.size();
+  }
+
+  private static CacheKey rowKey(String resultMapId, String column, Integer value) {
+    CacheKey cacheKey = new CacheKey();
+    cacheKey.update(resultMapId);
+    cacheKey.update(column);
+    cacheKey.update(value);
+    return cacheKey;
+  }
+
+}
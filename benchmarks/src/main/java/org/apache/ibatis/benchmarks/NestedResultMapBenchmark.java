@@ -0,0 +1,67 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.benchmarks.domain.Blog;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A one-to-many join collapsed by a nested result map
+ * ({@link BenchmarkDatabase#BLOG_COUNT} parents with {@link BenchmarkDatabase#POSTS_PER_BLOG} children each),
+ * with regular and numeric row keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NestedResultMapBenchmark {
+
+  @Param({ "false", "true" })
+  public boolean numericRowKeys;
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Setup
+  public void setup() throws Exception {
+    sqlSessionFactory = BenchmarkDatabase.createSqlSessionFactory("nested");
+    sqlSessionFactory.getConfiguration().setNumericRowKeyEnabled(numericRowKeys);
+  }
+
+  @Benchmark
+  public List<Blog> selectBlogsWithPosts() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.getMapper(BlogMapper.class).selectBlogsWithPosts();
+    }
+  }
+
+}
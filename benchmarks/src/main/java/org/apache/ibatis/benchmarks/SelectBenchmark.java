@@ -0,0 +1,82 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.benchmarks.domain.Blog;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simple selects through {@code DefaultSqlSession} and through the mapper proxy.
+ * Every operation opens its own session, so the whole statement lifecycle is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SelectBenchmark {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Setup
+  public void setup() throws Exception {
+    sqlSessionFactory = BenchmarkDatabase.createSqlSessionFactory("select");
+  }
+
+  @Benchmark
+  public Blog selectOneThroughSession() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.selectOne("org.apache.ibatis.benchmarks.BlogMapper.selectBlog", 1);
+    }
+  }
+
+  @Benchmark
+  public Blog selectOneThroughMapper() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.getMapper(BlogMapper.class).selectBlog(1);
+    }
+  }
+
+  @Benchmark
+  public List<Blog> selectListThroughSession() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.selectList("org.apache.ibatis.benchmarks.BlogMapper.selectBlogs");
+    }
+  }
+
+  @Benchmark
+  public List<Blog> selectListThroughMapper() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.getMapper(BlogMapper.class).selectBlogs();
+    }
+  }
+
+}
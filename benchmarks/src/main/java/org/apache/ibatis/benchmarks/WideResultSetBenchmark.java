@@ -0,0 +1,127 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Maps a result set with many columns, both with automatic mapping and with an explicit result map.
+ * This is where resolving columns by label on every row shows up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WideResultSetBenchmark {
+
+  private static final int COLUMN_COUNT = 64;
+  private static final int ROW_COUNT = 500;
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Setup
+  public void setup() throws Exception {
+    sqlSessionFactory = BenchmarkDatabase.createSqlSessionFactory("wide");
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      createWideTable(session.getConnection());
+      session.commit(true);
+    }
+    registerStatements(sqlSessionFactory.getConfiguration());
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> selectAutoMapped() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.selectList("wide.selectAutoMapped");
+    }
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> selectWithResultMap() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.selectList("wide.selectWithResultMap");
+    }
+  }
+
+  private static void createWideTable(Connection connection) throws Exception {
+    StringBuilder ddl = new StringBuilder("create table wide (");
+    StringBuilder insert = new StringBuilder("insert into wide values (");
+    for (int i = 1; i <= COLUMN_COUNT; i++) {
+      ddl.append(i == 1 ? "" : ", ").append("col").append(i).append(" int");
+      insert.append(i == 1 ? "?" : ", ?");
+    }
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(ddl.append(')').toString());
+    }
+    try (PreparedStatement statement = connection.prepareStatement(insert.append(')').toString())) {
+      for (int row = 0; row < ROW_COUNT; row++) {
+        for (int i = 1; i <= COLUMN_COUNT; i++) {
+          statement.setInt(i, row * COLUMN_COUNT + i);
+        }
+        statement.addBatch();
+      }
+      statement.executeBatch();
+    }
+  }
+
+  private static void registerStatements(Configuration configuration) {
+    List<ResultMapping> resultMappings = new ArrayList<>();
+    for (int i = 1; i <= COLUMN_COUNT; i++) {
+      resultMappings.add(new ResultMapping.Builder(configuration, "property" + i, "col" + i, Integer.class).build());
+    }
+    ResultMap explicit = new ResultMap.Builder(configuration, "wide.explicitMap", HashMap.class, resultMappings).build();
+    ResultMap inline = new ResultMap.Builder(configuration, "wide.inlineMap", HashMap.class, new ArrayList<>()).build();
+    configuration.addResultMap(explicit);
+    addSelect(configuration, "wide.selectAutoMapped", inline);
+    addSelect(configuration, "wide.selectWithResultMap", explicit);
+  }
+
+  private static void addSelect(Configuration configuration, String id, ResultMap resultMap) {
+    StaticSqlSource sqlSource = new StaticSqlSource(configuration, "select * from wide");
+    configuration.addMappedStatement(new MappedStatement.Builder(configuration, id, sqlSource, SqlCommandType.SELECT)
+        .resultMaps(Collections.singletonList(resultMap)).build());
+  }
+
+}
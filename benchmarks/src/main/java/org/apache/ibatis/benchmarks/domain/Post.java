@@ -0,0 +1,82 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+public class Post implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private Integer id;
+  private Integer blogId;
+  private String subject;
+  private String body;
+  private Date createdOn;
+
+  public Post() {
+  }
+
+  public Post(Integer id, Integer blogId, String subject, String body, Date createdOn) {
+    this.id = id;
+    this.blogId = blogId;
+    this.subject = subject;
+    this.body = body;
+    this.createdOn = createdOn;
+  }
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public Integer getBlogId() {
+    return blogId;
+  }
+
+  public void setBlogId(Integer blogId) {
+    this.blogId = blogId;
+  }
+
+  public String getSubject() {
+    return subject;
+  }
+
+  public void setSubject(String subject) {
+    this.subject = subject;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public void setBody(String body) {
+    this.body = body;
+  }
+
+  public Date getCreatedOn() {
+    return createdOn;
+  }
+
+  public void setCreatedOn(Date createdOn) {
+    this.createdOn = createdOn;
+  }
+
+}
@@ -22,6 +22,10 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheCopier;
+import org.apache.ibatis.cache.CacheWeigher;
+import org.apache.ibatis.cache.EstimatedSizeWeigher;
+import org.apache.ibatis.cache.SerializationCopier;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 
@@ -78,6 +82,23 @@ public @interface CacheNamespace {
    */
   int size() default 1024;
 
+  /**
+   * Returns the maximum total weight of the entries, used when the eviction is weight bounded
+   * (e.g. {@link org.apache.ibatis.cache.decorators.WeightedLruCache}).
+   *
+   * @return the max weight, {@code 0} to keep the default of the eviction
+   * @since 3.5.5
+   */
+  long maxWeight() default 0;
+
+  /**
+   * Returns the weigher of the entries, used when the eviction is weight bounded.
+   *
+   * @return the weigher type
+   * @since 3.5.5
+   */
+  Class<? extends CacheWeigher> weigher() default EstimatedSizeWeigher.class;
+
   /**
    * Returns whether use read/write cache.
    *
@@ -85,6 +106,14 @@ public @interface CacheNamespace {
    */
   boolean readWrite() default true;
 
+  /**
+   * Returns the copier of the values, used when the cache is read/write.
+   *
+   * @return the copier type
+   * @since 3.5.5
+   */
+  Class<? extends CacheCopier> copier() default SerializationCopier.class;
+
   /**
    * Returns whether block the cache at request time or not.
    *
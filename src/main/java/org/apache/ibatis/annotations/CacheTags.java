@@ -0,0 +1,61 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation that specify the second level cache tags of a statement.
+ * <p>
+ * The results of a select are cached depending on its tags. An insert, update or delete invalidates the entries of its
+ * tags, and of the queries of its namespace that have no tags, instead of clearing the whole cache.
+ *
+ * <p>
+ * <b>How to use:</b>
+ *
+ * <pre>
+ * public interface BlogMapper {
+ *   &#064;CacheTags("blog:#{id}")
+ *   &#064;Select("SELECT * FROM blog WHERE id = #{id}")
+ *   Blog selectById(int id);
+ *
+ *   &#064;CacheTags("blog")
+ *   &#064;Select("SELECT * FROM blog")
+ *   List&lt;Blog&gt; selectAll();
+ *
+ *   &#064;CacheTags({"blog", "blog:#{id}"})
+ *   &#064;Update("UPDATE blog SET title = #{title} WHERE id = #{id}")
+ *   int update(Blog blog);
+ * }
+ * </pre>
+ *
+ * @since 3.5.5
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheTags {
+  /**
+   * Returns the cache tags, which may refer to parameter properties like {@code #{id}}.
+   *
+   * @return the cache tags
+   */
+  String[] value();
+}
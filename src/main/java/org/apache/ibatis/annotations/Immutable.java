@@ -0,0 +1,49 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The marker annotation that indicate a type whose instances are never modified once they are mapped.
+ * <p>
+ * A read-write cache that copies with {@link org.apache.ibatis.cache.ReflectiveCopier} shares instances of such a type
+ * instead of copying them.
+ *
+ * <p>
+ * <b>How to use:</b>
+ *
+ * <pre>
+ * &#064;Immutable
+ * public class Country {
+ *
+ *   private final String code;
+ *   private final String name;
+ *   // ...
+ * }
+ * </pre>
+ *
+ * @since 3.5.5
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE })
+public @interface Immutable {
+}
@@ -56,6 +56,22 @@ public @interface Many {
    */
   String select() default "";
 
+  /**
+   * Returns the statement id that retrieves the collections of several rows at once, from a list of column values.
+   *
+   * @return the statement id
+   * @since 3.5.5
+   */
+  String batchSelect() default "";
+
+  /**
+   * Returns the property of the nested results that holds the column value of the parent row.
+   *
+   * @return the property name
+   * @since 3.5.5
+   */
+  String batchKey() default "";
+
   /**
    * Returns the fetch strategy for nested statement.
    *
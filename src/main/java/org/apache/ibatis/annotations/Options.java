@@ -135,4 +135,16 @@ public @interface Options {
    * @return result set names that separate with comma(',')
    */
   String resultSets() default "";
+
+  /**
+   * Returns whether map rows to objects in parallel while reading the result set.
+   * <p>
+   * Only rows of a simple result map (without nested result maps, nested selects, constructor mappings or
+   * discriminator) are mapped in parallel. The results are always delivered in the order of the result set.
+   * </p>
+   *
+   * @return {@code true} if map rows in parallel; {@code false} if otherwise
+   * @since 3.5.5
+   */
+  boolean parallelMapping() default false;
 }
@@ -21,6 +21,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.apache.ibatis.mapping.KeyBlockMode;
 import org.apache.ibatis.mapping.StatementType;
 
 /**
@@ -90,4 +91,28 @@ public @interface SelectKey {
    * @return the statement type
    */
   StatementType statementType() default StatementType.PREPARED;
+
+  /**
+   * Returns the number of keys allocated per execution of the statement.
+   * <p>
+   * When greater than 1, the statement must be executed before the insert, and return the keys as specified by
+   * {@link #blockMode()}. The keys are handed out from a pool shared by all the sessions.
+   * </p>
+   *
+   * @return the number of keys allocated at once
+   * @since 3.5.5
+   */
+  int blockSize() default 1;
+
+  /**
+   * Returns how the statement returns the keys of a block.
+   * <p>
+   * {@link KeyBlockMode#SEQUENCE} expects one row with the first of {@code blockSize} consecutive values (e.g. a
+   * sequence incremented by {@code blockSize}), {@link KeyBlockMode#ROWS} expects exactly {@code blockSize} rows.
+   * </p>
+   *
+   * @return the block mode
+   * @since 3.5.5
+   */
+  KeyBlockMode blockMode() default KeyBlockMode.SEQUENCE;
 }
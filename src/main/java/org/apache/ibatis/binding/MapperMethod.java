@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.ibatis.annotations.Flush;
 import org.apache.ibatis.annotations.MapKey;
@@ -125,7 +126,7 @@ public class MapperMethod {
           + " attempted to return null from a method with a primitive return type (" + method.getReturnType() + ").");
     }
     // 将执行结果返回
-    return result;
+    return method.returnsFuture() ? CompletableFuture.completedFuture(result) : result;
   }
 
   /**
@@ -168,7 +169,7 @@ public class MapperMethod {
   private void executeWithResultHandler(SqlSession sqlSession, Object[] args) {
     MappedStatement ms = sqlSession.getConfiguration().getMappedStatement(command.getName());
     if (!StatementType.CALLABLE.equals(ms.getStatementType())
-        && void.class.equals(ms.getResultMaps().get(0).getType())) {
+        && (void.class.equals(ms.getResultMaps().get(0).getType()) || Void.class.equals(ms.getResultMaps().get(0).getType()))) {
       throw new BindingException("method " + command.getName()
           + " needs either a @ResultMap annotation, a @ResultType annotation,"
           + " or a resultType attribute in XML so a ResultHandler can be used as a parameter.");
@@ -376,6 +377,8 @@ public class MapperMethod {
     private final boolean returnsVoid;
     private final boolean returnsCursor;
     private final boolean returnsOptional;
+    // 方法返回值是否为 CompletableFuture，此时下面的字段描述的是 CompletableFuture 的结果类型
+    private final boolean returnsFuture;
     // 方法返回值的具体类型。
     private final Class<?> returnType;
     // 如果方法的返回值为 Map 集合，则通过 mapKey 字段记录了作为 key 的列名。mapKey 字段的值是通过解析方法上的 @MapKey 注解得到的。
@@ -390,21 +393,27 @@ public class MapperMethod {
     public MethodSignature(Configuration configuration, Class<?> mapperInterface, Method method) {
       // 通过TypeParameterResolver工具类解析方法的返回值类型，初始化returnType字段值
       Type resolvedReturnType = TypeParameterResolver.resolveReturnType(method, mapperInterface);
+      this.returnsFuture = CompletableFuture.class.equals(method.getReturnType());
+      if (returnsFuture) {
+        // 异步方法按照 CompletableFuture 的类型参数处理结果
+        resolvedReturnType = resolvedReturnType instanceof ParameterizedType
+            ? ((ParameterizedType) resolvedReturnType).getActualTypeArguments()[0] : Object.class;
+      }
       if (resolvedReturnType instanceof Class<?>) {
         this.returnType = (Class<?>) resolvedReturnType;
       } else if (resolvedReturnType instanceof ParameterizedType) {
         this.returnType = (Class<?>) ((ParameterizedType) resolvedReturnType).getRawType();
       } else {
-        this.returnType = method.getReturnType();
+        this.returnType = returnsFuture ? Object.class : method.getReturnType();
       }
       // // 根据返回值类型，初始化returnsVoid、returnsMany、returnsCursor
       // returnsMap、returnsOptional这五个与方法返回值类型相关的字段
-      this.returnsVoid = void.class.equals(this.returnType);
+      this.returnsVoid = void.class.equals(this.returnType) || (returnsFuture && Void.class.equals(this.returnType));
       this.returnsMany = configuration.getObjectFactory().isCollection(this.returnType) || this.returnType.isArray();
       this.returnsCursor = Cursor.class.equals(this.returnType);
       this.returnsOptional = Optional.class.equals(this.returnType);
       // 如果返回值为Map类型，则从方法的@MapKey注解中获取Map中为key的字段名称
-      this.mapKey = getMapKey(method);
+      this.mapKey = getMapKey(method, this.returnType);
       this.returnsMap = this.mapKey != null;
       // 解析方法中RowBounds类型参数以及ResultHandler类型参数的下标索引位置，
       // 初始化rowBoundsIndex和resultHandlerIndex字段
@@ -465,6 +474,17 @@ public class MapperMethod {
       return returnsOptional;
     }
 
+    /**
+     * return whether return type is {@code java.util.concurrent.CompletableFuture}. The other methods describe the
+     * result of the future.
+     *
+     * @return return {@code true}, if return type is {@code java.util.concurrent.CompletableFuture}
+     * @since 3.5.5
+     */
+    public boolean returnsFuture() {
+      return returnsFuture;
+    }
+
     /**
      * 查找目标类型参数的下标索引位置，其核心原理就是遍历方法的参数列表，
      * 逐个匹配参数的类型是否为目标类型，如果匹配成功，则会返回当前参数的下标索引。
@@ -491,9 +511,9 @@ public class MapperMethod {
       return mapKey;
     }
 
-    private String getMapKey(Method method) {
+    private String getMapKey(Method method, Class<?> returnType) {
       String mapKey = null;
-      if (Map.class.isAssignableFrom(method.getReturnType())) {
+      if (Map.class.isAssignableFrom(returnType)) {
         final MapKey mapKeyAnnotation = method.getAnnotation(MapKey.class);
         if (mapKeyAnnotation != null) {
           mapKey = mapKeyAnnotation.value();
@@ -34,10 +34,12 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.ibatis.annotations.Arg;
 import org.apache.ibatis.annotations.CacheNamespace;
 import org.apache.ibatis.annotations.CacheNamespaceRef;
+import org.apache.ibatis.annotations.CacheTags;
 import org.apache.ibatis.annotations.Case;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.DeleteProvider;
@@ -195,8 +197,10 @@ public class MapperAnnotationBuilder {
     if (cacheDomain != null) {
       Integer size = cacheDomain.size() == 0 ? null : cacheDomain.size();
       Long flushInterval = cacheDomain.flushInterval() == 0 ? null : cacheDomain.flushInterval();
+      Long maxWeight = cacheDomain.maxWeight() == 0 ? null : cacheDomain.maxWeight();
       Properties props = convertToProperties(cacheDomain.properties());
-      assistant.useNewCache(cacheDomain.implementation(), cacheDomain.eviction(), flushInterval, size, cacheDomain.readWrite(), cacheDomain.blocking(), props);
+      assistant.useNewCache(cacheDomain.implementation(), cacheDomain.eviction(), flushInterval, size, maxWeight,
+          cacheDomain.weigher(), cacheDomain.readWrite(), cacheDomain.copier(), cacheDomain.blocking(), props);
     }
   }
 
@@ -315,7 +319,9 @@ public class MapperAnnotationBuilder {
       ResultSetType resultSetType = configuration.getDefaultResultSetType();
       SqlCommandType sqlCommandType = getSqlCommandType(method);
       boolean isSelect = sqlCommandType == SqlCommandType.SELECT;
-      boolean flushCache = !isSelect;
+      CacheTags cacheTags = method.getAnnotation(CacheTags.class);
+      // a write with cache tags invalidates them instead of flushing the whole cache
+      boolean flushCache = !isSelect && cacheTags == null;
       boolean useCache = isSelect;
 
       KeyGenerator keyGenerator;
@@ -387,7 +393,9 @@ public class MapperAnnotationBuilder {
           null,
           languageDriver,
           // ResultSets
-          options != null ? nullOrEmpty(options.resultSets()) : null);
+          options != null ? nullOrEmpty(options.resultSets()) : null,
+          options != null && options.parallelMapping(),
+          cacheTags != null ? String.join(",", cacheTags.value()) : null);
     }
   }
 
@@ -419,13 +427,20 @@ public class MapperAnnotationBuilder {
   private Class<?> getReturnType(Method method) {
     Class<?> returnType = method.getReturnType();
     Type resolvedReturnType = TypeParameterResolver.resolveReturnType(method, type);
+    if (resolvedReturnType instanceof ParameterizedType
+        && CompletableFuture.class.equals(((ParameterizedType) resolvedReturnType).getRawType())) {
+      // asynchronous methods return the result in a future
+      resolvedReturnType = ((ParameterizedType) resolvedReturnType).getActualTypeArguments()[0];
+      returnType = resolvedReturnType instanceof ParameterizedType
+          ? (Class<?>) ((ParameterizedType) resolvedReturnType).getRawType() : Object.class;
+    }
     if (resolvedReturnType instanceof Class) {
       returnType = (Class<?>) resolvedReturnType;
       if (returnType.isArray()) {
         returnType = returnType.getComponentType();
       }
       // gcode issue #508
-      if (void.class.equals(returnType)) {
+      if (void.class.equals(returnType) || Void.class.equals(returnType)) {
         ResultType rt = method.getAnnotation(ResultType.class);
         if (rt != null) {
           returnType = rt.value();
@@ -564,7 +579,9 @@ public class MapperAnnotationBuilder {
           flags,
           null,
           null,
-          isLazy(result));
+          isLazy(result),
+          hasNestedSelect(result) ? batchSelectId(result) : null,
+          hasNestedSelect(result) ? batchKey(result) : null);
       resultMappings.add(resultMapping);
     }
   }
@@ -606,6 +623,21 @@ public class MapperAnnotationBuilder {
     return nestedSelect;
   }
 
+  private String batchSelectId(Result result) {
+    String batchSelect = result.one().select().length() > 0 ? result.one().batchSelect() : result.many().batchSelect();
+    if (batchSelect.length() < 1) {
+      return null;
+    }
+    if (!batchSelect.contains(".")) {
+      batchSelect = type.getName() + "." + batchSelect;
+    }
+    return batchSelect;
+  }
+
+  private String batchKey(Result result) {
+    return nullOrEmpty(result.one().select().length() > 0 ? result.one().batchKey() : result.many().batchKey());
+  }
+
   private boolean isLazy(Result result) {
     boolean isLazy = configuration.isLazyLoadingEnabled();
     if (result.one().select().length() > 0 && FetchType.DEFAULT != result.one().fetchType()) {
@@ -684,7 +716,7 @@ public class MapperAnnotationBuilder {
     id = assistant.applyCurrentNamespace(id, false);
 
     MappedStatement keyStatement = configuration.getMappedStatement(id, false);
-    SelectKeyGenerator answer = new SelectKeyGenerator(keyStatement, executeBefore);
+    SelectKeyGenerator answer = new SelectKeyGenerator(keyStatement, executeBefore, selectKeyAnnotation.blockSize(), selectKeyAnnotation.blockMode());
     configuration.addKeyGenerator(id, answer);
     return answer;
   }
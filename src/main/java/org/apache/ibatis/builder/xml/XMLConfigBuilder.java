@@ -43,6 +43,7 @@ import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.LocalCacheEviction;
 import org.apache.ibatis.session.LocalCacheScope;
 import org.apache.ibatis.transaction.TransactionFactory;
 import org.apache.ibatis.type.JdbcType;
@@ -325,6 +326,9 @@ public class XMLConfigBuilder extends BaseBuilder {
     configuration.setMapUnderscoreToCamelCase(booleanValueOf(props.getProperty("mapUnderscoreToCamelCase"), false));
     configuration.setSafeRowBoundsEnabled(booleanValueOf(props.getProperty("safeRowBoundsEnabled"), false));
     configuration.setLocalCacheScope(LocalCacheScope.valueOf(props.getProperty("localCacheScope", "SESSION")));
+    configuration.setLocalCacheSize(integerValueOf(props.getProperty("localCacheSize"), null));
+    configuration.setLocalCacheMaxObjects(integerValueOf(props.getProperty("localCacheMaxObjects"), null));
+    configuration.setLocalCacheEviction(LocalCacheEviction.valueOf(props.getProperty("localCacheEviction", "LRU")));
     configuration.setJdbcTypeForNull(JdbcType.valueOf(props.getProperty("jdbcTypeForNull", "OTHER")));
     configuration.setLazyLoadTriggerMethods(stringSetValueOf(props.getProperty("lazyLoadTriggerMethods"), "equals,clone,hashCode,toString"));
     configuration.setSafeResultHandlerEnabled(booleanValueOf(props.getProperty("safeResultHandlerEnabled"), true));
@@ -333,6 +337,20 @@ public class XMLConfigBuilder extends BaseBuilder {
     configuration.setCallSettersOnNulls(booleanValueOf(props.getProperty("callSettersOnNulls"), false));
     configuration.setUseActualParamName(booleanValueOf(props.getProperty("useActualParamName"), true));
     configuration.setReturnInstanceForEmptyRow(booleanValueOf(props.getProperty("returnInstanceForEmptyRow"), false));
+    configuration.setCompiledRowMappingEnabled(booleanValueOf(props.getProperty("compiledRowMappingEnabled"), false));
+    configuration.setAutoMappingPlanCacheSize(integerValueOf(props.getProperty("autoMappingPlanCacheSize"), 0));
+    configuration.setNumericRowKeyEnabled(booleanValueOf(props.getProperty("numericRowKeyEnabled"), false));
+    configuration.setCursorResultOrdered(booleanValueOf(props.getProperty("cursorResultOrdered"), false));
+    configuration.setMultiRowInsertSize(integerValueOf(props.getProperty("multiRowInsertSize"), 0));
+    configuration.setBatchFlushRowsPerStatement(integerValueOf(props.getProperty("batchFlushRowsPerStatement"), 0));
+    configuration.setBatchFlushPendingRows(integerValueOf(props.getProperty("batchFlushPendingRows"), 0));
+    configuration.setBatchFlushPendingBytes(integerValueOf(props.getProperty("batchFlushPendingBytes"), 0));
+    configuration.setBatchReorderingEnabled(booleanValueOf(props.getProperty("batchReorderingEnabled"), false));
+    configuration.setBatchMaxOpenStatements(integerValueOf(props.getProperty("batchMaxOpenStatements"), 16));
+    configuration.setMultiQueryEnabled(booleanValueOf(props.getProperty("multiQueryEnabled"), false));
+    configuration.setAdaptiveFetchSizeEnabled(booleanValueOf(props.getProperty("adaptiveFetchSizeEnabled"), false));
+    configuration.setAdaptiveFetchSizeMax(integerValueOf(props.getProperty("adaptiveFetchSizeMax"), 1000));
+    configuration.setNestedSelectBatchSize(integerValueOf(props.getProperty("nestedSelectBatchSize"), 100));
     configuration.setLogPrefix(props.getProperty("logPrefix"));
     configuration.setConfigurationFactory(resolveClass(props.getProperty("configurationFactory")));
   }
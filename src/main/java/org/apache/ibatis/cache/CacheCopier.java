@@ -0,0 +1,47 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+/**
+ * Copies the values of a read-write cache, so that callers never share the instances held by the cache.
+ * <p>
+ * A value is copied when it is put, into the form the cache holds, and that form is copied again each time the value
+ * is read. Implementations must have a public no-arg constructor and be thread safe.
+ *
+ * @since 3.5.5
+ * @see org.apache.ibatis.cache.decorators.SerializedCache
+ */
+public interface CacheCopier {
+
+  /**
+   * Returns the form in which a value is held by the cache.
+   *
+   * @param value
+   *          the value put by a caller, never null
+   * @return the form held by the cache
+   */
+  Object copyOnWrite(Object value);
+
+  /**
+   * Returns a copy of a value held by the cache for a caller.
+   *
+   * @param stored
+   *          the form returned by {@link #copyOnWrite(Object)}, never null
+   * @return the copy
+   */
+  Object copyOnRead(Object stored);
+
+}
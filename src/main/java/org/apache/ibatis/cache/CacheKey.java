@@ -16,8 +16,7 @@
 package org.apache.ibatis.cache;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.StringJoiner;
 
 import org.apache.ibatis.reflection.ArrayUtil;
@@ -27,7 +26,7 @@ import org.apache.ibatis.reflection.ArrayUtil;
  */
 public class CacheKey implements Cloneable, Serializable {
 
-  private static final long serialVersionUID = 1146682552656046210L;
+  private static final long serialVersionUID = 1216143820151253488L;
 
   public static final CacheKey NULL_CACHE_KEY = new CacheKey() {
 
@@ -36,28 +35,40 @@ public class CacheKey implements Cloneable, Serializable {
       throw new CacheException("Not allowed to update a null cache key instance.");
     }
 
+    @Override
+    public void updateInt(int value) {
+      throw new CacheException("Not allowed to update a null cache key instance.");
+    }
+
     @Override
     public void updateAll(Object[] objects) {
       throw new CacheException("Not allowed to update a null cache key instance.");
     }
   };
 
-  private static final int DEFAULT_MULTIPLIER = 37;
-  private static final int DEFAULT_HASHCODE = 17;
+  private static final int DEFAULT_CAPACITY = 8;
+  private static final long DEFAULT_HASH = 17;
+  private static final long C1 = 0x87c37b91114253d5L;
+  private static final long C2 = 0x4cf5ad432745937fL;
 
-  private final int multiplier;
+  private long hash;
   private int hashcode;
-  private long checksum;
   private int count;
   // 8/21/2017 - Sonarlint flags this as needing to be marked transient. While true if content is not serializable, this
   // is not always true and thus should not be marked transient.
-  private List<Object> updateList;
+  private Object[] updateList;
+  // values passed to updateInt(int), the matching slot of updateList holds IntValue.MARKER
+  private int[] intValues;
+
+  private enum IntValue {
+    MARKER
+  }
 
   public CacheKey() {
-    this.hashcode = DEFAULT_HASHCODE;
-    this.multiplier = DEFAULT_MULTIPLIER;
+    this.hash = DEFAULT_HASH;
+    this.hashcode = mix(hash, 0);
     this.count = 0;
-    this.updateList = new ArrayList<>();
+    this.updateList = new Object[DEFAULT_CAPACITY];
   }
 
   public CacheKey(Object[] objects) {
@@ -66,19 +77,31 @@ public class CacheKey implements Cloneable, Serializable {
   }
 
   public int getUpdateCount() {
-    return updateList.size();
+    return count;
   }
 
   public void update(Object object) {
-    int baseHashCode = object == null ? 1 : ArrayUtil.hashCode(object);
-
-    count++;
-    checksum += baseHashCode;
-    baseHashCode *= count;
-
-    hashcode = multiplier * hashcode + baseHashCode;
+    ensureCapacity();
+    updateList[count] = object;
+    updateHash(object == null ? 1 : ArrayUtil.hashCode(object));
+  }
 
-    updateList.add(object);
+  /**
+   * Updates the key with an int value without boxing it.
+   * The result is the same as updating with the corresponding {@link Integer}.
+   *
+   * @param value
+   *          the value
+   * @since 3.5.5
+   */
+  public void updateInt(int value) {
+    ensureCapacity();
+    if (intValues == null) {
+      intValues = new int[updateList.length];
+    }
+    updateList[count] = IntValue.MARKER;
+    intValues[count] = value;
+    updateHash(Integer.hashCode(value));
   }
 
   public void updateAll(Object[] objects) {
@@ -87,6 +110,53 @@ public class CacheKey implements Cloneable, Serializable {
     }
   }
 
+  private void ensureCapacity() {
+    if (count == updateList.length) {
+      int newCapacity = Math.max(DEFAULT_CAPACITY, count << 1);
+      updateList = Arrays.copyOf(updateList, newCapacity);
+      if (intValues != null) {
+        intValues = Arrays.copyOf(intValues, newCapacity);
+      }
+    }
+  }
+
+  private void updateHash(int baseHashCode) {
+    count++;
+    hash = Long.rotateLeft(hash ^ (baseHashCode * C1), 31) * C2;
+    hashcode = mix(hash, count);
+  }
+
+  private static int mix(long hash, int count) {
+    // finalization step of MurmurHash3
+    long h = hash ^ count;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+
+  private Object getComponent(int index) {
+    Object component = updateList[index];
+    return component == IntValue.MARKER ? Integer.valueOf(intValues[index]) : component;
+  }
+
+  private boolean componentEquals(int index, CacheKey that) {
+    Object thisObject = updateList[index];
+    Object thatObject = that.updateList[index];
+    if (thisObject == IntValue.MARKER) {
+      if (thatObject == IntValue.MARKER) {
+        return intValues[index] == that.intValues[index];
+      }
+      return thatObject instanceof Integer && (Integer) thatObject == intValues[index];
+    }
+    if (thatObject == IntValue.MARKER) {
+      return thisObject instanceof Integer && (Integer) thisObject == that.intValues[index];
+    }
+    return ArrayUtil.equals(thisObject, thatObject);
+  }
+
   @Override
   public boolean equals(Object object) {
     if (this == object) {
@@ -98,20 +168,15 @@ public class CacheKey implements Cloneable, Serializable {
 
     final CacheKey cacheKey = (CacheKey) object;
 
-    if (hashcode != cacheKey.hashcode) {
-      return false;
-    }
-    if (checksum != cacheKey.checksum) {
+    if (hash != cacheKey.hash) {
       return false;
     }
     if (count != cacheKey.count) {
       return false;
     }
 
-    for (int i = 0; i < updateList.size(); i++) {
-      Object thisObject = updateList.get(i);
-      Object thatObject = cacheKey.updateList.get(i);
-      if (!ArrayUtil.equals(thisObject, thatObject)) {
+    for (int i = 0; i < count; i++) {
+      if (!componentEquals(i, cacheKey)) {
         return false;
       }
     }
@@ -127,15 +192,19 @@ public class CacheKey implements Cloneable, Serializable {
   public String toString() {
     StringJoiner returnValue = new StringJoiner(":");
     returnValue.add(String.valueOf(hashcode));
-    returnValue.add(String.valueOf(checksum));
-    updateList.stream().map(ArrayUtil::toString).forEach(returnValue::add);
+    returnValue.add(String.valueOf(hash));
+    for (int i = 0; i < count; i++) {
+      returnValue.add(ArrayUtil.toString(getComponent(i)));
+    }
     return returnValue.toString();
   }
 
   @Override
   public CacheKey clone() throws CloneNotSupportedException {
     CacheKey clonedCacheKey = (CacheKey) super.clone();
-    clonedCacheKey.updateList = new ArrayList<>(updateList);
+    // room for one more component, clones are usually updated once (e.g. to combine a row key with its parent)
+    clonedCacheKey.updateList = Arrays.copyOf(updateList, count + 1);
+    clonedCacheKey.intValues = intValues == null ? null : Arrays.copyOf(intValues, count + 1);
     return clonedCacheKey;
   }
 
@@ -0,0 +1,100 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The versions of the cache tags.
+ * <p>
+ * A cached query adds the versions of the tags it depends on to its cache key. Invalidating a tag replaces its version,
+ * so that the entries cached before can no longer be found and are evicted like any other unused entry. The versions
+ * are entries of the caches themselves, so that a cache shared by several JVMs shares them too: a tag is invalidated in
+ * every cache used by a statement with cache tags. A version that was evicted is replaced by a new one, which also
+ * invalidates the entries of its tag.
+ *
+ * @since 3.5.5
+ */
+public class CacheTagVersions {
+
+  private final Set<Cache> caches = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Adds a cache holding versions, i.e. the cache of a statement with cache tags.
+   *
+   * @param cache
+   *          the cache
+   */
+  public void addCache(Cache cache) {
+    caches.add(cache);
+  }
+
+  /**
+   * Returns whether a cache holds versions.
+   *
+   * @param cache
+   *          the cache
+   * @return true if a statement with cache tags uses the cache
+   */
+  public boolean hasCache(Cache cache) {
+    return caches.contains(cache);
+  }
+
+  /**
+   * Returns the version of a tag in a cache, creating it if the cache has none.
+   *
+   * @param cache
+   *          the cache
+   * @param tag
+   *          the tag
+   * @return the version
+   */
+  public Object getVersion(Cache cache, String tag) {
+    CacheKey key = versionKey(tag);
+    Object version = cache.getObject(key);
+    if (version == null) {
+      // also releases the lock of a blocking cache
+      version = newVersion();
+      cache.putObject(key, version);
+    }
+    return version;
+  }
+
+  /**
+   * Replaces the version of a tag in all caches holding versions.
+   *
+   * @param tag
+   *          the tag
+   */
+  public void invalidate(String tag) {
+    CacheKey key = versionKey(tag);
+    for (Cache cache : caches) {
+      cache.putObject(key, newVersion());
+    }
+  }
+
+  private static CacheKey versionKey(String tag) {
+    return new CacheKey(new Object[] { CacheTagVersions.class.getName(), tag });
+  }
+
+  private static Long newVersion() {
+    // random, so that concurrent invalidations on several JVMs never agree on the same new version
+    return ThreadLocalRandom.current().nextLong();
+  }
+
+}
@@ -0,0 +1,40 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+/**
+ * Computes the weight of a cache entry, used by weight bounded caches such as
+ * {@link org.apache.ibatis.cache.decorators.WeightedLruCache} instead of counting entries.
+ * <p>
+ * Implementations must have a public no-arg constructor and should be cheap, since they are called on every put.
+ *
+ * @since 3.5.5
+ * @see EstimatedSizeWeigher
+ */
+public interface CacheWeigher {
+
+  /**
+   * Returns the weight of an entry, e.g. its estimated size in bytes.
+   *
+   * @param key
+   *          the key of the entry
+   * @param value
+   *          the value of the entry, may be null
+   * @return the weight, never negative
+   */
+  long weigh(Object key, Object value);
+
+}
@@ -0,0 +1,186 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.loader.ResultLoaderMap;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Weighs an entry by the estimated number of bytes its key and value occupy on the heap.
+ * <p>
+ * The object graph is walked once per entry, counting shared objects only once. Fields of application classes are
+ * read by reflection, while collections, maps and arrays are walked through their elements. Other JDK values
+ * (numbers, dates, ...) count a fixed size. Classes, enum constants and the MyBatis objects a lazy loading proxy
+ * refers to are shared with the rest of the application, so they are not counted. When the cache is read/write,
+ * the value is the serialized form and weighs its exact length.
+ * <p>
+ * The sizes assume a 64-bit JVM and are estimates, meant to budget caches rather than to measure them.
+ *
+ * @since 3.5.5
+ */
+public class EstimatedSizeWeigher implements CacheWeigher {
+
+  private static final int OBJECT_HEADER = 16;
+  private static final int ARRAY_HEADER = 16;
+  private static final int REFERENCE = 8;
+  private static final int MAP_ENTRY = 32;
+  private static final int JDK_VALUE = 32;
+
+  private static final Class<?>[] SHARED_TYPES = { Class.class, ClassLoader.class, Thread.class, Configuration.class,
+      Executor.class, ResultLoaderMap.class, ObjectFactory.class, MetaObject.class };
+
+  // held by each weigher, so that the classes of a cache can be unloaded with it
+  private final Map<Class<?>, ClassLayout> layouts = new ConcurrentHashMap<>();
+
+  @Override
+  public long weigh(Object key, Object value) {
+    Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<Object> pending = new ArrayDeque<>();
+    push(key, visited, pending);
+    push(value, visited, pending);
+    long weight = 0;
+    while (!pending.isEmpty()) {
+      weight += weighShallow(pending.pop(), visited, pending);
+    }
+    return weight;
+  }
+
+  private long weighShallow(Object object, Set<Object> visited, Deque<Object> pending) {
+    Class<?> type = object.getClass();
+    if (type.isArray()) {
+      return weighArray(object, visited, pending);
+    } else if (object instanceof String) {
+      return OBJECT_HEADER + REFERENCE + ARRAY_HEADER + 2L * ((String) object).length();
+    } else if (object instanceof Collection) {
+      Collection<?> collection = (Collection<?>) object;
+      for (Object element : collection) {
+        push(element, visited, pending);
+      }
+      return OBJECT_HEADER + 2 * REFERENCE + ARRAY_HEADER + (long) REFERENCE * collection.size();
+    } else if (object instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) object;
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        push(entry.getKey(), visited, pending);
+        push(entry.getValue(), visited, pending);
+      }
+      return OBJECT_HEADER + 4 * REFERENCE + ARRAY_HEADER + (long) (REFERENCE + MAP_ENTRY) * map.size();
+    } else if (type.getName().startsWith("java.") || type.getName().startsWith("javax.")) {
+      // their fields may not be accessible
+      return JDK_VALUE;
+    }
+    ClassLayout layout = layouts.computeIfAbsent(type, ClassLayout::new);
+    for (Field field : layout.references) {
+      try {
+        push(field.get(object), visited, pending);
+      } catch (IllegalAccessException e) {
+        // counted as a reference only
+      }
+    }
+    return layout.size;
+  }
+
+  private long weighArray(Object array, Set<Object> visited, Deque<Object> pending) {
+    Class<?> componentType = array.getClass().getComponentType();
+    int length = Array.getLength(array);
+    if (componentType.isPrimitive()) {
+      return ARRAY_HEADER + (long) primitiveSize(componentType) * length;
+    }
+    for (Object element : (Object[]) array) {
+      push(element, visited, pending);
+    }
+    return ARRAY_HEADER + (long) REFERENCE * length;
+  }
+
+  private static void push(Object object, Set<Object> visited, Deque<Object> pending) {
+    if (object != null && !isShared(object) && visited.add(object)) {
+      pending.push(object);
+    }
+  }
+
+  private static boolean isShared(Object object) {
+    if (object instanceof Enum) {
+      return true;
+    }
+    for (Class<?> sharedType : SHARED_TYPES) {
+      if (sharedType.isInstance(object)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int primitiveSize(Class<?> type) {
+    if (type == long.class || type == double.class) {
+      return 8;
+    } else if (type == int.class || type == float.class) {
+      return 4;
+    } else if (type == short.class || type == char.class) {
+      return 2;
+    } else {
+      return 1;
+    }
+  }
+
+  private static class ClassLayout {
+    private final long size;
+    private final List<Field> references = new ArrayList<>();
+
+    ClassLayout(Class<?> type) {
+      long fieldsSize = 0;
+      boolean accessible = Reflector.canControlMemberAccessible();
+      for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+        for (Field field : current.getDeclaredFields()) {
+          if (Modifier.isStatic(field.getModifiers())) {
+            continue;
+          }
+          if (field.getType().isPrimitive()) {
+            fieldsSize += primitiveSize(field.getType());
+            continue;
+          }
+          fieldsSize += REFERENCE;
+          if (accessible) {
+            try {
+              field.setAccessible(true);
+              references.add(field);
+            } catch (RuntimeException e) {
+              // e.g. a field of a JDK super class on Java 9+, counted as a reference only
+            }
+          }
+        }
+      }
+      this.size = OBJECT_HEADER + fieldsSize;
+    }
+  }
+
+}
@@ -0,0 +1,306 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.annotations.Immutable;
+import org.apache.ibatis.executor.loader.WriteReplaceInterface;
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+
+/**
+ * Copies values by reflection, following the properties the {@link Reflector} finds on each type. It is several times
+ * cheaper than serialization and does not require the values to be serializable.
+ * <p>
+ * Strings, numbers, {@code java.time} values, enums and the types annotated with {@link Immutable} are shared instead
+ * of copied. Collections, maps, arrays, dates and calendars are copied with their elements. Other objects are created
+ * with their no-arg constructor, then each property that has both a getter and a setter (or a field) is copied. Objects
+ * that cannot be copied this way, like those without a no-arg constructor or lazy loading proxies, are copied by
+ * serialization. References shared within the value, cycles included, stay shared in the copy.
+ * <p>
+ * How to copy each class is worked out once, so that copying a value only reads and writes its properties.
+ *
+ * @since 3.5.5
+ */
+public class ReflectiveCopier implements CacheCopier {
+
+  private static final Object[] NO_ARGUMENTS = {};
+  private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(String.class, Boolean.class,
+      Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class,
+      BigDecimal.class, UUID.class, Locale.class, Currency.class, Class.class));
+
+  private final ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+  private final CacheCopier fallback = new SerializationCopier();
+  private final Map<Class<?>, TypeCopier> typeCopiers = new ConcurrentHashMap<>();
+
+  @Override
+  public Object copyOnWrite(Object value) {
+    return copy(value, new IdentityHashMap<>());
+  }
+
+  @Override
+  public Object copyOnRead(Object stored) {
+    return copy(stored, new IdentityHashMap<>());
+  }
+
+  private Object copy(Object original, Map<Object, Object> copies) {
+    if (original == null) {
+      return null;
+    }
+    TypeCopier typeCopier = typeCopiers.get(original.getClass());
+    if (typeCopier == null) {
+      typeCopier = typeCopiers.computeIfAbsent(original.getClass(), this::newTypeCopier);
+    }
+    if (typeCopier.kind == Kind.SHARED) {
+      return original;
+    }
+    Object copy = copies.get(original);
+    if (copy != null) {
+      return copy;
+    }
+    try {
+      switch (typeCopier.kind) {
+        case ARRAY:
+          return copyArray(original, copies);
+        case COLLECTION:
+          return copyCollection((Collection<?>) original, typeCopier, copies);
+        case MAP:
+          return copyMap((Map<?, ?>) original, typeCopier, copies);
+        case BEAN:
+          return copyBean(original, typeCopier, copies);
+        case CLONED:
+          copy = original instanceof Date ? ((Date) original).clone() : ((Calendar) original).clone();
+          break;
+        default:
+          copy = fallback.copyOnRead(fallback.copyOnWrite(original));
+          break;
+      }
+    } catch (CacheException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new CacheException("Error copying an object of " + original.getClass() + ".  Cause: " + e, e);
+    }
+    copies.put(original, copy);
+    return copy;
+  }
+
+  private Object copyArray(Object original, Map<Object, Object> copies) {
+    Class<?> componentType = original.getClass().getComponentType();
+    int length = Array.getLength(original);
+    Object copy = Array.newInstance(componentType, length);
+    copies.put(original, copy);
+    if (componentType.isPrimitive()) {
+      System.arraycopy(original, 0, copy, 0, length);
+    } else {
+      Object[] elements = (Object[]) original;
+      Object[] copiedElements = (Object[]) copy;
+      for (int i = 0; i < length; i++) {
+        copiedElements[i] = copy(elements[i], copies);
+      }
+    }
+    return copy;
+  }
+
+  private Collection<Object> copyCollection(Collection<?> original, TypeCopier typeCopier, Map<Object, Object> copies)
+      throws ReflectiveOperationException {
+    Collection<Object> copy = newCollection(original, typeCopier);
+    copies.put(original, copy);
+    for (Object element : original) {
+      copy.add(copy(element, copies));
+    }
+    return copy;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Collection<Object> newCollection(Collection<?> original, TypeCopier typeCopier)
+      throws ReflectiveOperationException {
+    if (original.getClass() == ArrayList.class) {
+      return new ArrayList<>(original.size());
+    } else if (original instanceof SortedSet) {
+      return new TreeSet<>((Comparator<Object>) ((SortedSet<?>) original).comparator());
+    } else if (typeCopier.constructor != null) {
+      return (Collection<Object>) typeCopier.constructor.newInstance();
+    } else if (original instanceof Set) {
+      // e.g. an unmodifiable set
+      return new LinkedHashSet<>();
+    } else {
+      return new ArrayList<>(original.size());
+    }
+  }
+
+  private Map<Object, Object> copyMap(Map<?, ?> original, TypeCopier typeCopier, Map<Object, Object> copies)
+      throws ReflectiveOperationException {
+    Map<Object, Object> copy = newMap(original, typeCopier);
+    copies.put(original, copy);
+    for (Map.Entry<?, ?> entry : original.entrySet()) {
+      copy.put(copy(entry.getKey(), copies), copy(entry.getValue(), copies));
+    }
+    return copy;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<Object, Object> newMap(Map<?, ?> original, TypeCopier typeCopier) throws ReflectiveOperationException {
+    if (original instanceof SortedMap) {
+      return new TreeMap<>((Comparator<Object>) ((SortedMap<?, ?>) original).comparator());
+    } else if (typeCopier.constructor != null) {
+      return (Map<Object, Object>) typeCopier.constructor.newInstance();
+    } else {
+      return new LinkedHashMap<>();
+    }
+  }
+
+  private Object copyBean(Object original, TypeCopier typeCopier, Map<Object, Object> copies)
+      throws ReflectiveOperationException {
+    Object copy = typeCopier.constructor.newInstance();
+    copies.put(original, copy);
+    for (int i = 0; i < typeCopier.getters.length; i++) {
+      Object value = typeCopier.getters[i].invoke(original, NO_ARGUMENTS);
+      typeCopier.setters[i].invoke(copy, new Object[] { copy(value, copies) });
+    }
+    return copy;
+  }
+
+  private TypeCopier newTypeCopier(Class<?> type) {
+    if (IMMUTABLE_TYPES.contains(type) || Enum.class.isAssignableFrom(type) || type.getName().startsWith("java.time.")
+        || type.isAnnotationPresent(Immutable.class)) {
+      return new TypeCopier(Kind.SHARED);
+    } else if (type.isArray()) {
+      return new TypeCopier(Kind.ARRAY);
+    } else if (Collection.class.isAssignableFrom(type)) {
+      return new TypeCopier(Kind.COLLECTION, defaultConstructor(type));
+    } else if (Map.class.isAssignableFrom(type)) {
+      return new TypeCopier(Kind.MAP, defaultConstructor(type));
+    } else if (Date.class.isAssignableFrom(type) || Calendar.class.isAssignableFrom(type)) {
+      return new TypeCopier(Kind.CLONED);
+    }
+    Constructor<?> constructor = isJdkType(type) || isWriteReplaced(type) ? null : defaultConstructor(type);
+    if (constructor == null) {
+      return new TypeCopier(Kind.SERIALIZED);
+    }
+    Reflector reflector = reflectorFactory.findForClass(type);
+    List<Invoker> getters = new ArrayList<>();
+    List<Invoker> setters = new ArrayList<>();
+    for (String property : reflector.getGetablePropertyNames()) {
+      if (reflector.hasSetter(property)) {
+        getters.add(reflector.getGetInvoker(property));
+        setters.add(reflector.getSetInvoker(property));
+      }
+    }
+    return new TypeCopier(Kind.BEAN, constructor, getters.toArray(new Invoker[0]), setters.toArray(new Invoker[0]));
+  }
+
+  private Constructor<?> defaultConstructor(Class<?> type) {
+    if (isJdkType(type)) {
+      // only public constructors of the JDK can be called on Java 9+
+      try {
+        return Modifier.isPublic(type.getModifiers()) ? type.getConstructor() : null;
+      } catch (NoSuchMethodException e) {
+        return null;
+      }
+    }
+    Reflector reflector = reflectorFactory.findForClass(type);
+    if (!reflector.hasDefaultConstructor()) {
+      return null;
+    }
+    Constructor<?> constructor = reflector.getDefaultConstructor();
+    if (!constructor.isAccessible()) {
+      if (!Reflector.canControlMemberAccessible()) {
+        return null;
+      }
+      try {
+        constructor.setAccessible(true);
+      } catch (RuntimeException e) {
+        return null;
+      }
+    }
+    return constructor;
+  }
+
+  private static boolean isJdkType(Class<?> type) {
+    return type.getName().startsWith("java.") || type.getName().startsWith("javax.");
+  }
+
+  private static boolean isWriteReplaced(Class<?> type) {
+    // lazy loading proxies replace themselves when serialized
+    if (WriteReplaceInterface.class.isAssignableFrom(type)) {
+      return true;
+    }
+    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+      try {
+        current.getDeclaredMethod("writeReplace");
+        return true;
+      } catch (NoSuchMethodException e) {
+        // check the super class
+      }
+    }
+    return false;
+  }
+
+  private enum Kind {
+    SHARED, ARRAY, COLLECTION, MAP, CLONED, BEAN, SERIALIZED
+  }
+
+  private static class TypeCopier {
+    private final Kind kind;
+    private final Constructor<?> constructor;
+    private final Invoker[] getters;
+    private final Invoker[] setters;
+
+    TypeCopier(Kind kind) {
+      this(kind, null);
+    }
+
+    TypeCopier(Kind kind, Constructor<?> constructor) {
+      this(kind, constructor, null, null);
+    }
+
+    TypeCopier(Kind kind, Constructor<?> constructor, Invoker[] getters, Invoker[] setters) {
+      this.kind = kind;
+      this.constructor = constructor;
+      this.getters = getters;
+      this.setters = setters;
+    }
+  }
+
+}
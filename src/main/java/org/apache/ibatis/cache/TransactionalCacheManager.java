@@ -16,7 +16,9 @@
 package org.apache.ibatis.cache;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.ibatis.cache.decorators.TransactionalCache;
 
@@ -26,11 +28,39 @@ import org.apache.ibatis.cache.decorators.TransactionalCache;
 public class TransactionalCacheManager {
 
   private final Map<Cache, TransactionalCache> transactionalCaches = new HashMap<>();
+  private final Set<String> tagsToInvalidateOnCommit = new HashSet<>();
+  private CacheTagVersions tagVersions;
 
   public void clear(Cache cache) {
     getTransactionalCache(cache).clear();
   }
 
+  /**
+   * Invalidates a cache tag when the session commits.
+   *
+   * @param tagVersions
+   *          the versions of the tags
+   * @param tag
+   *          the tag
+   * @since 3.5.5
+   */
+  public void invalidate(CacheTagVersions tagVersions, String tag) {
+    this.tagVersions = tagVersions;
+    tagsToInvalidateOnCommit.add(tag);
+  }
+
+  /**
+   * Returns whether a cache tag is invalidated by this session, its entries are then hidden until the session commits.
+   *
+   * @param tag
+   *          the tag
+   * @return true if the tag will be invalidated on commit
+   * @since 3.5.5
+   */
+  public boolean isInvalidated(String tag) {
+    return tagsToInvalidateOnCommit.contains(tag);
+  }
+
   public Object getObject(Cache cache, CacheKey key) {
     return getTransactionalCache(cache).getObject(key);
   }
@@ -40,12 +70,17 @@ public class TransactionalCacheManager {
   }
 
   public void commit() {
+    for (String tag : tagsToInvalidateOnCommit) {
+      tagVersions.invalidate(tag);
+    }
+    tagsToInvalidateOnCommit.clear();
     for (TransactionalCache txCache : transactionalCaches.values()) {
       txCache.commit();
     }
   }
 
   public void rollback() {
+    tagsToInvalidateOnCommit.clear();
     for (TransactionalCache txCache : transactionalCaches.values()) {
       txCache.rollback();
     }
@@ -51,12 +51,14 @@ public class LoggingCache implements Cache {
 
   @Override
   public Object getObject(Object key) {
-    requests++;
     final Object value = delegate.getObject(key);
-    if (value != null) {
-      hits++;
-    }
+    // the counters are only read by the debug log, and writing them on every hit makes the readers of a concurrent
+    // cache contend
     if (log.isDebugEnabled()) {
+      requests++;
+      if (value != null) {
+        hits++;
+      }
       // 记录某个 key 的缓存命中率
       log.debug("Cache Hit Ratio [" + getId() + "]: " + getHitRatio());
     }
@@ -15,28 +15,31 @@
  */
 package org.apache.ibatis.cache.decorators;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
-import java.io.Serializable;
 
 import org.apache.ibatis.cache.Cache;
-import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheCopier;
+import org.apache.ibatis.cache.SerializationCopier;
 import org.apache.ibatis.io.Resources;
 
 /**
+ * Read-write cache decorator, it holds copies of the values and returns copies of them, by default made with Java
+ * serialization.
+ *
  * @author Clinton Begin
+ * @see CacheCopier
  */
 public class SerializedCache implements Cache {
 
   private final Cache delegate;
+  private CacheCopier copier;
 
   public SerializedCache(Cache delegate) {
     this.delegate = delegate;
+    this.copier = new SerializationCopier();
   }
 
   @Override
@@ -49,19 +52,26 @@ public class SerializedCache implements Cache {
     return delegate.getSize();
   }
 
+  /**
+   * Sets the copier of the values.
+   *
+   * @param copier
+   *          the copier
+   * @since 3.5.5
+   */
+  public void setCopier(CacheCopier copier) {
+    this.copier = copier;
+  }
+
   @Override
   public void putObject(Object key, Object object) {
-    if (object == null || object instanceof Serializable) {
-      delegate.putObject(key, serialize((Serializable) object));
-    } else {
-      throw new CacheException("SharedCache failed to make a copy of a non-serializable object: " + object);
-    }
+    delegate.putObject(key, object == null ? null : copier.copyOnWrite(object));
   }
 
   @Override
   public Object getObject(Object key) {
     Object object = delegate.getObject(key);
-    return object == null ? null : deserialize((byte[]) object);
+    return object == null ? null : copier.copyOnRead(object);
   }
 
   @Override
@@ -84,28 +94,6 @@ public class SerializedCache implements Cache {
     return delegate.equals(obj);
   }
 
-  private byte[] serialize(Serializable value) {
-    try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-      oos.writeObject(value);
-      oos.flush();
-      return bos.toByteArray();
-    } catch (Exception e) {
-      throw new CacheException("Error serializing object.  Cause: " + e, e);
-    }
-  }
-
-  private Serializable deserialize(byte[] value) {
-    Serializable result;
-    try (ByteArrayInputStream bis = new ByteArrayInputStream(value);
-        ObjectInputStream ois = new CustomObjectInputStream(bis)) {
-      result = (Serializable) ois.readObject();
-    } catch (Exception e) {
-      throw new CacheException("Error deserializing object.  Cause: " + e, e);
-    }
-    return result;
-  }
-
   public static class CustomObjectInputStream extends ObjectInputStream {
 
     public CustomObjectInputStream(InputStream in) throws IOException {
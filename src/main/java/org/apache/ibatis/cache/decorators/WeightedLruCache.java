@@ -0,0 +1,140 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheWeigher;
+import org.apache.ibatis.cache.EstimatedSizeWeigher;
+
+/**
+ * Lru (least recently used) cache decorator that bounds the total weight of the entries instead of their number.
+ * <p>
+ * Each entry is weighed once when it is put, by default with its estimated size in bytes. Least recently used entries
+ * are removed as long as the total exceeds the maximum weight, and an entry heavier than the maximum is not cached.
+ *
+ * @since 3.5.5
+ * @see CacheWeigher
+ */
+public class WeightedLruCache implements Cache {
+
+  private final Cache delegate;
+  private final Map<Object, Long> keyWeights;
+  private long maxWeight;
+  private long weight;
+  private CacheWeigher weigher;
+
+  public WeightedLruCache(Cache delegate) {
+    this.delegate = delegate;
+    this.keyWeights = new LinkedHashMap<>(16, .75F, true);
+    this.maxWeight = 16L * 1024 * 1024;
+    this.weigher = new EstimatedSizeWeigher();
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public void setMaxWeight(long maxWeight) {
+    if (maxWeight <= 0) {
+      throw new IllegalArgumentException("The max weight of a cache must be positive but was " + maxWeight);
+    }
+    this.maxWeight = maxWeight;
+    evict();
+  }
+
+  /**
+   * Returns the total weight of the cached entries.
+   *
+   * @return the total weight
+   */
+  public long getWeight() {
+    return weight;
+  }
+
+  public void setWeigher(CacheWeigher weigher) {
+    this.weigher = weigher;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    long entryWeight = weigher.weigh(key, value);
+    if (entryWeight < 0) {
+      throw new CacheException("Weigher " + weigher.getClass().getName() + " returned a negative weight for key " + key);
+    }
+    forget(key);
+    if (entryWeight > maxWeight) {
+      // it would flush the whole cache and still not fit
+      delegate.removeObject(key);
+      return;
+    }
+    delegate.putObject(key, value);
+    keyWeights.put(key, entryWeight);
+    weight += entryWeight;
+    evict();
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    keyWeights.get(key); // touch
+    return delegate.getObject(key);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    forget(key);
+    return delegate.removeObject(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+    keyWeights.clear();
+    weight = 0;
+  }
+
+  private void forget(Object key) {
+    Long entryWeight = keyWeights.remove(key);
+    if (entryWeight != null) {
+      weight -= entryWeight;
+    }
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<Object, Long>> eldest = keyWeights.entrySet().iterator();
+    while (weight > maxWeight && eldest.hasNext()) {
+      Map.Entry<Object, Long> entry = eldest.next();
+      eldest.remove();
+      weight -= entry.getValue();
+      delegate.removeObject(entry.getKey());
+    }
+  }
+
+}
@@ -0,0 +1,178 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+
+/**
+ * A thread safe cache that does not lock on reads, for namespaces whose cache is read by many threads at once.
+ * <p>
+ * It replaces the {@link PerpetualCache}, {@code LruCache} and {@code SynchronizedCache} of the default cache. The
+ * entries are held in a {@link ConcurrentHashMap} and evicted with the CLOCK approximation of LRU: a hit only marks its
+ * entry as referenced, and the eviction removes the oldest entries that were not referenced since it last passed
+ * them. The eviction runs on the thread that adds an entry beyond the size, while the other threads keep reading.
+ *
+ * @since 3.5.5
+ */
+public class ConcurrentCache implements Cache {
+
+  private final String id;
+  private final ConcurrentMap<Object, Entry> cache = new ConcurrentHashMap<>();
+  // the entries in insertion order, including entries replaced or removed since, which the eviction skips
+  private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger clockSize = new AtomicInteger();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private volatile int size = 1024;
+
+  public ConcurrentCache(String id) {
+    this.id = id;
+  }
+
+  public void setSize(int size) {
+    this.size = size;
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public int getSize() {
+    return cache.size();
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    final Entry entry = new Entry(key, value);
+    cache.put(key, entry);
+    clock.offer(entry);
+    final int queued = clockSize.incrementAndGet();
+    if (cache.size() > size || queued > 2 * size) {
+      evict();
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    final Entry entry = cache.get(key);
+    if (entry == null) {
+      return null;
+    }
+    // written only once per pass of the eviction, so that hot entries are not written by every reader
+    if (!entry.referenced) {
+      entry.referenced = true;
+    }
+    return entry.value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    final Entry entry = cache.remove(key);
+    return entry == null ? null : entry.value;
+  }
+
+  @Override
+  public void clear() {
+    evictionLock.lock();
+    try {
+      cache.clear();
+      clock.clear();
+      clockSize.set(0);
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private void evict() {
+    if (!evictionLock.tryLock()) {
+      // another thread is evicting
+      return;
+    }
+    try {
+      // two passes at most, the first one may only clear the referenced marks
+      int visits = 2 * clockSize.get();
+      while (visits-- > 0 && (cache.size() > size || clockSize.get() > 2 * size)) {
+        final Entry entry = clock.poll();
+        if (entry == null) {
+          break;
+        }
+        if (entry.referenced && cache.get(entry.key) == entry) {
+          entry.referenced = false;
+          clock.offer(entry);
+        } else {
+          cache.remove(entry.key, entry);
+          clockSize.decrementAndGet();
+        }
+      }
+      if (cache.size() > size) {
+        // an entry added while the cache was cleared may be missing from the clock
+        clock.clear();
+        clockSize.set(0);
+        for (Entry entry : cache.values()) {
+          clock.offer(entry);
+          clockSize.incrementAndGet();
+        }
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Cache)) {
+      return false;
+    }
+
+    Cache otherCache = (Cache) o;
+    return getId().equals(otherCache.getId());
+  }
+
+  @Override
+  public int hashCode() {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    return getId().hashCode();
+  }
+
+  private static final class Entry {
+    private final Object key;
+    private final Object value;
+    private volatile boolean referenced;
+
+    Entry(Object key, Object value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+}
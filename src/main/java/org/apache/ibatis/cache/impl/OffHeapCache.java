@@ -0,0 +1,305 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.impl;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.SerializationCopier;
+
+/**
+ * A thread safe cache that holds its values serialized outside of the Java heap, for large namespaces whose cached
+ * results would otherwise lengthen garbage collections.
+ * <p>
+ * The values are written to direct {@link ByteBuffer} segments, which are allocated as the cache grows until their
+ * total size reaches the capacity. Only the keys and the positions of the values stay on the heap. Once all segments
+ * are full, the oldest one is reused: the entries read since it was last reused are moved to its start and the others
+ * are evicted, an approximation of LRU. Like a read-write cache, each read returns a new copy of the value, so the
+ * values must be {@link java.io.Serializable}.
+ * <p>
+ * The direct memory is limited by the {@code -XX:MaxDirectMemorySize} option of the JVM, which must allow for the
+ * capacity of all off-heap caches.
+ *
+ * @since 3.5.5
+ */
+public class OffHeapCache implements Cache {
+
+  private final String id;
+  private final SerializationCopier serializer = new SerializationCopier();
+  private final Map<Object, Entry> cache = new HashMap<>();
+  private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+  private long capacity = 64L * 1024 * 1024;
+  private int segmentSize = 4 * 1024 * 1024;
+  private Segment[] segments;
+  private int current;
+
+  public OffHeapCache(String id) {
+    this.id = id;
+  }
+
+  public long getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Sets the maximum number of bytes of the segments, rounded down to a whole number of segments. This empties the cache.
+   *
+   * @param capacity
+   *          the capacity in bytes
+   */
+  public void setCapacity(long capacity) {
+    if (capacity <= 0) {
+      throw new CacheException("The capacity of an off-heap cache must be positive, but was " + capacity);
+    }
+    this.capacity = capacity;
+    reset();
+  }
+
+  public int getSegmentSize() {
+    return segmentSize;
+  }
+
+  /**
+   * Sets the number of bytes of each segment. A value larger than a segment once serialized is not cached. This empties
+   * the cache.
+   *
+   * @param segmentSize
+   *          the segment size in bytes
+   */
+  public void setSegmentSize(int segmentSize) {
+    if (segmentSize <= 0) {
+      throw new CacheException("The segment size of an off-heap cache must be positive, but was " + segmentSize);
+    }
+    this.segmentSize = segmentSize;
+    reset();
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public int getSize() {
+    Lock lock = readWriteLock.readLock();
+    lock.lock();
+    try {
+      return cache.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    // serialize before locking, so that other threads keep reading meanwhile
+    byte[] bytes = value == null ? null : (byte[]) serializer.copyOnWrite(value);
+    Lock lock = readWriteLock.writeLock();
+    lock.lock();
+    try {
+      cache.remove(key);
+      if (bytes == null) {
+        cache.put(key, new Entry(key, null, 0, 0));
+      } else if (bytes.length <= segmentSize) {
+        cache.put(key, segmentFor(bytes.length).append(key, bytes));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    byte[] bytes;
+    Lock lock = readWriteLock.readLock();
+    lock.lock();
+    try {
+      Entry entry = cache.get(key);
+      if (entry == null || entry.segment == null) {
+        return null;
+      }
+      entry.referenced = true;
+      bytes = entry.read();
+    } finally {
+      lock.unlock();
+    }
+    return serializer.copyOnRead(bytes);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    byte[] bytes;
+    Lock lock = readWriteLock.writeLock();
+    lock.lock();
+    try {
+      Entry entry = cache.remove(key);
+      if (entry == null || entry.segment == null) {
+        return null;
+      }
+      bytes = entry.read();
+    } finally {
+      lock.unlock();
+    }
+    return serializer.copyOnRead(bytes);
+  }
+
+  @Override
+  public void clear() {
+    Lock lock = readWriteLock.writeLock();
+    lock.lock();
+    try {
+      cache.clear();
+      if (segments != null) {
+        // the segments are kept, to be written again
+        for (Segment segment : segments) {
+          if (segment != null) {
+            segment.entries.clear();
+            segment.position = 0;
+          }
+        }
+      }
+      current = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void reset() {
+    Lock lock = readWriteLock.writeLock();
+    lock.lock();
+    try {
+      cache.clear();
+      segments = null;
+      current = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the segment to append a value to, reusing the oldest segments until one has enough room. Reusing a segment
+   * clears the read marks of the entries it keeps, so that it is emptied at the latest when it is reused again.
+   */
+  private Segment segmentFor(int length) {
+    if (segments == null) {
+      segments = new Segment[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, capacity / segmentSize))];
+    }
+    if (segments[current] == null) {
+      segments[current] = new Segment(ByteBuffer.allocateDirect(segmentSize));
+    }
+    Segment segment = segments[current];
+    while (segment.position + length > segmentSize) {
+      current = (current + 1) % segments.length;
+      if (segments[current] == null) {
+        segments[current] = new Segment(ByteBuffer.allocateDirect(segmentSize));
+      } else {
+        compact(segments[current]);
+      }
+      segment = segments[current];
+    }
+    return segment;
+  }
+
+  private void compact(Segment segment) {
+    List<Entry> survivors = new ArrayList<>();
+    int position = 0;
+    for (Entry entry : segment.entries) {
+      if (cache.get(entry.key) != entry) {
+        // replaced or removed since
+        continue;
+      }
+      if (entry.referenced) {
+        entry.referenced = false;
+        if (entry.offset != position) {
+          byte[] bytes = entry.read();
+          entry.offset = position;
+          segment.write(position, bytes);
+        }
+        position += entry.length;
+        survivors.add(entry);
+      } else {
+        cache.remove(entry.key);
+      }
+    }
+    segment.entries.clear();
+    segment.entries.addAll(survivors);
+    segment.position = position;
+  }
+
+  private static void position(Buffer buffer, int position) {
+    // called on Buffer, as ByteBuffer overrides this method since Java 9 only
+    buffer.position(position);
+  }
+
+  private static final class Segment {
+    private final ByteBuffer buffer;
+    // the entries written to this segment, including those replaced or removed since
+    private final List<Entry> entries = new ArrayList<>();
+    private int position;
+
+    Segment(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    Entry append(Object key, byte[] bytes) {
+      Entry entry = new Entry(key, this, position, bytes.length);
+      write(position, bytes);
+      position += bytes.length;
+      entries.add(entry);
+      return entry;
+    }
+
+    void write(int offset, byte[] bytes) {
+      // the buffer is duplicated so that concurrent readers do not share its position
+      ByteBuffer target = buffer.duplicate();
+      position(target, offset);
+      target.put(bytes);
+    }
+  }
+
+  private static final class Entry {
+    private final Object key;
+    private final Segment segment;
+    private final int length;
+    private int offset;
+    private volatile boolean referenced;
+
+    Entry(Object key, Segment segment, int offset, int length) {
+      this.key = key;
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    byte[] read() {
+      byte[] bytes = new byte[length];
+      ByteBuffer source = segment.buffer.duplicate();
+      position(source, offset);
+      source.get(bytes);
+      return bytes;
+    }
+  }
+
+}
@@ -74,6 +74,14 @@ public class PoolState {
    * 无效的连接数。
    */
   protected long badConnectionCount = 0;
+  /**
+   * 从预编译语句缓存中命中的次数，在连接归还时累加。
+   */
+  protected long statementCacheHitCount = 0;
+  /**
+   * 预编译语句缓存未命中的次数，在连接归还时累加。
+   */
+  protected long statementCacheMissCount = 0;
 
   public PoolState(PooledDataSource dataSource) {
     this.dataSource = dataSource;
@@ -112,6 +120,26 @@ public class PoolState {
     return requestCount == 0 ? 0 : accumulatedCheckoutTime / requestCount;
   }
 
+  /**
+   * Gets the number of prepared statements reused from the statement caches of the returned connections.
+   *
+   * @return the hit count
+   * @since 3.5.5
+   */
+  public synchronized long getStatementCacheHitCount() {
+    return statementCacheHitCount;
+  }
+
+  /**
+   * Gets the number of prepared statements that were not found in the statement caches of the returned connections.
+   *
+   * @return the miss count
+   * @since 3.5.5
+   */
+  public synchronized long getStatementCacheMissCount() {
+    return statementCacheMissCount;
+  }
+
   public synchronized int getIdleConnectionCount() {
     return idleConnections.size();
   }
@@ -135,6 +163,7 @@ public class PoolState {
     builder.append("\n poolPingEnabled                ").append(dataSource.poolPingEnabled);
     builder.append("\n poolPingQuery                  ").append(dataSource.poolPingQuery);
     builder.append("\n poolPingConnectionsNotUsedFor  ").append(dataSource.poolPingConnectionsNotUsedFor);
+    builder.append("\n poolPreparedStatementCacheSize ").append(dataSource.poolPreparedStatementCacheSize);
     builder.append("\n ---STATUS-----------------------------------------------------");
     builder.append("\n activeConnections              ").append(getActiveConnectionCount());
     builder.append("\n idleConnections                ").append(getIdleConnectionCount());
@@ -146,6 +175,8 @@ public class PoolState {
     builder.append("\n hadToWait                      ").append(getHadToWaitCount());
     builder.append("\n averageWaitTime                ").append(getAverageWaitTime());
     builder.append("\n badConnectionCount             ").append(getBadConnectionCount());
+    builder.append("\n statementCacheHitCount         ").append(getStatementCacheHitCount());
+    builder.append("\n statementCacheMissCount        ").append(getStatementCacheMissCount());
     builder.append("\n===============================================================");
     return builder.toString();
   }
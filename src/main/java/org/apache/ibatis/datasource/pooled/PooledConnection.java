@@ -30,6 +30,7 @@ import org.apache.ibatis.reflection.ExceptionUtil;
 class PooledConnection implements InvocationHandler {
 
   private static final String CLOSE = "close";
+  private static final String PREPARE_STATEMENT = "prepareStatement";
   private static final Class<?>[] IFACES = new Class<?>[] { Connection.class };
 
   private final int hashCode;
@@ -70,6 +71,10 @@ class PooledConnection implements InvocationHandler {
    * 依然保留该 PooledConnection 对象的引用并继续通过该 PooledConnection 对象操作数据库。
    */
   private boolean valid;
+  /**
+   * The idle prepared statements of the real connection, null if statements are not cached.
+   */
+  private PooledStatementCache statementCache;
 
   /**
    * Constructor for SimplePooledConnection that uses the Connection and PooledDataSource passed in.
@@ -86,6 +91,9 @@ class PooledConnection implements InvocationHandler {
     this.createdTimestamp = System.currentTimeMillis();
     this.lastUsedTimestamp = System.currentTimeMillis();
     this.valid = true;
+    if (dataSource.getPoolPreparedStatementCacheSize() > 0) {
+      this.statementCache = new PooledStatementCache(connection, dataSource.getPoolPreparedStatementCacheSize());
+    }
     // 传入的 InvocationHandler 实现正是 PooledConnection 自身 -- yyl 但是你发现没有，PooledConnection 并没有实现 Connection
     // 接口，它只实现了 InvocationHandler 接口，最后仍然能强转为 Connection 接口，这说明 Proxy.newProxyInstance 生成代理并不强调一定要实现接口
     this.proxyConnection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), IFACES, this);
@@ -125,6 +133,25 @@ class PooledConnection implements InvocationHandler {
     return proxyConnection;
   }
 
+  /**
+   * Getter for the cache of the idle prepared statements of the real connection.
+   *
+   * @return the cache, null if statements are not cached
+   */
+  PooledStatementCache getStatementCache() {
+    return statementCache;
+  }
+
+  /**
+   * Setter for the cache of the idle prepared statements, used to keep them when the real connection is wrapped again.
+   *
+   * @param statementCache
+   *          - the cache
+   */
+  void setStatementCache(PooledStatementCache statementCache) {
+    this.statementCache = statementCache;
+  }
+
   /**
    * Gets the hashcode of the real connection (or 0 if it is null).
    *
@@ -286,6 +313,9 @@ class PooledConnection implements InvocationHandler {
         // throw an SQLException instead of a Runtime
         // 只要不是Object的方法，都需要检测当前PooledConnection是否可用
         checkConnection();
+        if (statementCache != null && PREPARE_STATEMENT.equals(methodName)) {
+          return statementCache.prepare(method, args);
+        }
       }
       // 调用realConnection的对应方法
       return method.invoke(realConnection, args);
@@ -64,6 +64,7 @@ public class PooledDataSource implements DataSource {
   protected String poolPingQuery = "NO PING QUERY SET";
   protected boolean poolPingEnabled;
   protected int poolPingConnectionsNotUsedFor;
+  protected int poolPreparedStatementCacheSize;
 
   private int expectedConnectionTypeCode;
 
@@ -267,6 +268,19 @@ public class PooledDataSource implements DataSource {
     forceCloseAll();
   }
 
+  /**
+   * Sets the number of idle prepared statements cached per connection. The statements survive the sessions that borrow
+   * the connection, and the least recently used one is closed when the limit is exceeded.
+   *
+   * @param poolPreparedStatementCacheSize
+   *          the number of statements, 0 to disable the cache
+   * @since 3.5.5
+   */
+  public void setPoolPreparedStatementCacheSize(int poolPreparedStatementCacheSize) {
+    this.poolPreparedStatementCacheSize = poolPreparedStatementCacheSize;
+    forceCloseAll();
+  }
+
   public String getDriver() {
     return dataSource.getDriver();
   }
@@ -337,6 +351,16 @@ public class PooledDataSource implements DataSource {
     return poolPingConnectionsNotUsedFor;
   }
 
+  /**
+   * Gets the number of idle prepared statements cached per connection.
+   *
+   * @return the number of statements, 0 if the cache is disabled
+   * @since 3.5.5
+   */
+  public int getPoolPreparedStatementCacheSize() {
+    return poolPreparedStatementCacheSize;
+  }
+
   /**
    * Closes all active and idle connections in the pool.
    */
@@ -347,6 +371,7 @@ public class PooledDataSource implements DataSource {
         try {
           PooledConnection conn = state.activeConnections.remove(i - 1);
           conn.invalidate();
+          clearStatementCache(conn);
 
           Connection realConn = conn.getRealConnection();
           if (!realConn.getAutoCommit()) {
@@ -361,6 +386,7 @@ public class PooledDataSource implements DataSource {
         try {
           PooledConnection conn = state.idleConnections.remove(i - 1);
           conn.invalidate();
+          clearStatementCache(conn);
 
           Connection realConn = conn.getRealConnection();
           if (!realConn.getAutoCommit()) {
@@ -381,6 +407,12 @@ public class PooledDataSource implements DataSource {
     return state;
   }
 
+  private static void clearStatementCache(PooledConnection conn) {
+    if (conn.getStatementCache() != null) {
+      conn.getStatementCache().clear();
+    }
+  }
+
   private int assembleConnectionTypeCode(String url, String username, String password) {
     return ("" + url + username + password).hashCode();
   }
@@ -390,6 +422,9 @@ public class PooledDataSource implements DataSource {
     synchronized (state) {
       /// 从活跃连接集合（即前面提到的 activeConnections 集合）中删除传入的 PooledConnection 对象。
       state.activeConnections.remove(conn); // 步骤1：从活跃连接集合中删除该连接
+      if (conn.getStatementCache() != null) {
+        conn.getStatementCache().reportTo(state);
+      }
       // 检测该 PooledConnection 对象是否可用。如果连接已不可用，
       // 则递增 badConnectionCount 字段进行统计，之后，
       // 直接丢弃 PooledConnection 对象即可。如果连接依旧可用，则执行下一步。
@@ -410,6 +445,8 @@ public class PooledDataSource implements DataSource {
           // 步骤4：将底层连接重新封装成PooledConnection对象，
           // 并添加到空闲连接集合（也就是前面提到的 idleConnections 集合）
           PooledConnection newConn = new PooledConnection(conn.getRealConnection(), this);
+          // 缓存的预编译语句随底层连接一起保留
+          newConn.setStatementCache(conn.getStatementCache());
           state.idleConnections.add(newConn);
           // 设置新PooledConnection对象的创建时间戳和最后使用时间戳
           newConn.setCreatedTimestamp(conn.getCreatedTimestamp());
@@ -431,6 +468,7 @@ public class PooledDataSource implements DataSource {
             conn.getRealConnection().rollback();
           }
           // 关闭真正的数据库连接
+          clearStatementCache(conn);
           conn.getRealConnection().close();
           if (log.isDebugEnabled()) {
             log.debug("Closed connection " + conn.getRealHashCode() + ".");
@@ -442,6 +480,7 @@ public class PooledDataSource implements DataSource {
         if (log.isDebugEnabled()) {
           log.debug("A bad connection (" + conn.getRealHashCode() + ") attempted to return to the pool, discarding connection.");
         }
+        clearStatementCache(conn);
         // 统计无效PooledConnection对象个数
         state.badConnectionCount++;
       }
@@ -514,6 +553,7 @@ public class PooledDataSource implements DataSource {
                 }
               }
               // 创建新PooledConnection对象，但是真正的数据库连接 -- yyl 它这里为什么要创建一个无效的连接返回呢？？？
+              clearStatementCache(oldestActiveConnection);
               conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this);
               conn.setCreatedTimestamp(oldestActiveConnection.getCreatedTimestamp());
               conn.setLastUsedTimestamp(oldestActiveConnection.getLastUsedTimestamp());
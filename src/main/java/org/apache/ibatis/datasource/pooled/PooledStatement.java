@@ -0,0 +1,151 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * Presents a cached prepared statement to one borrower. Closing the statement puts it back into the statement cache
+ * of its connection instead of closing it.
+ */
+class PooledStatement implements InvocationHandler {
+
+  private static final String CLOSE = "close";
+  private static final String IS_CLOSED = "isClosed";
+  private static final String ADD_BATCH = "addBatch";
+  private static final Class<?>[] IFACES = new Class<?>[] { PreparedStatement.class };
+  private static final Map<String, Method> RESTORED_PROPERTY_GETTERS = new HashMap<>();
+
+  static {
+    for (String property : new String[] { "FetchSize", "FetchDirection", "MaxRows", "MaxFieldSize", "QueryTimeout" }) {
+      try {
+        RESTORED_PROPERTY_GETTERS.put("set" + property, Statement.class.getMethod("get" + property));
+      } catch (NoSuchMethodException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  private final PooledStatementCache cache;
+  private final Entry entry;
+  private final PreparedStatement proxyStatement;
+  private boolean changed;
+  private boolean batched;
+  private boolean closed;
+
+  PooledStatement(PooledStatementCache cache, Entry entry) {
+    this.cache = cache;
+    this.entry = entry;
+    this.proxyStatement = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), IFACES, this);
+  }
+
+  PreparedStatement getProxyStatement() {
+    return proxyStatement;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    String methodName = method.getName();
+    if (CLOSE.equals(methodName)) {
+      if (!closed) {
+        closed = true;
+        release();
+      }
+      return null;
+    } else if (IS_CLOSED.equals(methodName)) {
+      return closed || entry.statement.isClosed();
+    } else if (Object.class.equals(method.getDeclaringClass())) {
+      if ("equals".equals(methodName)) {
+        return proxy == args[0];
+      } else if ("hashCode".equals(methodName)) {
+        return System.identityHashCode(proxy);
+      }
+    } else if (closed) {
+      throw new SQLException("Error accessing PooledStatement. Statement is closed.");
+    } else {
+      Method getter = RESTORED_PROPERTY_GETTERS.get(methodName);
+      if (getter != null) {
+        entry.originalValues.putIfAbsent(methodName, getter.invoke(entry.statement));
+        changed = true;
+      } else if (ADD_BATCH.equals(methodName)) {
+        batched = true;
+      }
+    }
+    try {
+      return method.invoke(entry.statement, args);
+    } catch (Throwable t) {
+      throw ExceptionUtil.unwrapThrowable(t);
+    }
+  }
+
+  private void release() throws SQLException {
+    PreparedStatement statement = entry.statement;
+    try {
+      // the borrower may not have closed the result set, which would be returned to the next borrower otherwise
+      ResultSet resultSet = statement.getResultSet();
+      if (resultSet != null) {
+        resultSet.close();
+      }
+      statement.clearParameters();
+      if (batched) {
+        statement.clearBatch();
+      }
+      if (changed) {
+        for (Map.Entry<String, Object> originalValue : entry.originalValues.entrySet()) {
+          PreparedStatement.class.getMethod(originalValue.getKey(), int.class).invoke(statement, originalValue.getValue());
+        }
+      }
+      statement.clearWarnings();
+    } catch (Exception e) {
+      // the statement cannot be reused
+      statement.close();
+      return;
+    }
+    cache.release(entry);
+  }
+
+  static class Entry {
+
+    private final List<Object> key;
+    private final PreparedStatement statement;
+    private final Map<String, Object> originalValues = new HashMap<>();
+
+    Entry(List<Object> key, PreparedStatement statement) {
+      this.key = key;
+      this.statement = statement;
+    }
+
+    List<Object> getKey() {
+      return key;
+    }
+
+    PreparedStatement getStatement() {
+      return statement;
+    }
+  }
+
+}
@@ -0,0 +1,171 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * Keeps the idle prepared statements of a physical connection, so they can be reused by later borrowers of the
+ * connection. The least recently used statement is closed when the cache is full.
+ */
+class PooledStatementCache {
+
+  private static final Log log = LogFactory.getLog(PooledStatementCache.class);
+
+  private final Connection realConnection;
+  private final int size;
+  private final Map<List<Object>, PooledStatement.Entry> idleStatements = new LinkedHashMap<>(16, 0.75f, true);
+
+  private boolean closed;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+  private long reportedHitCount;
+  private long reportedMissCount;
+
+  PooledStatementCache(Connection realConnection, int size) {
+    this.realConnection = realConnection;
+    this.size = size;
+  }
+
+  /**
+   * Gets an idle statement prepared by the same method with the same arguments, or prepares a new one.
+   *
+   * @return a statement that goes back to the cache when it is closed
+   */
+  PreparedStatement prepare(Method method, Object[] args) throws SQLException {
+    final List<Object> key = createKey(method, args);
+    PooledStatement.Entry entry;
+    synchronized (this) {
+      entry = idleStatements.remove(key);
+      if (entry != null) {
+        hitCount++;
+      } else {
+        missCount++;
+      }
+    }
+    if (entry == null) {
+      try {
+        entry = new PooledStatement.Entry(key, (PreparedStatement) method.invoke(realConnection, args));
+      } catch (Exception e) {
+        throw (SQLException) ExceptionUtil.unwrapThrowable(e);
+      }
+    }
+    return new PooledStatement(this, entry).getProxyStatement();
+  }
+
+  /**
+   * Puts a statement closed by its borrower back into the cache, or closes it if the cache has been cleared.
+   */
+  void release(PooledStatement.Entry entry) {
+    PooledStatement.Entry evicted;
+    synchronized (this) {
+      if (closed) {
+        evicted = entry;
+      } else {
+        evicted = idleStatements.putIfAbsent(entry.getKey(), entry) == null ? null : entry;
+      }
+      if (evicted == null && idleStatements.size() > size) {
+        Iterator<PooledStatement.Entry> iterator = idleStatements.values().iterator();
+        evicted = iterator.next();
+        iterator.remove();
+        evictionCount++;
+      }
+    }
+    if (evicted != null) {
+      close(evicted);
+    }
+  }
+
+  /**
+   * Closes all the idle statements when the connection leaves the pool. The statements released afterwards, by the
+   * borrower of an invalidated or reclaimed connection, are closed instead of being cached.
+   */
+  void clear() {
+    List<PooledStatement.Entry> entries;
+    synchronized (this) {
+      closed = true;
+      entries = new ArrayList<>(idleStatements.values());
+      idleStatements.clear();
+    }
+    entries.forEach(this::close);
+  }
+
+  synchronized int getIdleStatementCount() {
+    return idleStatements.size();
+  }
+
+  synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  synchronized long getMissCount() {
+    return missCount;
+  }
+
+  synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Adds the hits and misses since the last call to the pool statistics.
+   */
+  synchronized void reportTo(PoolState state) {
+    state.statementCacheHitCount += hitCount - reportedHitCount;
+    state.statementCacheMissCount += missCount - reportedMissCount;
+    reportedHitCount = hitCount;
+    reportedMissCount = missCount;
+  }
+
+  private void close(PooledStatement.Entry entry) {
+    try {
+      entry.getStatement().close();
+    } catch (SQLException e) {
+      if (log.isDebugEnabled()) {
+        log.debug("Error closing cached statement. Cause: " + e);
+      }
+    }
+  }
+
+  private static List<Object> createKey(Method method, Object[] args) {
+    List<Object> key = new ArrayList<>(args.length + 1);
+    key.add(method.getParameterCount());
+    for (Object arg : args) {
+      if (arg instanceof int[]) {
+        key.add(Arrays.toString((int[]) arg));
+      } else if (arg instanceof String[]) {
+        key.add(Arrays.asList((String[]) arg));
+      } else {
+        key.add(arg);
+      }
+    }
+    return key;
+  }
+
+}
@@ -18,14 +18,20 @@ package org.apache.ibatis.executor;
 import static org.apache.ibatis.executor.ExecutionPlaceholder.EXECUTION_PLACEHOLDER;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.executor.statement.StatementUtil;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
@@ -34,9 +40,12 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.LocalCacheScope;
 import org.apache.ibatis.session.ResultHandler;
@@ -51,6 +60,8 @@ public abstract class BaseExecutor implements Executor {
 
   private static final Log log = LogFactory.getLog(BaseExecutor.class);
 
+  private static final String MULTI_QUERY_SUFFIX = "!multiQuery";
+
   protected Transaction transaction;
   protected Executor wrapper;
 
@@ -58,6 +69,9 @@ public abstract class BaseExecutor implements Executor {
   protected PerpetualCache localCache;
   protected PerpetualCache localOutputParameterCache;
   protected Configuration configuration;
+  // the local caches created by this executor, which bound their size and count the lookups
+  private LocalCache boundedLocalCache;
+  private LocalCache boundedLocalOutputParameterCache;
 
   protected int queryStack;
   private boolean closed;
@@ -65,8 +79,10 @@ public abstract class BaseExecutor implements Executor {
   protected BaseExecutor(Configuration configuration, Transaction transaction) {
     this.transaction = transaction;
     this.deferredLoads = new ConcurrentLinkedQueue<>();
-    this.localCache = new PerpetualCache("LocalCache");
-    this.localOutputParameterCache = new PerpetualCache("LocalOutputParameterCache");
+    this.boundedLocalCache = newLocalCache(configuration, "LocalCache");
+    this.boundedLocalOutputParameterCache = newLocalCache(configuration, "LocalOutputParameterCache");
+    this.localCache = boundedLocalCache;
+    this.localOutputParameterCache = boundedLocalOutputParameterCache;
     this.closed = false;
     this.configuration = configuration;
     this.wrapper = this;
@@ -82,6 +98,10 @@ public abstract class BaseExecutor implements Executor {
 
   @Override
   public void close(boolean forceRollback) {
+    if (log.isDebugEnabled() && boundedLocalCache != null
+        && boundedLocalCache.getHitCount() + boundedLocalCache.getMissCount() > 0) {
+      log.debug("Local cache " + boundedLocalCache.getStatistics());
+    }
     try {
       try {
         rollback(forceRollback);
@@ -98,10 +118,20 @@ public abstract class BaseExecutor implements Executor {
       deferredLoads = null;
       localCache = null;
       localOutputParameterCache = null;
+      boundedLocalCache = null;
+      boundedLocalOutputParameterCache = null;
       closed = true;
     }
   }
 
+  @Override
+  public LocalCacheStatistics getLocalCacheStatistics() {
+    if (closed) {
+      throw new ExecutorException("Executor was closed.");
+    }
+    return boundedLocalCache.getStatistics();
+  }
+
   @Override
   public boolean isClosed() {
     return closed;
@@ -150,6 +180,9 @@ public abstract class BaseExecutor implements Executor {
     try {
       queryStack++;
       list = resultHandler == null ? (List<E>) localCache.getObject(key) : null;
+      if (resultHandler == null) {
+        boundedLocalCache.recordLookup(list != null);
+      }
       if (list != null) {
         handleLocallyCachedOutputParameters(ms, key, parameter, boundSql);
       } else {
@@ -167,11 +200,84 @@ public abstract class BaseExecutor implements Executor {
       if (configuration.getLocalCacheScope() == LocalCacheScope.STATEMENT) {
         // issue #482
         clearLocalCache();
+      } else {
+        evictLocalCacheExcess();
       }
     }
     return list;
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public List<List<Object>> queryMultiple(List<MappedStatement> mappedStatements, List<Object> parameters) throws SQLException {
+    if (!configuration.isMultiQueryEnabled()) {
+      return Executor.super.queryMultiple(mappedStatements, parameters);
+    }
+    ErrorContext.instance().activity("executing multiple queries");
+    if (closed) {
+      throw new ExecutorException("Executor was closed.");
+    }
+    final int size = mappedStatements.size();
+    final List<List<Object>> results = new ArrayList<>(Collections.nCopies(size, null));
+    final List<MultiQueryPart> parts = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      final MappedStatement ms = mappedStatements.get(i);
+      final Object parameter = parameters.get(i);
+      if (!canQueryTogether(ms)) {
+        continue;
+      }
+      if (queryStack == 0 && ms.isFlushCacheRequired()) {
+        clearLocalCache();
+      }
+      final BoundSql boundSql = ms.getBoundSql(parameter);
+      final CacheKey key = createCacheKey(ms, parameter, RowBounds.DEFAULT, boundSql);
+      final Object cached = localCache.getObject(key);
+      if (cached instanceof List) {
+        boundedLocalCache.recordLookup(true);
+        results.set(i, (List<Object>) cached);
+      } else if (ms.getLang().createParameterHandler(ms, parameter, boundSql).getClass() == DefaultParameterHandler.class
+          && (parts.isEmpty() || haveSameStatementOptions(parts.get(0).ms, ms))) {
+        parts.add(new MultiQueryPart(i, ms, parameter, boundSql, key));
+      }
+    }
+    if (parts.size() > 1) {
+      // the misses of the other statements are recorded when they are run one by one
+      parts.forEach(part -> boundedLocalCache.recordLookup(false));
+      try {
+        queryStack++;
+        final List<Object> multipleResults = doQueryMultiple(parts);
+        for (int i = 0; i < parts.size(); i++) {
+          final MultiQueryPart part = parts.get(i);
+          final List<Object> list = (List<Object>) multipleResults.get(i);
+          localCache.putObject(part.key, list);
+          results.set(part.index, list);
+        }
+      } finally {
+        queryStack--;
+      }
+      if (queryStack == 0) {
+        for (DeferredLoad deferredLoad : deferredLoads) {
+          deferredLoad.load();
+        }
+        deferredLoads.clear();
+      }
+    }
+    // the other statements are run one by one
+    for (int i = 0; i < size; i++) {
+      if (results.get(i) == null) {
+        results.set(i, query(mappedStatements.get(i), parameters.get(i), RowBounds.DEFAULT, NO_RESULT_HANDLER));
+      }
+    }
+    if (queryStack == 0) {
+      if (configuration.getLocalCacheScope() == LocalCacheScope.STATEMENT) {
+        clearLocalCache();
+      } else {
+        evictLocalCacheExcess();
+      }
+    }
+    return results;
+  }
+
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
     BoundSql boundSql = ms.getBoundSql(parameter);
@@ -198,8 +304,8 @@ public abstract class BaseExecutor implements Executor {
     }
     CacheKey cacheKey = new CacheKey();
     cacheKey.update(ms.getId());
-    cacheKey.update(rowBounds.getOffset());
-    cacheKey.update(rowBounds.getLimit());
+    cacheKey.updateInt(rowBounds.getOffset());
+    cacheKey.updateInt(rowBounds.getLimit());
     cacheKey.update(boundSql.getSql());
     List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
     TypeHandlerRegistry typeHandlerRegistry = ms.getConfiguration().getTypeHandlerRegistry();
@@ -319,6 +425,92 @@ public abstract class BaseExecutor implements Executor {
     }
   }
 
+  private void evictLocalCacheExcess() {
+    boundedLocalCache.evictExcess();
+    boundedLocalOutputParameterCache.evictExcess();
+  }
+
+  private static LocalCache newLocalCache(Configuration configuration, String id) {
+    final Integer size = configuration.getLocalCacheSize();
+    final Integer maxObjects = configuration.getLocalCacheMaxObjects();
+    return new LocalCache(id, configuration.getLocalCacheEviction(), size == null ? 0 : size, maxObjects == null ? 0 : maxObjects);
+  }
+
+  private boolean canQueryTogether(MappedStatement ms) {
+    // plugins may intercept the statement handler or the parameter handler
+    return ms.getStatementType() == StatementType.PREPARED && ms.getSqlCommandType() == SqlCommandType.SELECT
+        && ms.getResultSets() == null && ms.getResultMaps().size() == 1 && configuration.getInterceptors().isEmpty();
+  }
+
+  private static boolean haveSameStatementOptions(MappedStatement ms, MappedStatement other) {
+    // the combined statement runs with the fetch size, result set type and result ordering of its first query
+    return Objects.equals(ms.getFetchSize(), other.getFetchSize()) && ms.getResultSetType() == other.getResultSetType()
+        && ms.isResultOrdered() == other.isResultOrdered();
+  }
+
+  /**
+   * Runs several queries as one multi-statement string and maps their result sets with the result map of each query.
+   */
+  private List<Object> doQueryMultiple(List<MultiQueryPart> parts) throws SQLException {
+    final StringBuilder sql = new StringBuilder();
+    final List<ResultMap> resultMaps = new ArrayList<>(parts.size());
+    Integer timeout = null;
+    for (MultiQueryPart part : parts) {
+      if (sql.length() > 0) {
+        sql.append(";\n");
+      }
+      sql.append(trimStatementSeparator(part.boundSql.getSql()));
+      resultMaps.add(part.ms.getResultMaps().get(0));
+      final Integer partTimeout = part.ms.getTimeout();
+      if (partTimeout != null && (timeout == null || partTimeout > timeout)) {
+        timeout = partTimeout;
+      }
+    }
+    final MappedStatement first = parts.get(0).ms;
+    final MappedStatement ms = new MappedStatement.Builder(configuration, first.getId() + MULTI_QUERY_SUFFIX,
+        new StaticSqlSource(configuration, sql.toString()), SqlCommandType.SELECT)
+            .resource(first.getResource())
+            .resultMaps(resultMaps)
+            .fetchSize(first.getFetchSize())
+            .resultSetType(first.getResultSetType())
+            .resultOrdered(first.isResultOrdered())
+            .timeout(timeout)
+            .build();
+    final BoundSql boundSql = ms.getBoundSql(null);
+    Statement stmt = null;
+    try {
+      final StatementHandler handler = configuration.newStatementHandler(wrapper, ms, null, RowBounds.DEFAULT, NO_RESULT_HANDLER, boundSql);
+      stmt = handler.prepare(getConnection(ms.getStatementLog()), transaction.getTimeout());
+      int parameterOffset = 0;
+      for (MultiQueryPart part : parts) {
+        final ParameterBindingPlan bindingPlan = ParameterBindingPlan.create(part.ms, part.boundSql, part.parameter);
+        if (bindingPlan != null) {
+          final Object[] values = new Object[bindingPlan.getParameterCount()];
+          bindingPlan.readValues(part.boundSql, part.parameter, values, 0);
+          bindingPlan.bindValues((PreparedStatement) stmt, values, 0, parameterOffset);
+          parameterOffset += values.length;
+        }
+      }
+      final List<Object> multipleResults = handler.query(stmt, NO_RESULT_HANDLER);
+      // a single result set is returned as a plain list of objects
+      if (multipleResults.size() != parts.size() || !(multipleResults.get(0) instanceof List)) {
+        throw new ExecutorException("The multiple queries of '" + ms.getId() + "' did not return " + parts.size()
+            + " result sets. Check that the driver supports multiple statements.");
+      }
+      return multipleResults;
+    } finally {
+      closeStatement(stmt);
+    }
+  }
+
+  private static String trimStatementSeparator(String sql) {
+    int end = sql.length();
+    while (end > 0 && (Character.isWhitespace(sql.charAt(end - 1)) || sql.charAt(end - 1) == ';')) {
+      end--;
+    }
+    return sql.substring(0, end);
+  }
+
   private <E> List<E> queryFromDatabase(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, CacheKey key, BoundSql boundSql) throws SQLException {
     List<E> list;
     localCache.putObject(key, EXECUTION_PLACEHOLDER);
@@ -348,6 +540,23 @@ public abstract class BaseExecutor implements Executor {
     this.wrapper = wrapper;
   }
 
+  private static class MultiQueryPart {
+
+    private final int index;
+    private final MappedStatement ms;
+    private final Object parameter;
+    private final BoundSql boundSql;
+    private final CacheKey key;
+
+    MultiQueryPart(int index, MappedStatement ms, Object parameter, BoundSql boundSql, CacheKey key) {
+      this.index = index;
+      this.ms = ms;
+      this.parameter = parameter;
+      this.boundSql = boundSql;
+      this.key = key;
+    }
+  }
+
   private static class DeferredLoad {
 
     private final MetaObject resultObject;
@@ -17,19 +17,31 @@ package org.apache.ibatis.executor;
 
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
 import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.executor.statement.StatementUtil;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
@@ -42,10 +54,23 @@ public class BatchExecutor extends BaseExecutor {
 
   public static final int BATCH_UPDATE_RETURN_VALUE = Integer.MIN_VALUE + 1002;
 
+  private static final Pattern MODIFIED_TABLE_PATTERN = Pattern.compile(
+      "\\s*(?:insert\\s+into|update|delete\\s+from|merge\\s+into)\\s+([^\\s(]+)", Pattern.CASE_INSENSITIVE);
+
   private final List<Statement> statementList = new ArrayList<>();
   private final List<BatchResult> batchResultList = new ArrayList<>();
+  private final List<ParameterBindingPlan> bindingPlanList = new ArrayList<>();
+  private final List<MultiRowInsert> multiRowInsertList = new ArrayList<>();
+  private final List<BatchResult> flushedResultList = new ArrayList<>();
+  private final List<String> tableList = new ArrayList<>();
+  private final Map<MappedStatement, Map<String, Integer>> statementIndexes = new HashMap<>();
+  private final BitSet reorderBlockedStatements = new BitSet();
+  private final Map<String, Integer> tableRanks = new HashMap<>();
   private String currentSql;
   private MappedStatement currentStatement;
+  private BatchResultHandler batchResultHandler;
+  private int pendingRows;
+  private long pendingBytes;
 
   public BatchExecutor(Configuration configuration, Transaction transaction) {
     super(configuration, transaction);
@@ -58,26 +83,212 @@ public class BatchExecutor extends BaseExecutor {
     final BoundSql boundSql = handler.getBoundSql();
     final String sql = boundSql.getSql();
     final Statement stmt;
-    if (sql.equals(currentSql) && ms.equals(currentStatement)) {
-      int last = statementList.size() - 1;
-      stmt = statementList.get(last);
+    final BatchResult batchResult;
+    final long rowSize;
+    final int index = findStatement(ms, sql, boundSql, parameterObject);
+    if (index >= 0) {
+      stmt = statementList.get(index);
       applyTransactionTimeout(stmt);
-      handler.parameterize(stmt);// fix Issues 322
-      BatchResult batchResult = batchResultList.get(last);
+      ParameterBindingPlan bindingPlan = bindingPlanList.get(index);
+      if (bindingPlan != null && !bindingPlan.matches(boundSql, parameterObject)) {
+        bindingPlan = ParameterBindingPlan.create(ms, boundSql, parameterObject);
+        bindingPlanList.set(index, bindingPlan);
+      }
+      rowSize = addRow(ms, handler, stmt, bindingPlan, multiRowInsertList.get(index), parameterObject);// fix Issues 322
+      batchResult = batchResultList.get(index);
       batchResult.addParameterObject(parameterObject);
     } else {
+      if (configuration.isBatchReorderingEnabled() && statementList.size() >= configuration.getBatchMaxOpenStatements()) {
+        flushAutomatically();
+      }
       Connection connection = getConnection(ms.getStatementLog());
       stmt = handler.prepare(connection, transaction.getTimeout());
-      handler.parameterize(stmt);    // fix Issues 322
+      ParameterBindingPlan bindingPlan = canUseBindingPlan(ms, handler) ? ParameterBindingPlan.create(ms, boundSql, parameterObject) : null;
+      MultiRowInsert multiRowInsert = createMultiRowInsert(ms, bindingPlan, sql, connection);
+      try {
+        rowSize = addRow(ms, handler, stmt, bindingPlan, multiRowInsert, parameterObject);    // fix Issues 322
+      } catch (SQLException | RuntimeException e) {
+        closeStatement(stmt);
+        if (multiRowInsert != null) {
+          closeStatement(multiRowInsert.getMultiRowStatement());
+        }
+        throw e;
+      }
       currentSql = sql;
       currentStatement = ms;
       statementList.add(stmt);
-      batchResultList.add(new BatchResult(ms, sql, parameterObject));
+      batchResult = new BatchResult(ms, sql, parameterObject);
+      batchResultList.add(batchResult);
+      bindingPlanList.add(bindingPlan);
+      multiRowInsertList.add(multiRowInsert);
+      if (configuration.isBatchReorderingEnabled()) {
+        openStatement(ms, sql);
+      }
+    }
+    pendingRows++;
+    pendingBytes += rowSize;
+    if (isFlushThresholdReached(batchResult)) {
+      flushAutomatically();
     }
-    handler.batch(stmt);
     return BATCH_UPDATE_RETURN_VALUE;
   }
 
+  /**
+   * Executes the pending statements before an explicit flush. When a flush threshold is set, only the update counts of
+   * the results not passed to the batch result handler are kept until then, so that a bulk load does not hold all its
+   * parameter objects.
+   */
+  private void flushAutomatically() throws SQLException {
+    final boolean keepUpdateCountsOnly = configuration.getBatchFlushRowsPerStatement() > 0
+        || configuration.getBatchFlushPendingRows() > 0 || configuration.getBatchFlushPendingBytes() > 0;
+    for (BatchResult batchResult : executeStatements()) {
+      if (keepUpdateCountsOnly) {
+        BatchResult updateCounts = new BatchResult(batchResult.getMappedStatement(), batchResult.getSql());
+        updateCounts.setUpdateCounts(batchResult.getUpdateCounts());
+        flushedResultList.add(updateCounts);
+      } else {
+        flushedResultList.add(batchResult);
+      }
+    }
+  }
+
+  /**
+   * Sets the handler receiving the result of each executed batch statement, instead of returning them from
+   * {@link #flushStatements()}.
+   *
+   * @param batchResultHandler
+   *          the handler, or null to return the results from {@link #flushStatements()}
+   * @since 3.5.5
+   */
+  @Override
+  public void setBatchResultHandler(BatchResultHandler batchResultHandler) {
+    this.batchResultHandler = batchResultHandler;
+  }
+
+  /**
+   * Finds the pending statement a row can be added to.
+   *
+   * @return the index of the statement, or -1 if a new statement must be prepared
+   */
+  private int findStatement(MappedStatement ms, String sql, BoundSql boundSql, Object parameterObject) throws SQLException {
+    if (!configuration.isBatchReorderingEnabled()) {
+      int last = statementList.size() - 1;
+      return sql.equals(currentSql) && ms.equals(currentStatement) && canAddRow(last, boundSql, parameterObject) ? last : -1;
+    }
+    Map<String, Integer> indexes = statementIndexes.get(ms);
+    Integer index = indexes == null ? null : indexes.get(sql);
+    if (index == null) {
+      return -1;
+    }
+    if (reorderBlockedStatements.get(index)) {
+      // a statement opened later writes to the same or an earlier table, adding the row would execute it too early
+      flushAutomatically();
+      return -1;
+    }
+    return canAddRow(index, boundSql, parameterObject) ? index : -1;
+  }
+
+  private boolean canAddRow(int index, BoundSql boundSql, Object parameterObject) {
+    // the rows of a multi-row insert are bound later, with the plan that read their values
+    MultiRowInsert multiRowInsert = multiRowInsertList.get(index);
+    return multiRowInsert == null || multiRowInsert.getBindingPlan().matches(boundSql, parameterObject);
+  }
+
+  private void openStatement(MappedStatement ms, String sql) {
+    final int index = statementList.size() - 1;
+    final String table = getModifiedTable(sql);
+    // tables keep the order they were first modified in, which is assumed to follow their dependencies
+    final Integer rank = table == null ? null : tableRanks.computeIfAbsent(table, k -> tableRanks.size());
+    for (int i = 0; i < index; i++) {
+      final String otherTable = tableList.get(i);
+      if (rank == null || otherTable == null || tableRanks.get(otherTable) >= rank) {
+        reorderBlockedStatements.set(i);
+      }
+    }
+    tableList.add(table);
+    statementIndexes.computeIfAbsent(ms, k -> new HashMap<>()).put(sql, index);
+  }
+
+  /**
+   * Gets the table modified by an insert, update, delete or merge statement.
+   *
+   * @return the upper case table name, or null if the statement is not recognized
+   */
+  static String getModifiedTable(String sql) {
+    Matcher matcher = MODIFIED_TABLE_PATTERN.matcher(sql);
+    return matcher.lookingAt() ? matcher.group(1).toUpperCase(Locale.ENGLISH) : null;
+  }
+
+  /**
+   * Adds a row to the batch of a statement.
+   *
+   * @return the approximate size of the parameter values of the row
+   */
+  private long addRow(MappedStatement ms, StatementHandler handler, Statement stmt, ParameterBindingPlan bindingPlan,
+      MultiRowInsert multiRowInsert, Object parameterObject) throws SQLException {
+    if (multiRowInsert != null) {
+      return multiRowInsert.addRow(handler.getBoundSql(), parameterObject);
+    }
+    final long rowSize;
+    if (bindingPlan != null) {
+      rowSize = bindingPlan.bind((PreparedStatement) stmt, handler.getBoundSql(), parameterObject);
+    } else {
+      handler.parameterize(stmt);
+      rowSize = configuration.getBatchFlushPendingBytes() > 0
+          ? ParameterBindingPlan.estimateSize(ms, handler.getBoundSql(), parameterObject) : 0;
+    }
+    handler.batch(stmt);
+    return rowSize;
+  }
+
+  private boolean isFlushThresholdReached(BatchResult batchResult) {
+    final int maxRowsPerStatement = configuration.getBatchFlushRowsPerStatement();
+    final int maxPendingRows = configuration.getBatchFlushPendingRows();
+    final int maxPendingBytes = configuration.getBatchFlushPendingBytes();
+    return (maxRowsPerStatement > 0 && batchResult.getParameterObjects().size() >= maxRowsPerStatement)
+        || (maxPendingRows > 0 && pendingRows >= maxPendingRows)
+        || (maxPendingBytes > 0 && pendingBytes >= maxPendingBytes);
+  }
+
+  private boolean canUseBindingPlan(MappedStatement ms, StatementHandler handler) {
+    // plugins may intercept the parameter handler or the statement handler
+    return ms.getStatementType() == StatementType.PREPARED
+        && handler.getClass() == RoutingStatementHandler.class
+        && handler.getParameterHandler().getClass() == DefaultParameterHandler.class;
+  }
+
+  private MultiRowInsert createMultiRowInsert(MappedStatement ms, ParameterBindingPlan bindingPlan, String sql, Connection connection) throws SQLException {
+    final int rowsPerStatement = configuration.getMultiRowInsertSize();
+    // generated keys could not be assigned to the rows of a multi-row statement
+    if (rowsPerStatement < 2 || bindingPlan == null || bindingPlan.hasOutParameters()
+        || ms.getSqlCommandType() != SqlCommandType.INSERT || ms.getKeyGenerator().getClass() != NoKeyGenerator.class) {
+      return null;
+    }
+    final String multiRowSql = MultiRowInsert.rewrite(sql, bindingPlan.getParameterCount(), rowsPerStatement);
+    if (multiRowSql == null) {
+      return null;
+    }
+    ErrorContext.instance().sql(multiRowSql);
+    final PreparedStatement multiRowStatement = connection.prepareStatement(multiRowSql);
+    try {
+      Integer queryTimeout = ms.getTimeout() != null ? ms.getTimeout() : configuration.getDefaultStatementTimeout();
+      if (queryTimeout != null) {
+        multiRowStatement.setQueryTimeout(queryTimeout);
+      }
+      StatementUtil.applyTransactionTimeout(multiRowStatement, queryTimeout, transaction.getTimeout());
+    } catch (SQLException e) {
+      closeStatement(multiRowStatement);
+      throw e;
+    }
+    return new MultiRowInsert(bindingPlan, multiRowStatement, rowsPerStatement);
+  }
+
+  @Override
+  public List<List<Object>> queryMultiple(List<MappedStatement> mappedStatements, List<Object> parameters) throws SQLException {
+    flushStatements();
+    return super.queryMultiple(mappedStatements, parameters);
+  }
+
   @Override
   public <E> List<E> doQuery(MappedStatement ms, Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql)
       throws SQLException {
@@ -110,17 +321,39 @@ public class BatchExecutor extends BaseExecutor {
 
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
+    if (isRollback) {
+      flushedResultList.clear();
+      closeStatements();
+      return Collections.emptyList();
+    }
+    List<BatchResult> results = executeStatements();
+    if (!flushedResultList.isEmpty()) {
+      results.addAll(0, flushedResultList);
+      flushedResultList.clear();
+    }
+    return results;
+  }
+
+  /**
+   * Executes the pending statements.
+   *
+   * @return the results not passed to the batch result handler
+   */
+  private List<BatchResult> executeStatements() throws SQLException {
     try {
       List<BatchResult> results = new ArrayList<>();
-      if (isRollback) {
-        return Collections.emptyList();
-      }
       for (int i = 0, n = statementList.size(); i < n; i++) {
         Statement stmt = statementList.get(i);
         applyTransactionTimeout(stmt);
         BatchResult batchResult = batchResultList.get(i);
+        MultiRowInsert multiRowInsert = multiRowInsertList.get(i);
         try {
-          batchResult.setUpdateCounts(stmt.executeBatch());
+          if (multiRowInsert != null) {
+            applyTransactionTimeout(multiRowInsert.getMultiRowStatement());
+            batchResult.setUpdateCounts(multiRowInsert.executeBatch((PreparedStatement) stmt));
+          } else {
+            batchResult.setUpdateCounts(stmt.executeBatch());
+          }
           MappedStatement ms = batchResult.getMappedStatement();
           List<Object> parameterObjects = batchResult.getParameterObjects();
           KeyGenerator keyGenerator = ms.getKeyGenerator();
@@ -148,17 +381,37 @@ public class BatchExecutor extends BaseExecutor {
           }
           throw new BatchExecutorException(message.toString(), e, results, batchResult);
         }
-        results.add(batchResult);
+        if (batchResultHandler != null) {
+          batchResultHandler.handleBatchResult(batchResult);
+        } else {
+          results.add(batchResult);
+        }
       }
       return results;
     } finally {
-      for (Statement stmt : statementList) {
-        closeStatement(stmt);
+      closeStatements();
+    }
+  }
+
+  private void closeStatements() {
+    for (Statement stmt : statementList) {
+      closeStatement(stmt);
+    }
+    for (MultiRowInsert multiRowInsert : multiRowInsertList) {
+      if (multiRowInsert != null) {
+        closeStatement(multiRowInsert.getMultiRowStatement());
       }
-      currentSql = null;
-      statementList.clear();
-      batchResultList.clear();
     }
+    currentSql = null;
+    statementList.clear();
+    batchResultList.clear();
+    bindingPlanList.clear();
+    multiRowInsertList.clear();
+    tableList.clear();
+    statementIndexes.clear();
+    reorderBlockedStatements.clear();
+    pendingRows = 0;
+    pendingBytes = 0;
   }
 
 }
@@ -0,0 +1,33 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+/**
+ * Receives the result of each batched statement executed by a {@link BatchExecutor}, whether the statements are
+ * flushed explicitly or because a flush threshold was reached.
+ * <p>
+ * A result passed to this handler is not kept by the executor and is not returned by
+ * {@link Executor#flushStatements()}, so a bulk load does not hold its parameter objects until the end.
+ *
+ * @since 3.5.5
+ * @see org.apache.ibatis.session.SqlSession#setBatchResultHandler(BatchResultHandler)
+ */
+@FunctionalInterface
+public interface BatchResultHandler {
+
+  void handleBatchResult(BatchResult batchResult);
+
+}
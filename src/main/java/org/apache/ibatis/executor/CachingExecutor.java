@@ -16,18 +16,24 @@
 package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.CacheTagVersions;
 import org.apache.ibatis.cache.TransactionalCacheManager;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.parsing.GenericTokenParser;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
@@ -72,13 +78,13 @@ public class CachingExecutor implements Executor {
 
   @Override
   public int update(MappedStatement ms, Object parameterObject) throws SQLException {
-    flushCacheIfRequired(ms);
+    flushCacheIfRequired(ms, parameterObject);
     return delegate.update(ms, parameterObject);
   }
 
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
-    flushCacheIfRequired(ms);
+    flushCacheIfRequired(ms, parameter);
     return delegate.queryCursor(ms, parameter, rowBounds);
   }
 
@@ -94,21 +100,67 @@ public class CachingExecutor implements Executor {
       throws SQLException {
     Cache cache = ms.getCache();
     if (cache != null) {
-      flushCacheIfRequired(ms);
+      flushCacheIfRequired(ms, parameterObject);
       if (ms.isUseCache() && resultHandler == null) {
         ensureNoOutParams(ms, boundSql);
-        @SuppressWarnings("unchecked")
-        List<E> list = (List<E>) tcm.getObject(cache, key);
-        if (list == null) {
-          list = delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
-          tcm.putObject(cache, key, list); // issue #578 and #116
+        CacheKey taggedKey = tagCacheKey(ms, parameterObject, key);
+        if (taggedKey != null) {
+          @SuppressWarnings("unchecked")
+          List<E> list = (List<E>) tcm.getObject(cache, taggedKey);
+          if (list == null) {
+            list = delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
+            tcm.putObject(cache, taggedKey, list); // issue #578 and #116
+          }
+          return list;
         }
-        return list;
       }
     }
     return delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public List<List<Object>> queryMultiple(List<MappedStatement> mappedStatements, List<Object> parameters) throws SQLException {
+    final int size = mappedStatements.size();
+    final List<List<Object>> results = new ArrayList<>(Collections.nCopies(size, null));
+    final CacheKey[] keys = new CacheKey[size];
+    final List<MappedStatement> uncachedStatements = new ArrayList<>(size);
+    final List<Object> uncachedParameters = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      final MappedStatement ms = mappedStatements.get(i);
+      final Object parameterObject = parameters.get(i);
+      final Cache cache = ms.getCache();
+      if (cache != null) {
+        flushCacheIfRequired(ms, parameterObject);
+        if (ms.isUseCache()) {
+          final BoundSql boundSql = ms.getBoundSql(parameterObject);
+          ensureNoOutParams(ms, boundSql);
+          keys[i] = tagCacheKey(ms, parameterObject, createCacheKey(ms, parameterObject, RowBounds.DEFAULT, boundSql));
+          if (keys[i] != null) {
+            results.set(i, (List<Object>) tcm.getObject(cache, keys[i]));
+          }
+        }
+      }
+      if (results.get(i) == null) {
+        uncachedStatements.add(ms);
+        uncachedParameters.add(parameterObject);
+      }
+    }
+    if (!uncachedStatements.isEmpty()) {
+      final List<List<Object>> uncachedResults = delegate.queryMultiple(uncachedStatements, uncachedParameters);
+      for (int i = 0, j = 0; i < size; i++) {
+        if (results.get(i) == null) {
+          final List<Object> list = uncachedResults.get(j++);
+          if (keys[i] != null) {
+            tcm.putObject(mappedStatements.get(i).getCache(), keys[i], list); // issue #578 and #116
+          }
+          results.set(i, list);
+        }
+      }
+    }
+    return results;
+  }
+
   @Override
   public List<BatchResult> flushStatements() throws SQLException {
     return delegate.flushStatements();
@@ -161,11 +213,88 @@ public class CachingExecutor implements Executor {
     delegate.clearLocalCache();
   }
 
-  private void flushCacheIfRequired(MappedStatement ms) {
+  private void flushCacheIfRequired(MappedStatement ms, Object parameterObject) {
     Cache cache = ms.getCache();
     if (cache != null && ms.isFlushCacheRequired()) {
       tcm.clear(cache);
     }
+    if (ms.getCacheTags() != null && ms.getSqlCommandType() != SqlCommandType.SELECT) {
+      CacheTagVersions tagVersions = ms.getConfiguration().getCacheTagVersions();
+      for (String tag : resolveCacheTags(ms, parameterObject)) {
+        tcm.invalidate(tagVersions, tag);
+      }
+      if (cache != null) {
+        // the queries of the namespace that have no tags depend on any change
+        tcm.invalidate(tagVersions, cache.getId());
+      }
+    }
+  }
+
+  /**
+   * Returns the key of a query in the second level cache, that is its key updated with the versions of the cache tags
+   * it depends on. A query without tags depends on the namespace of its cache.
+   *
+   * @return the key, or null if this session invalidated one of the tags and has not committed yet
+   */
+  private CacheKey tagCacheKey(MappedStatement ms, Object parameterObject, CacheKey key) {
+    Cache cache = ms.getCache();
+    CacheTagVersions tagVersions = ms.getConfiguration().getCacheTagVersions();
+    if (!tagVersions.hasCache(cache)) {
+      // no statement with cache tags uses this cache
+      return key;
+    }
+    List<String> tags = ms.getCacheTags() == null
+        ? Collections.singletonList(cache.getId()) : resolveCacheTags(ms, parameterObject);
+    for (String tag : tags) {
+      if (tcm.isInvalidated(tag)) {
+        return null;
+      }
+    }
+    CacheKey taggedKey;
+    try {
+      taggedKey = key.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new ExecutorException("Error cloning cache key.  Cause: " + e, e);
+    }
+    for (String tag : tags) {
+      taggedKey.update(tagVersions.getVersion(cache, tag));
+    }
+    return taggedKey;
+  }
+
+  private List<String> resolveCacheTags(MappedStatement ms, Object parameterObject) {
+    String[] cacheTags = ms.getCacheTags();
+    List<String> tags = new ArrayList<>(cacheTags.length);
+    for (String cacheTag : cacheTags) {
+      if (cacheTag.contains("#{")) {
+        GenericTokenParser parser = new GenericTokenParser("#{", "}",
+            property -> String.valueOf(getParameterValue(ms.getConfiguration(), parameterObject, property.trim())));
+        tags.add(parser.parse(cacheTag));
+      } else {
+        tags.add(cacheTag);
+      }
+    }
+    return tags;
+  }
+
+  private Object getParameterValue(Configuration configuration, Object parameterObject, String property) {
+    if (parameterObject == null) {
+      return null;
+    } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+      return parameterObject;
+    } else {
+      return configuration.newMetaObject(parameterObject).getValue(property);
+    }
+  }
+
+  @Override
+  public void setBatchResultHandler(BatchResultHandler batchResultHandler) {
+    delegate.setBatchResultHandler(batchResultHandler);
+  }
+
+  @Override
+  public LocalCacheStatistics getLocalCacheStatistics() {
+    return delegate.getLocalCacheStatistics();
   }
 
   @Override
@@ -16,6 +16,7 @@
 package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.ibatis.cache.CacheKey;
@@ -42,6 +43,26 @@ public interface Executor {
 
   <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException;
 
+  /**
+   * Runs several independent queries. Executors may send them to the database together.
+   *
+   * @param mappedStatements
+   *          the select statements
+   * @param parameters
+   *          the parameter of each statement
+   * @return the results of each statement, in the same order
+   * @throws SQLException
+   *           if a database access error occurs
+   * @since 3.5.5
+   */
+  default List<List<Object>> queryMultiple(List<MappedStatement> mappedStatements, List<Object> parameters) throws SQLException {
+    List<List<Object>> results = new ArrayList<>(mappedStatements.size());
+    for (int i = 0; i < mappedStatements.size(); i++) {
+      results.add(query(mappedStatements.get(i), parameters.get(i), RowBounds.DEFAULT, NO_RESULT_HANDLER));
+    }
+    return results;
+  }
+
   List<BatchResult> flushStatements() throws SQLException;
 
   void commit(boolean required) throws SQLException;
@@ -64,4 +85,26 @@ public interface Executor {
 
   void setExecutorWrapper(Executor executor);
 
+  /**
+   * Sets the handler receiving the results of the flushed batch statements. Ignored by executors that do not batch
+   * statements.
+   *
+   * @param batchResultHandler
+   *          the handler, or null to return the results from {@link #flushStatements()}
+   * @since 3.5.5
+   */
+  default void setBatchResultHandler(BatchResultHandler batchResultHandler) {
+    // statements are not batched
+  }
+
+  /**
+   * Returns the hit, miss and eviction counts of the local cache.
+   *
+   * @return the statistics, empty for executors without a local cache
+   * @since 3.5.5
+   */
+  default LocalCacheStatistics getLocalCacheStatistics() {
+    return LocalCacheStatistics.EMPTY;
+  }
+
 }
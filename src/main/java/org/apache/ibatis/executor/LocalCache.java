@@ -0,0 +1,181 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.apache.ibatis.executor.ExecutionPlaceholder.EXECUTION_PLACEHOLDER;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.session.LocalCacheEviction;
+
+/**
+ * The first level cache of an executor.
+ * <p>
+ * It can be bounded by a number of entries and by a number of cached objects, the weight of an entry being the size of
+ * its result list. The bounds are applied by {@link #evictExcess()} once the outermost query of the executor completes,
+ * so that the entries needed to resolve circular references and deferred loads are kept until then.
+ *
+ * @since 3.5.5
+ */
+public class LocalCache extends PerpetualCache {
+
+  private final int maxSize;
+  private final long maxObjects;
+  private final Map<Object, Integer> weights;
+  private long totalWeight;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Creates an unbounded local cache.
+   *
+   * @param id
+   *          the cache id
+   */
+  public LocalCache(String id) {
+    this(id, LocalCacheEviction.LRU, 0, 0);
+  }
+
+  /**
+   * Creates a local cache.
+   *
+   * @param id
+   *          the cache id
+   * @param eviction
+   *          the eviction policy
+   * @param maxSize
+   *          the maximum number of entries, or 0 for no limit
+   * @param maxObjects
+   *          the maximum number of objects in the cached lists, or 0 for no limit
+   */
+  public LocalCache(String id, LocalCacheEviction eviction, int maxSize, long maxObjects) {
+    super(id);
+    this.maxSize = maxSize;
+    this.maxObjects = maxObjects;
+    this.weights = isBounded() ? new LinkedHashMap<>(16, .75F, eviction == LocalCacheEviction.LRU) : null;
+  }
+
+  public boolean isBounded() {
+    return maxSize > 0 || maxObjects > 0;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    super.putObject(key, value);
+    if (weights != null) {
+      final int weight = weigh(value);
+      final Integer previous = weights.put(key, weight);
+      totalWeight += weight - (previous == null ? 0 : previous);
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    if (weights != null) {
+      weights.get(key); // touch
+    }
+    return super.getObject(key);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    if (weights != null) {
+      final Integer weight = weights.remove(key);
+      if (weight != null) {
+        totalWeight -= weight;
+      }
+    }
+    return super.removeObject(key);
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    if (weights != null) {
+      weights.clear();
+      totalWeight = 0;
+    }
+  }
+
+  /**
+   * Removes the eldest entries until the cache is within its bounds. Entries of queries still in progress are kept.
+   */
+  public void evictExcess() {
+    if (weights == null) {
+      return;
+    }
+    final Iterator<Map.Entry<Object, Integer>> iterator = weights.entrySet().iterator();
+    while (isOverLimit() && iterator.hasNext()) {
+      final Map.Entry<Object, Integer> entry = iterator.next();
+      final Object key = entry.getKey();
+      if (super.getObject(key) != EXECUTION_PLACEHOLDER) {
+        iterator.remove();
+        totalWeight -= entry.getValue();
+        super.removeObject(key);
+        evictionCount++;
+      }
+    }
+  }
+
+  /**
+   * Records the result of a query lookup.
+   *
+   * @param hit
+   *          true if the result was found in the cache
+   */
+  public void recordLookup(boolean hit) {
+    if (hit) {
+      hitCount++;
+    } else {
+      missCount++;
+    }
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public double getHitRatio() {
+    final long requests = hitCount + missCount;
+    return requests == 0 ? 0 : (double) hitCount / requests;
+  }
+
+  public LocalCacheStatistics getStatistics() {
+    return new LocalCacheStatistics(hitCount, missCount, evictionCount);
+  }
+
+  private boolean isOverLimit() {
+    return maxSize > 0 && weights.size() > maxSize || maxObjects > 0 && totalWeight > maxObjects;
+  }
+
+  private static int weigh(Object value) {
+    return value instanceof Collection ? Math.max(1, ((Collection<?>) value).size()) : 1;
+  }
+
+}
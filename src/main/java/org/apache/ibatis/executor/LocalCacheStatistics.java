@@ -0,0 +1,63 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+/**
+ * The hit, miss and eviction counts of the local cache of a session, at the time they were read.
+ *
+ * @since 3.5.5
+ * @see org.apache.ibatis.session.SqlSession#getLocalCacheStatistics()
+ */
+public class LocalCacheStatistics {
+
+  /**
+   * The statistics of a session without queries.
+   */
+  public static final LocalCacheStatistics EMPTY = new LocalCacheStatistics(0, 0, 0);
+
+  private final long hitCount;
+  private final long missCount;
+  private final long evictionCount;
+
+  public LocalCacheStatistics(long hitCount, long missCount, long evictionCount) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public double getHitRatio() {
+    final long requests = hitCount + missCount;
+    return requests == 0 ? 0 : (double) hitCount / requests;
+  }
+
+  @Override
+  public String toString() {
+    return "hits: " + hitCount + ", misses: " + missCount + ", evictions: " + evictionCount;
+  }
+
+}
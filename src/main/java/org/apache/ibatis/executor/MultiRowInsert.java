@@ -0,0 +1,221 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.apache.ibatis.mapping.BoundSql;
+
+/**
+ * Batches the rows of a single row {@code INSERT ... VALUES (...)} statement into a multi-row
+ * {@code INSERT ... VALUES (...), (...)} statement binding a fixed number of rows.
+ * <p>
+ * The parameter values of each row are read when the row is added. Every time enough rows have been added, they are
+ * bound to the multi-row statement which is added to its batch. The remaining rows are executed with the single row
+ * statement.
+ */
+final class MultiRowInsert {
+
+  private final ParameterBindingPlan bindingPlan;
+  private final PreparedStatement multiRowStatement;
+  private final int rowsPerStatement;
+  private final int parameterCount;
+  private final Object[] values;
+  private int pendingRows;
+  private int batchedStatements;
+
+  MultiRowInsert(ParameterBindingPlan bindingPlan, PreparedStatement multiRowStatement, int rowsPerStatement) {
+    this.bindingPlan = bindingPlan;
+    this.multiRowStatement = multiRowStatement;
+    this.rowsPerStatement = rowsPerStatement;
+    this.parameterCount = bindingPlan.getParameterCount();
+    this.values = new Object[rowsPerStatement * parameterCount];
+  }
+
+  ParameterBindingPlan getBindingPlan() {
+    return bindingPlan;
+  }
+
+  PreparedStatement getMultiRowStatement() {
+    return multiRowStatement;
+  }
+
+  /**
+   * Adds a row.
+   *
+   * @return the approximate size of the parameter values of the row
+   */
+  long addRow(BoundSql boundSql, Object parameterObject) throws SQLException {
+    final long size = bindingPlan.readValues(boundSql, parameterObject, values, pendingRows * parameterCount);
+    pendingRows++;
+    if (pendingRows == rowsPerStatement) {
+      for (int row = 0; row < rowsPerStatement; row++) {
+        bindingPlan.bindValues(multiRowStatement, values, row * parameterCount, row * parameterCount);
+      }
+      multiRowStatement.addBatch();
+      batchedStatements++;
+      clearPendingRows();
+    }
+    return size;
+  }
+
+  /**
+   * Executes the batched multi-row statements, then the remaining rows with the single row statement.
+   *
+   * @param singleRowStatement
+   *          the statement inserting one row
+   * @return the update count of each row, {@link Statement#SUCCESS_NO_INFO} for the rows of a multi-row statement
+   *         which did not report one row per tuple
+   * @throws SQLException
+   *           if executing a batch fails
+   */
+  int[] executeBatch(PreparedStatement singleRowStatement) throws SQLException {
+    final int[] updateCounts = new int[batchedStatements * rowsPerStatement + pendingRows];
+    if (batchedStatements > 0) {
+      final int[] statementCounts = multiRowStatement.executeBatch();
+      for (int i = 0; i < batchedStatements; i++) {
+        final int count = i < statementCounts.length ? statementCounts[i] : Statement.SUCCESS_NO_INFO;
+        Arrays.fill(updateCounts, i * rowsPerStatement, (i + 1) * rowsPerStatement,
+            count == rowsPerStatement ? 1 : Statement.SUCCESS_NO_INFO);
+      }
+    }
+    if (pendingRows > 0) {
+      for (int row = 0; row < pendingRows; row++) {
+        bindingPlan.bindValues(singleRowStatement, values, row * parameterCount, 0);
+        singleRowStatement.addBatch();
+      }
+      final int[] rowCounts = singleRowStatement.executeBatch();
+      System.arraycopy(rowCounts, 0, updateCounts, batchedStatements * rowsPerStatement, Math.min(rowCounts.length, pendingRows));
+      clearPendingRows();
+    }
+    batchedStatements = 0;
+    return updateCounts;
+  }
+
+  private void clearPendingRows() {
+    Arrays.fill(values, 0, pendingRows * parameterCount, null);
+    pendingRows = 0;
+  }
+
+  /**
+   * Rewrites a single row insert statement into a statement inserting several rows.
+   *
+   * @param sql
+   *          the single row statement
+   * @param parameterCount
+   *          the number of parameters of the statement
+   * @param rows
+   *          the number of rows of the new statement
+   * @return the multi-row statement, or null if the statement is not a plain {@code INSERT ... VALUES (...)} with all
+   *         the parameters in the values
+   */
+  static String rewrite(String sql, int parameterCount, int rows) {
+    final int valuesStart = findValues(sql);
+    if (valuesStart < 0) {
+      return null;
+    }
+    final int tupleStart = skipWhitespace(sql, valuesStart + "values".length());
+    if (tupleStart >= sql.length() || sql.charAt(tupleStart) != '(') {
+      return null;
+    }
+    final int tupleEnd = findTupleEnd(sql, tupleStart);
+    if (tupleEnd < 0 || skipWhitespace(sql, tupleEnd + 1) != sql.length()
+        || countParameters(sql, tupleStart, tupleEnd) != parameterCount || countParameters(sql, 0, sql.length()) != parameterCount) {
+      return null;
+    }
+    final String tuple = sql.substring(tupleStart, tupleEnd + 1);
+    final StringBuilder multiRowSql = new StringBuilder(tupleStart + (tuple.length() + 2) * rows);
+    multiRowSql.append(sql, 0, tupleStart).append(tuple);
+    for (int i = 1; i < rows; i++) {
+      multiRowSql.append(", ").append(tuple);
+    }
+    return multiRowSql.toString();
+  }
+
+  private static int findValues(String sql) {
+    final int start = skipWhitespace(sql, 0);
+    if (!sql.regionMatches(true, start, "insert", 0, "insert".length())) {
+      return -1;
+    }
+    // the last VALUES keyword outside of quotes
+    int values = -1;
+    char quote = 0;
+    for (int i = start; i < sql.length(); i++) {
+      final char c = sql.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '\'' || c == '"' || c == '`') {
+        quote = c;
+      } else if ((c == 'v' || c == 'V') && sql.regionMatches(true, i, "values", 0, "values".length())
+          && (i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1)))
+          && (i + 6 == sql.length() || !Character.isJavaIdentifierPart(sql.charAt(i + 6)))) {
+        values = i;
+      }
+    }
+    return quote == 0 ? values : -1;
+  }
+
+  private static int findTupleEnd(String sql, int tupleStart) {
+    int depth = 0;
+    char quote = 0;
+    for (int i = tupleStart; i < sql.length(); i++) {
+      final char c = sql.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '\'' || c == '"' || c == '`') {
+        quote = c;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int countParameters(String sql, int start, int end) {
+    int count = 0;
+    char quote = 0;
+    for (int i = start; i < end; i++) {
+      final char c = sql.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '\'' || c == '"' || c == '`') {
+        quote = c;
+      } else if (c == '?') {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static int skipWhitespace(String sql, int index) {
+    while (index < sql.length() && Character.isWhitespace(sql.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
+}
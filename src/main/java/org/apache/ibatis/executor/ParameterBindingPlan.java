@@ -0,0 +1,271 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeException;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * The parameter bindings of a batched statement, resolved once for a parameter type and a list of parameter mappings.
+ * <p>
+ * Binds the same values as {@link DefaultParameterHandler}, but the way each value is read from the parameter object
+ * (whole object, map entry or getter {@link Invoker}) is decided once instead of creating a {@link MetaObject} for
+ * every parameter mapping of every row.
+ */
+final class ParameterBindingPlan {
+
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+
+  private final MappedStatement mappedStatement;
+  private final Configuration configuration;
+  private final List<ParameterMapping> parameterMappings;
+  private final Class<?> parameterType;
+  private final boolean simpleParameter;
+  private final boolean mapParameter;
+  private final String[] properties;
+  private final Invoker[] getters;
+  private final TypeHandler<?>[] typeHandlers;
+  private final JdbcType[] jdbcTypes;
+  private final boolean[] outParameters;
+
+  private ParameterBindingPlan(MappedStatement mappedStatement, List<ParameterMapping> parameterMappings, Object parameterObject) {
+    this.mappedStatement = mappedStatement;
+    this.configuration = mappedStatement.getConfiguration();
+    this.parameterMappings = parameterMappings;
+    this.parameterType = parameterObject == null ? null : parameterObject.getClass();
+    this.simpleParameter = parameterType != null && configuration.getTypeHandlerRegistry().hasTypeHandler(parameterType);
+    final boolean defaultWrappers = configuration.getObjectWrapperFactory().getClass() == DefaultObjectWrapperFactory.class;
+    this.mapParameter = defaultWrappers && parameterObject instanceof Map;
+    final Reflector reflector = parameterType == null || simpleParameter || !defaultWrappers || mapParameter
+        || parameterObject instanceof Collection ? null : configuration.getReflectorFactory().findForClass(parameterType);
+    final int size = parameterMappings.size();
+    this.properties = new String[size];
+    this.getters = new Invoker[size];
+    this.typeHandlers = new TypeHandler<?>[size];
+    this.jdbcTypes = new JdbcType[size];
+    this.outParameters = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      final ParameterMapping parameterMapping = parameterMappings.get(i);
+      final String property = parameterMapping.getProperty();
+      properties[i] = property;
+      typeHandlers[i] = parameterMapping.getTypeHandler();
+      jdbcTypes[i] = parameterMapping.getJdbcType();
+      outParameters[i] = parameterMapping.getMode() == ParameterMode.OUT;
+      if (reflector != null && isSimpleProperty(property) && reflector.hasGetter(property)) {
+        getters[i] = reflector.getGetInvoker(property);
+      }
+    }
+  }
+
+  static ParameterBindingPlan create(MappedStatement mappedStatement, BoundSql boundSql, Object parameterObject) {
+    final List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    return parameterMappings == null ? null : new ParameterBindingPlan(mappedStatement, parameterMappings, parameterObject);
+  }
+
+  /**
+   * Returns whether this plan can bind the parameters of another row.
+   * Dynamic statements build a new list of parameter mappings for each row, even when the SQL is the same.
+   */
+  boolean matches(BoundSql boundSql, Object parameterObject) {
+    if (parameterObject != null && parameterObject.getClass() != parameterType) {
+      return false;
+    }
+    final List<ParameterMapping> other = boundSql.getParameterMappings();
+    if (other == parameterMappings) {
+      return true;
+    }
+    if (other == null || other.size() != properties.length) {
+      return false;
+    }
+    for (int i = 0; i < properties.length; i++) {
+      final ParameterMapping parameterMapping = other.get(i);
+      if (!properties[i].equals(parameterMapping.getProperty()) || typeHandlers[i] != parameterMapping.getTypeHandler()
+          || jdbcTypes[i] != parameterMapping.getJdbcType() || outParameters[i] != (parameterMapping.getMode() == ParameterMode.OUT)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  MappedStatement getMappedStatement() {
+    return mappedStatement;
+  }
+
+  int getParameterCount() {
+    return properties.length;
+  }
+
+  boolean hasOutParameters() {
+    for (boolean outParameter : outParameters) {
+      if (outParameter) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Sets the parameters of a row, like {@link DefaultParameterHandler#setParameters(PreparedStatement)}.
+   *
+   * @return the approximate size of the parameter values
+   */
+  long bind(PreparedStatement ps, BoundSql boundSql, Object parameterObject) {
+    ErrorContext.instance().activity("setting parameters").object(mappedStatement.getParameterMap().getId());
+    long size = 0;
+    for (int i = 0; i < properties.length; i++) {
+      if (!outParameters[i]) {
+        final Object value = getValue(boundSql, parameterObject, i);
+        size += estimateSize(value);
+        setParameter(ps, i + 1, i, value);
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Reads the parameter values of a row, so that they can be bound later with {@link #bindValues}.
+   *
+   * @return the approximate size of the parameter values
+   */
+  long readValues(BoundSql boundSql, Object parameterObject, Object[] values, int offset) {
+    long size = 0;
+    for (int i = 0; i < properties.length; i++) {
+      final Object value = getValue(boundSql, parameterObject, i);
+      size += estimateSize(value);
+      values[offset + i] = value;
+    }
+    return size;
+  }
+
+  /**
+   * Sets parameter values read by {@link #readValues}.
+   *
+   * @param ps
+   *          the statement
+   * @param values
+   *          the buffer holding the parameter values
+   * @param offset
+   *          the index of the first value of the row in the buffer
+   * @param parameterOffset
+   *          the number of statement parameters before the parameters of the row
+   */
+  void bindValues(PreparedStatement ps, Object[] values, int offset, int parameterOffset) {
+    ErrorContext.instance().activity("setting parameters").object(mappedStatement.getParameterMap().getId());
+    for (int i = 0; i < properties.length; i++) {
+      setParameter(ps, parameterOffset + i + 1, i, values[offset + i]);
+    }
+  }
+
+  private Object getValue(BoundSql boundSql, Object parameterObject, int i) {
+    final String property = properties[i];
+    if (boundSql.hasAdditionalParameter(property)) { // issue #448 ask first for additional params
+      return boundSql.getAdditionalParameter(property);
+    } else if (parameterObject == null) {
+      return null;
+    } else if (simpleParameter) {
+      return parameterObject;
+    } else if (mapParameter && isSimpleProperty(property)) {
+      return ((Map<?, ?>) parameterObject).get(property);
+    } else if (getters[i] != null) {
+      return getProperty(parameterObject, i);
+    } else {
+      // nested properties and custom object wrappers
+      MetaObject metaObject = configuration.newMetaObject(parameterObject);
+      return metaObject.getValue(property);
+    }
+  }
+
+  private Object getProperty(Object parameterObject, int i) {
+    try {
+      try {
+        return getters[i].invoke(parameterObject, NO_ARGUMENTS);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new ReflectionException("Could not get property '" + properties[i] + "' from " + parameterObject.getClass() + ".  Cause: " + t.toString(), t);
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private void setParameter(PreparedStatement ps, int parameterIndex, int i, Object value) {
+    JdbcType jdbcType = jdbcTypes[i];
+    if (value == null && jdbcType == null) {
+      jdbcType = configuration.getJdbcTypeForNull();
+    }
+    try {
+      ((TypeHandler) typeHandlers[i]).setParameter(ps, parameterIndex, value, jdbcType);
+    } catch (TypeException | SQLException e) {
+      throw new TypeException("Could not set parameters for mapping: " + parameterMappings.get(i) + ". Cause: " + e, e);
+    }
+  }
+
+  /**
+   * Estimates the size of the parameter values of a row bound by another parameter handler.
+   */
+  static long estimateSize(MappedStatement mappedStatement, BoundSql boundSql, Object parameterObject) {
+    final ParameterBindingPlan plan = create(mappedStatement, boundSql, parameterObject);
+    long size = 0;
+    if (plan != null) {
+      for (int i = 0; i < plan.properties.length; i++) {
+        if (!plan.outParameters[i]) {
+          size += estimateSize(plan.getValue(boundSql, parameterObject, i));
+        }
+      }
+    }
+    return size;
+  }
+
+  private static long estimateSize(Object value) {
+    if (value == null) {
+      return 0;
+    } else if (value instanceof CharSequence) {
+      return 2L * ((CharSequence) value).length();
+    } else if (value instanceof byte[]) {
+      return ((byte[]) value).length;
+    } else if (value instanceof char[]) {
+      return 2L * ((char[]) value).length;
+    }
+    // numbers, dates and other small values
+    return 8;
+  }
+
+  private static boolean isSimpleProperty(String property) {
+    return property.indexOf('.') < 0 && property.indexOf('[') < 0;
+  }
+
+}
@@ -33,10 +33,16 @@ import java.util.Set;
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.keygen.KeyAssignmentPlanCache.PlanKey;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.reflection.ArrayUtil;
+import org.apache.ibatis.reflection.ExceptionUtil;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.defaults.DefaultSqlSession.StrictMap;
 import org.apache.ibatis.type.JdbcType;
@@ -82,7 +88,7 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
       if (rsmd.getColumnCount() < keyProperties.length) {
         // Error?
       } else {
-        assignKeys(configuration, rs, rsmd, keyProperties, parameter);
+        assignKeys(configuration, ms, rs, rsmd, keyProperties, parameter);
       }
     } catch (Exception e) {
       throw new ExecutorException("Error getting generated key or setting result to parameter object. Cause: " + e, e);
@@ -90,8 +96,8 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
   }
 
   @SuppressWarnings("unchecked")
-  private void assignKeys(Configuration configuration, ResultSet rs, ResultSetMetaData rsmd, String[] keyProperties,
-      Object parameter) throws SQLException {
+  private void assignKeys(Configuration configuration, MappedStatement ms, ResultSet rs, ResultSetMetaData rsmd,
+      String[] keyProperties, Object parameter) throws SQLException {
     if (parameter instanceof ParamMap || parameter instanceof StrictMap) {
       // Multi-param or single param with @Param
       assignKeysToParamMap(configuration, rs, rsmd, keyProperties, (Map<String, ?>) parameter);
@@ -101,20 +107,17 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
       assignKeysToParamMapList(configuration, rs, rsmd, keyProperties, (ArrayList<ParamMap<?>>) parameter);
     } else {
       // Single param without @Param
-      assignKeysToParam(configuration, rs, rsmd, keyProperties, parameter);
+      assignKeysToParam(configuration, ms, rs, rsmd, keyProperties, parameter);
     }
   }
 
-  private void assignKeysToParam(Configuration configuration, ResultSet rs, ResultSetMetaData rsmd,
+  private void assignKeysToParam(Configuration configuration, MappedStatement ms, ResultSet rs, ResultSetMetaData rsmd,
       String[] keyProperties, Object parameter) throws SQLException {
     Collection<?> params = collectionize(parameter);
     if (params.isEmpty()) {
       return;
     }
-    List<KeyAssigner> assignerList = new ArrayList<>();
-    for (int i = 0; i < keyProperties.length; i++) {
-      assignerList.add(new KeyAssigner(configuration, rsmd, i + 1, null, keyProperties[i]));
-    }
+    List<KeyAssigner> assignerList = getAssignersForParam(configuration, ms, rsmd, keyProperties, params.iterator().next());
     Iterator<?> iterator = params.iterator();
     while (rs.next()) {
       if (!iterator.hasNext()) {
@@ -125,6 +128,37 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
     }
   }
 
+  private List<KeyAssigner> getAssignersForParam(Configuration configuration, MappedStatement ms,
+      ResultSetMetaData rsmd, String[] keyProperties, Object firstParam) throws SQLException {
+    // the setter types of maps and custom wrappers may depend on the parameter object
+    final KeyAssignmentPlanCache planCache = configuration.getKeyAssignmentPlanCache();
+    final boolean cacheable = firstParam != null && !(firstParam instanceof Map)
+        && !configuration.getObjectWrapperFactory().hasWrapperFor(firstParam);
+    PlanKey planKey = null;
+    if (cacheable) {
+      int[] columnTypes = new int[keyProperties.length];
+      for (int i = 0; i < keyProperties.length; i++) {
+        columnTypes[i] = rsmd.getColumnType(i + 1);
+      }
+      planKey = new PlanKey(ms.getId(), firstParam.getClass(), columnTypes);
+      List<KeyAssigner> plan = planCache.get(planKey);
+      if (plan != null) {
+        return plan;
+      }
+    }
+    List<KeyAssigner> assignerList = new ArrayList<>();
+    for (int i = 0; i < keyProperties.length; i++) {
+      assignerList.add(new KeyAssigner(configuration, rsmd, i + 1, null, keyProperties[i]));
+    }
+    if (cacheable) {
+      for (KeyAssigner assigner : assignerList) {
+        assigner.resolve(firstParam);
+      }
+      planCache.put(planKey, assignerList);
+    }
+    return assignerList;
+  }
+
   private void assignKeysToParamMapList(Configuration configuration, ResultSet rs, ResultSetMetaData rsmd,
       String[] keyProperties, ArrayList<ParamMap<?>> paramMapList) throws SQLException {
     Iterator<ParamMap<?>> iterator = paramMapList.iterator();
@@ -232,14 +266,17 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
     return new AbstractMap.SimpleImmutableEntry<>(key, value);
   }
 
-  private class KeyAssigner {
+  static class KeyAssigner {
     private final Configuration configuration;
-    private final ResultSetMetaData rsmd;
     private final TypeHandlerRegistry typeHandlerRegistry;
     private final int columnPosition;
     private final String paramName;
     private final String propertyName;
+    private ResultSetMetaData rsmd;
+    private boolean resolved;
     private TypeHandler<?> typeHandler;
+    private Class<?> paramType;
+    private Invoker setter;
 
     protected KeyAssigner(Configuration configuration, ResultSetMetaData rsmd, int columnPosition, String paramName,
         String propertyName) {
@@ -257,28 +294,63 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
         // If paramName is set, param is ParamMap
         param = ((ParamMap<?>) param).get(paramName);
       }
-      MetaObject metaParam = configuration.newMetaObject(param);
       try {
-        if (typeHandler == null) {
-          if (metaParam.hasSetter(propertyName)) {
-            Class<?> propertyType = metaParam.getSetterType(propertyName);
-            typeHandler = typeHandlerRegistry.getTypeHandler(propertyType,
-                JdbcType.forCode(rsmd.getColumnType(columnPosition)));
-          } else {
-            throw new ExecutorException("No setter found for the keyProperty '" + propertyName + "' in '"
-                + metaParam.getOriginalObject().getClass().getName() + "'.");
-          }
+        if (!resolved) {
+          resolve(param);
         }
         if (typeHandler == null) {
           // Error?
+          return;
+        }
+        Object value = typeHandler.getResult(rs, columnPosition);
+        if (setter != null && param.getClass() == paramType) {
+          setProperty(param, value);
         } else {
-          Object value = typeHandler.getResult(rs, columnPosition);
-          metaParam.setValue(propertyName, value);
+          configuration.newMetaObject(param).setValue(propertyName, value);
         }
       } catch (SQLException e) {
         throw new ExecutorException("Error getting generated key or setting result to parameter object. Cause: " + e,
             e);
       }
     }
+
+    /**
+     * Resolves the type handler of the key column, and the setter of the key property when the parameter is a bean.
+     */
+    void resolve(Object param) throws SQLException {
+      MetaObject metaParam = configuration.newMetaObject(param);
+      if (!metaParam.hasSetter(propertyName)) {
+        throw new ExecutorException("No setter found for the keyProperty '" + propertyName + "' in '"
+            + metaParam.getOriginalObject().getClass().getName() + "'.");
+      }
+      Class<?> propertyType = metaParam.getSetterType(propertyName);
+      typeHandler = typeHandlerRegistry.getTypeHandler(propertyType,
+          JdbcType.forCode(rsmd.getColumnType(columnPosition)));
+      if (param != null && !(param instanceof Map) && !(param instanceof Collection)
+          && configuration.getObjectWrapperFactory().getClass() == DefaultObjectWrapperFactory.class
+          && propertyName.indexOf('.') < 0 && propertyName.indexOf('[') < 0) {
+        Reflector reflector = configuration.getReflectorFactory().findForClass(param.getClass());
+        paramType = param.getClass();
+        setter = reflector.getSetInvoker(propertyName);
+      }
+      // the metadata is not used after the resolution, and must not be retained by cached plans
+      rsmd = null;
+      resolved = true;
+    }
+
+    private void setProperty(Object param, Object value) {
+      try {
+        try {
+          setter.invoke(param, new Object[] { value });
+        } catch (Throwable t) {
+          throw ExceptionUtil.unwrapThrowable(t);
+        }
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not set property '" + propertyName + "' of '" + param.getClass()
+            + "' with value '" + value + "' Cause: " + t.toString(), t);
+      }
+    }
   }
 }
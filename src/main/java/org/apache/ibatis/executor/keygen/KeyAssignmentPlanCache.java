@@ -0,0 +1,114 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.keygen;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator.KeyAssigner;
+
+/**
+ * Bounded cache of key assignment plans shared by all the statements of a configuration.
+ * <p>
+ * A plan is the list of key assigners of a statement, with the type handler and the setter each generated key column
+ * is assigned with. It only depends on the statement, the class of the parameter objects and the JDBC types of the
+ * generated key columns, so it can be reused by every execution of the statement, and in particular by every flush of
+ * a batch. When the cache is full an arbitrary plan is evicted.
+ *
+ * @since 3.5.5
+ */
+public class KeyAssignmentPlanCache {
+
+  private final int maxSize;
+  private final ConcurrentMap<PlanKey, List<KeyAssigner>> plans = new ConcurrentHashMap<>();
+
+  public KeyAssignmentPlanCache(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("The max size of the key assignment plan cache must be positive but was " + maxSize);
+    }
+    this.maxSize = maxSize;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Gets the number of cached plans.
+   *
+   * @return the number of cached plans
+   */
+  public int size() {
+    return plans.size();
+  }
+
+  public void clear() {
+    plans.clear();
+  }
+
+  List<KeyAssigner> get(PlanKey key) {
+    return plans.get(key);
+  }
+
+  void put(PlanKey key, List<KeyAssigner> plan) {
+    if (plans.size() >= maxSize && !plans.containsKey(key)) {
+      Iterator<PlanKey> keys = plans.keySet().iterator();
+      if (keys.hasNext()) {
+        keys.next();
+        keys.remove();
+      }
+    }
+    plans.put(key, plan);
+  }
+
+  static final class PlanKey {
+    private final String statementId;
+    private final Class<?> parameterType;
+    private final int[] columnTypes;
+    private final int hashCode;
+
+    PlanKey(String statementId, Class<?> parameterType, int[] columnTypes) {
+      this.statementId = statementId;
+      this.parameterType = parameterType;
+      this.columnTypes = columnTypes;
+      this.hashCode = 31 * (31 * statementId.hashCode() + parameterType.hashCode()) + Arrays.hashCode(columnTypes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PlanKey)) {
+        return false;
+      }
+      PlanKey other = (PlanKey) o;
+      return hashCode == other.hashCode
+          && statementId.equals(other.statementId)
+          && parameterType == other.parameterType
+          && Arrays.equals(columnTypes, other.columnTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
@@ -15,11 +15,18 @@
  */
 package org.apache.ibatis.executor.keygen;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 
+import org.apache.ibatis.builder.BuilderException;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.mapping.KeyBlockMode;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.Configuration;
@@ -35,10 +42,53 @@ public class SelectKeyGenerator implements KeyGenerator {
   public static final String SELECT_KEY_SUFFIX = "!selectKey";
   private final boolean executeBefore;
   private final MappedStatement keyStatement;
+  private final int blockSize;
+  private final KeyBlockMode blockMode;
+  private final Deque<Object> allocatedKeys;
 
   public SelectKeyGenerator(MappedStatement keyStatement, boolean executeBefore) {
+    this(keyStatement, executeBefore, 1, KeyBlockMode.SEQUENCE);
+  }
+
+  /**
+   * Creates a key generator that allocates keys in blocks when {@code blockSize} is greater than 1.
+   * <p>
+   * The key statement is then run once per block, and must return the first of {@code blockSize} consecutive values
+   * (e.g. a sequence incremented by {@code blockSize}) in the {@link KeyBlockMode#SEQUENCE} mode, or exactly
+   * {@code blockSize} rows in the {@link KeyBlockMode#ROWS} mode. The keys of a block are shared by all the sessions
+   * that run the statement.
+   *
+   * @param keyStatement
+   *          the statement that selects the key
+   * @param executeBefore
+   *          whether the key is selected before the statement
+   * @param blockSize
+   *          the number of keys allocated per execution of the key statement
+   * @param blockMode
+   *          how the key statement returns the keys of a block
+   * @since 3.5.5
+   */
+  public SelectKeyGenerator(MappedStatement keyStatement, boolean executeBefore, int blockSize, KeyBlockMode blockMode) {
     this.executeBefore = executeBefore;
     this.keyStatement = keyStatement;
+    this.blockSize = blockSize;
+    this.blockMode = blockMode;
+    this.allocatedKeys = blockSize > 1 ? new ArrayDeque<>(blockSize) : null;
+    if (blockSize > 1) {
+      String[] keyProperties = keyStatement.getKeyProperties();
+      if (!executeBefore || keyProperties == null || keyProperties.length != 1) {
+        throw new BuilderException("The selectKey '" + keyStatement.getId()
+            + "' must be executed before the statement and have one key property to allocate keys in blocks.");
+      }
+    }
+  }
+
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  public KeyBlockMode getBlockMode() {
+    return blockMode;
   }
 
   @Override
@@ -61,6 +111,10 @@ public class SelectKeyGenerator implements KeyGenerator {
         String[] keyProperties = keyStatement.getKeyProperties();
         final Configuration configuration = ms.getConfiguration();
         final MetaObject metaParam = configuration.newMetaObject(parameter);
+        if (allocatedKeys != null) {
+          setValue(metaParam, keyProperties[0], nextAllocatedKey(executor, parameter));
+          return;
+        }
         // Do not close keyExecutor.
         // The transaction will be closed by parent executor.
         Executor keyExecutor = configuration.newExecutor(executor.getTransaction(), ExecutorType.SIMPLE);
@@ -91,6 +145,53 @@ public class SelectKeyGenerator implements KeyGenerator {
     }
   }
 
+  private Object nextAllocatedKey(Executor executor, Object parameter) throws SQLException {
+    synchronized (allocatedKeys) {
+      if (allocatedKeys.isEmpty()) {
+        Executor keyExecutor = keyStatement.getConfiguration().newExecutor(executor.getTransaction(), ExecutorType.SIMPLE);
+        allocateKeys(keyExecutor.query(keyStatement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER));
+      }
+      return allocatedKeys.poll();
+    }
+  }
+
+  private void allocateKeys(List<Object> values) {
+    final int expectedRows = blockMode == KeyBlockMode.ROWS ? blockSize : 1;
+    if (values.size() != expectedRows) {
+      throw new ExecutorException("SelectKey returned " + values.size() + " rows instead of " + expectedRows
+          + " to allocate a block of " + blockSize + " keys in the " + blockMode + " mode.");
+    }
+    final String keyProperty = keyStatement.getKeyProperties()[0];
+    final Configuration configuration = keyStatement.getConfiguration();
+    for (Object value : values) {
+      final MetaObject metaResult = configuration.newMetaObject(value);
+      allocatedKeys.add(metaResult.hasGetter(keyProperty) ? metaResult.getValue(keyProperty) : value);
+    }
+    if (blockMode == KeyBlockMode.SEQUENCE) {
+      // the first value of the block
+      final Object first = allocatedKeys.poll();
+      for (int i = 0; i < blockSize; i++) {
+        allocatedKeys.add(add(first, i));
+      }
+    }
+  }
+
+  private static Object add(Object value, int increment) {
+    if (value instanceof Long) {
+      return (Long) value + increment;
+    } else if (value instanceof Integer) {
+      return (Integer) value + increment;
+    } else if (value instanceof Short) {
+      return (short) ((Short) value + increment);
+    } else if (value instanceof BigInteger) {
+      return ((BigInteger) value).add(BigInteger.valueOf(increment));
+    } else if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).add(BigDecimal.valueOf(increment));
+    }
+    throw new ExecutorException("SelectKey returned a " + (value == null ? "null value" : value.getClass().getName())
+        + " instead of a number, so keys cannot be allocated in blocks.");
+  }
+
   private void handleMultipleProperties(String[] keyProperties,
       MetaObject metaParam, MetaObject metaResult) {
     String[] keyColumns = keyStatement.getKeyColumns();
@@ -0,0 +1,133 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.loader;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * A result loader of a lazy property that also loads the same property of its siblings, the other result objects of
+ * the same statement execution, with one execution of the batch select of the property.
+ *
+ * @since 3.5.5
+ * @see org.apache.ibatis.mapping.ResultMapping#getBatchQueryId()
+ */
+public class BatchResultLoader extends ResultLoader {
+
+  private final Batch batch;
+  private final Object key;
+  // guarded by the batch
+  private List<Object> nestedResults;
+
+  public BatchResultLoader(Configuration config, Executor executor, MappedStatement mappedStatement, Object parameterObject,
+      Class<?> targetType, CacheKey cacheKey, BoundSql boundSql, Batch batch) {
+    super(config, executor, mappedStatement, parameterObject, targetType, cacheKey, boundSql);
+    this.batch = batch;
+    this.key = normalizeKey(parameterObject);
+    batch.add(this);
+  }
+
+  @Override
+  public Object loadResult() throws SQLException {
+    resultObject = resultExtractor.extractObjectFromList(batch.load(this), targetType);
+    return resultObject;
+  }
+
+  /**
+   * Gets the value that identifies a batch key, so that integral values of different types match.
+   *
+   * @param key
+   *          a column value of a parent row or a property value of a nested result
+   * @return the normalized key
+   */
+  public static Object normalizeKey(Object key) {
+    if (key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte) {
+      return ((Number) key).longValue();
+    } else if (key instanceof BigInteger && ((BigInteger) key).bitLength() < Long.SIZE) {
+      return ((BigInteger) key).longValue();
+    } else if (key instanceof BigDecimal) {
+      final BigDecimal decimal = ((BigDecimal) key).stripTrailingZeros();
+      return decimal.scale() <= 0 && decimal.precision() - decimal.scale() < 19 ? (Object) decimal.longValue() : decimal;
+    }
+    return key;
+  }
+
+  /**
+   * The loaders of a lazy property of the result objects of one statement execution.
+   */
+  public static class Batch {
+
+    private final MappedStatement batchQuery;
+    private final String keyProperty;
+    private final int batchSize;
+    // the loaders whose results are not loaded yet, in the order of the rows
+    private final List<BatchResultLoader> pending = new ArrayList<>();
+
+    public Batch(MappedStatement batchQuery, String keyProperty, int batchSize) {
+      this.batchQuery = batchQuery;
+      this.keyProperty = keyProperty;
+      this.batchSize = batchSize;
+    }
+
+    synchronized void add(BatchResultLoader loader) {
+      pending.add(loader);
+    }
+
+    synchronized List<Object> load(BatchResultLoader loader) throws SQLException {
+      if (loader.nestedResults != null) {
+        return loader.nestedResults;
+      }
+      // the loader and the siblings that follow it, which are likely to be loaded next
+      final Map<Object, Object> keyValues = new LinkedHashMap<>();
+      final List<BatchResultLoader> members = new ArrayList<>();
+      final int start = pending.indexOf(loader);
+      for (int i = 0; i < pending.size(); i++) {
+        final BatchResultLoader member = pending.get((start + i) % pending.size());
+        if (keyValues.containsKey(member.key) || keyValues.size() < batchSize) {
+          keyValues.putIfAbsent(member.key, member.parameterObject);
+          members.add(member);
+        }
+      }
+      final List<Object> rows = loader.selectList(batchQuery,
+          ParamNameResolver.wrapToMapIfCollection(new ArrayList<>(keyValues.values()), null));
+      final Map<Object, List<Object>> nestedResults = new HashMap<>();
+      for (Object row : rows) {
+        final Object key = normalizeKey(loader.configuration.newMetaObject(row).getValue(keyProperty));
+        nestedResults.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+      }
+      for (BatchResultLoader member : members) {
+        member.nestedResults = nestedResults.computeIfAbsent(member.key, k -> new ArrayList<>());
+      }
+      pending.removeIf(member -> member.nestedResults != null);
+      return loader.nestedResults;
+    }
+
+  }
+
+}
@@ -73,10 +73,7 @@ public class ResultLoader {
   }
 
   private <E> List<E> selectList() throws SQLException {
-    Executor localExecutor = executor;
-    if (Thread.currentThread().getId() != this.creatorThreadId || localExecutor.isClosed()) {
-      localExecutor = newExecutor();
-    }
+    Executor localExecutor = getLocalExecutor();
     try {
       return localExecutor.query(mappedStatement, parameterObject, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, cacheKey, boundSql);
     } finally {
@@ -86,6 +83,38 @@ public class ResultLoader {
     }
   }
 
+  /**
+   * Runs another statement with the executor that would run the statement of this loader.
+   *
+   * @param <E>
+   *          the result type
+   * @param ms
+   *          the statement
+   * @param parameter
+   *          the parameter of the statement
+   * @return the results
+   * @throws SQLException
+   *           if the statement fails
+   * @since 3.5.5
+   */
+  protected <E> List<E> selectList(MappedStatement ms, Object parameter) throws SQLException {
+    Executor localExecutor = getLocalExecutor();
+    try {
+      return localExecutor.query(ms, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+    } finally {
+      if (localExecutor != executor) {
+        localExecutor.close(false);
+      }
+    }
+  }
+
+  private Executor getLocalExecutor() {
+    if (Thread.currentThread().getId() != this.creatorThreadId || executor.isClosed()) {
+      return newExecutor();
+    }
+    return executor;
+  }
+
   private Executor newExecutor() {
     final Environment environment = configuration.getEnvironment();
     if (environment == null) {
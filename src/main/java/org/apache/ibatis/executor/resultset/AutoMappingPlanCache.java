@@ -0,0 +1,129 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ibatis.executor.resultset.DefaultResultSetHandler.UnMappedColumnAutoMapping;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * Bounded cache of auto-mapping plans shared by all the statements of a configuration.
+ * <p>
+ * A plan is the list of unmapped columns of a result set with the property and the type handler each one is mapped to.
+ * It only depends on the statement, the result map, the column prefix and the column layout of the result set
+ * (labels, JDBC types and class names), so it can be reused by every execution returning the same layout.
+ * When the cache is full an arbitrary plan is evicted.
+ *
+ * @since 3.5.5
+ */
+public class AutoMappingPlanCache {
+
+  private final int maxSize;
+  private final ConcurrentMap<PlanKey, List<UnMappedColumnAutoMapping>> plans = new ConcurrentHashMap<>();
+
+  public AutoMappingPlanCache(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("The max size of the auto-mapping plan cache must be positive but was " + maxSize);
+    }
+    this.maxSize = maxSize;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Gets the number of cached plans.
+   *
+   * @return the number of cached plans
+   */
+  public int size() {
+    return plans.size();
+  }
+
+  public void clear() {
+    plans.clear();
+  }
+
+  List<UnMappedColumnAutoMapping> get(PlanKey key) {
+    return plans.get(key);
+  }
+
+  void put(PlanKey key, List<UnMappedColumnAutoMapping> plan) {
+    if (plans.size() >= maxSize && !plans.containsKey(key)) {
+      Iterator<PlanKey> keys = plans.keySet().iterator();
+      if (keys.hasNext()) {
+        keys.next();
+        keys.remove();
+      }
+    }
+    plans.put(key, plan);
+  }
+
+  static PlanKey createKey(String statementId, String resultMapId, String columnPrefix, ResultSetWrapper rsw) {
+    return new PlanKey(statementId, resultMapId, columnPrefix, rsw.getColumnNames(), rsw.getJdbcTypes(), rsw.getClassNames());
+  }
+
+  static final class PlanKey {
+    private final String statementId;
+    private final String resultMapId;
+    private final String columnPrefix;
+    private final List<String> columnNames;
+    private final List<JdbcType> jdbcTypes;
+    private final List<String> classNames;
+    private final int hashCode;
+
+    private PlanKey(String statementId, String resultMapId, String columnPrefix, List<String> columnNames,
+        List<JdbcType> jdbcTypes, List<String> classNames) {
+      this.statementId = statementId;
+      this.resultMapId = resultMapId;
+      this.columnPrefix = columnPrefix;
+      this.columnNames = columnNames;
+      this.jdbcTypes = jdbcTypes;
+      this.classNames = classNames;
+      this.hashCode = Objects.hash(statementId, resultMapId, columnPrefix, columnNames, jdbcTypes, classNames);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PlanKey)) {
+        return false;
+      }
+      PlanKey other = (PlanKey) o;
+      return hashCode == other.hashCode
+          && statementId.equals(other.statementId)
+          && resultMapId.equals(other.resultMapId)
+          && Objects.equals(columnPrefix, other.columnPrefix)
+          && columnNames.equals(other.columnNames)
+          && jdbcTypes.equals(other.jdbcTypes)
+          && classNames.equals(other.classNames);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
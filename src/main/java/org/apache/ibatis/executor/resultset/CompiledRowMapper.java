@@ -0,0 +1,232 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.lang.reflect.Constructor;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * A row mapper specialized for one simple result map and one result set column layout.
+ * <p>
+ * Columns are read by index and values are written through the setter {@link Invoker}s cached by the {@link Reflector},
+ * so the property name parsing and object wrapper lookups done by {@code MetaObject} are paid once per result set
+ * instead of once per cell.
+ */
+final class CompiledRowMapper {
+
+  private final Class<?> type;
+  private final ObjectFactory objectFactory;
+  private final Constructor<?> constructor;
+  private final boolean callSettersOnNulls;
+  private final boolean returnInstanceForEmptyRow;
+  private final int[] columnIndexes;
+  private final TypeHandler<?>[] typeHandlers;
+  private final String[] properties;
+  private final Invoker[] setters;
+  private final boolean[] primitives;
+
+  private CompiledRowMapper(Builder builder) {
+    this.type = builder.type;
+    this.objectFactory = builder.objectFactory;
+    this.constructor = builder.constructor;
+    this.callSettersOnNulls = builder.callSettersOnNulls;
+    this.returnInstanceForEmptyRow = builder.returnInstanceForEmptyRow;
+    final int size = builder.columns.size();
+    this.columnIndexes = new int[size];
+    this.typeHandlers = new TypeHandler<?>[size];
+    this.properties = new String[size];
+    this.setters = new Invoker[size];
+    this.primitives = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      final ColumnMapping column = builder.columns.get(i);
+      columnIndexes[i] = column.columnIndex;
+      typeHandlers[i] = column.typeHandler;
+      properties[i] = column.property;
+      setters[i] = column.setter;
+      primitives[i] = column.primitive;
+    }
+  }
+
+  /**
+   * Maps the current row of the result set.
+   *
+   * @param rs
+   *          the result set positioned on the row to map
+   * @return the row value, or null if all the mapped columns are null and returnInstanceForEmptyRow is disabled
+   * @throws SQLException
+   *           if reading a column fails
+   */
+  Object map(ResultSet rs) throws SQLException {
+    final Object rowValue = newInstance();
+    boolean foundValues = false;
+    for (int i = 0; i < columnIndexes.length; i++) {
+      final Object value = typeHandlers[i].getResult(rs, columnIndexes[i]);
+      if (value != null) {
+        foundValues = true;
+      }
+      if (value != null || (callSettersOnNulls && !primitives[i])) {
+        // gcode issue #377, call setter on nulls (value is not 'found')
+        setValue(rowValue, i, value);
+      }
+    }
+    return foundValues || returnInstanceForEmptyRow ? rowValue : null;
+  }
+
+  /**
+   * Gets the number of columns read by {@link #read(ResultSet, Object[], int)}.
+   *
+   * @return the number of mapped columns
+   */
+  int getColumnCount() {
+    return columnIndexes.length;
+  }
+
+  /**
+   * Reads the mapped columns of the current row into a buffer, so that the row can be mapped later by another thread
+   * with {@link #map(Object[], int)}.
+   *
+   * @param rs
+   *          the result set positioned on the row to read
+   * @param values
+   *          the buffer receiving the column values
+   * @param offset
+   *          the index of the first value of the row in the buffer
+   * @throws SQLException
+   *           if reading a column fails
+   */
+  void read(ResultSet rs, Object[] values, int offset) throws SQLException {
+    for (int i = 0; i < columnIndexes.length; i++) {
+      values[offset + i] = typeHandlers[i].getResult(rs, columnIndexes[i]);
+    }
+  }
+
+  /**
+   * Maps a row previously read with {@link #read(ResultSet, Object[], int)}. Does not access the result set.
+   *
+   * @param values
+   *          the buffer holding the column values
+   * @param offset
+   *          the index of the first value of the row in the buffer
+   * @return the row value, or null if all the mapped columns are null and returnInstanceForEmptyRow is disabled
+   */
+  Object map(Object[] values, int offset) {
+    final Object rowValue = newInstance();
+    boolean foundValues = false;
+    for (int i = 0; i < columnIndexes.length; i++) {
+      final Object value = values[offset + i];
+      if (value != null) {
+        foundValues = true;
+      }
+      if (value != null || (callSettersOnNulls && !primitives[i])) {
+        // gcode issue #377, call setter on nulls (value is not 'found')
+        setValue(rowValue, i, value);
+      }
+    }
+    return foundValues || returnInstanceForEmptyRow ? rowValue : null;
+  }
+
+  private Object newInstance() {
+    if (constructor == null) {
+      return objectFactory.create(type);
+    }
+    try {
+      return constructor.newInstance();
+    } catch (Exception e) {
+      throw new ReflectionException("Error instantiating " + type + ". Cause: " + e, e);
+    }
+  }
+
+  private void setValue(Object rowValue, int i, Object value) {
+    try {
+      try {
+        setters[i].invoke(rowValue, new Object[] {value});
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    } catch (Throwable t) {
+      throw new ReflectionException("Could not set property '" + properties[i] + "' of '" + rowValue.getClass() + "' with value '" + value + "' Cause: " + t.toString(), t);
+    }
+  }
+
+  static class Builder {
+    private final Class<?> type;
+    private final ObjectFactory objectFactory;
+    private final List<ColumnMapping> columns = new ArrayList<>();
+    private Constructor<?> constructor;
+    private boolean callSettersOnNulls;
+    private boolean returnInstanceForEmptyRow;
+
+    Builder(Class<?> type, ObjectFactory objectFactory) {
+      this.type = type;
+      this.objectFactory = objectFactory;
+    }
+
+    /**
+     * Instantiates rows with the given constructor instead of the object factory.
+     * Only valid when the object factory would call the same default constructor.
+     */
+    Builder constructor(Constructor<?> constructor) {
+      this.constructor = constructor;
+      return this;
+    }
+
+    Builder callSettersOnNulls(boolean callSettersOnNulls) {
+      this.callSettersOnNulls = callSettersOnNulls;
+      return this;
+    }
+
+    Builder returnInstanceForEmptyRow(boolean returnInstanceForEmptyRow) {
+      this.returnInstanceForEmptyRow = returnInstanceForEmptyRow;
+      return this;
+    }
+
+    Builder column(int columnIndex, TypeHandler<?> typeHandler, String property, Invoker setter, boolean primitive) {
+      columns.add(new ColumnMapping(columnIndex, typeHandler, property, setter, primitive));
+      return this;
+    }
+
+    CompiledRowMapper build() {
+      return new CompiledRowMapper(this);
+    }
+  }
+
+  private static class ColumnMapping {
+    private final int columnIndex;
+    private final TypeHandler<?> typeHandler;
+    private final String property;
+    private final Invoker setter;
+    private final boolean primitive;
+
+    ColumnMapping(int columnIndex, TypeHandler<?> typeHandler, String property, Invoker setter, boolean primitive) {
+      this.columnIndex = columnIndex;
+      this.typeHandler = typeHandler;
+      this.property = property;
+      this.setter = setter;
+      this.primitive = primitive;
+    }
+  }
+
+}
@@ -20,13 +20,18 @@ import java.sql.CallableStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.ibatis.annotations.AutomapConstructor;
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
@@ -36,6 +41,8 @@ import org.apache.ibatis.cursor.defaults.DefaultCursor;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.ResultExtractor;
+import org.apache.ibatis.executor.loader.BatchResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoaderMap;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
@@ -51,14 +58,22 @@ import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.reflection.Reflector;
 import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.ByteTypeHandler;
+import org.apache.ibatis.type.IntegerTypeHandler;
 import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.LongTypeHandler;
+import org.apache.ibatis.type.ShortTypeHandler;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
 
@@ -71,6 +86,10 @@ import org.apache.ibatis.type.TypeHandlerRegistry;
 public class DefaultResultSetHandler implements ResultSetHandler {
 
   private static final Object DEFERRED = new Object();
+  private static final int[] NOT_NUMERIC = new int[0];
+  // above this size the map of nested objects is replaced rather than cleared, a HashMap never shrinks
+  private static final int NESTED_RESULT_OBJECTS_RETAINED_SIZE = 256;
+  private static final int PARALLEL_MAPPING_BATCH_SIZE = 256;
 
   private final Executor executor;
   private final Configuration configuration;
@@ -84,7 +103,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final ReflectorFactory reflectorFactory;
 
   // nested resultmaps
-  private final Map<CacheKey, Object> nestedResultObjects = new HashMap<>();
+  private Map<CacheKey, Object> nestedResultObjects = new HashMap<>();
+  // objects of nested result maps whose row key is numeric (see numericRowKeyEnabled)
+  private final NumericRowKeyMap numericNestedResultObjects = new NumericRowKeyMap();
+  // slot and id column indexes of the numeric row keys of the current resultset
+  private final Map<ResultMap, Map<String, int[]>> numericRowKeyColumns = new HashMap<>();
+  private int numericRowKeySlots;
   private final Map<String, Object> ancestorObjects = new HashMap<>();
   private Object previousRowValue;
 
@@ -92,9 +116,23 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final Map<String, ResultMapping> nextResultMaps = new HashMap<>();
   private final Map<CacheKey, List<PendingRelation>> pendingRelations = new HashMap<>();
 
+  // nested selects retrieved for all the rows at once, by batch select and batch key
+  private final Map<String, PendingBatch> pendingBatches = new LinkedHashMap<>();
+  // lazy nested selects whose siblings are loaded together, by batch select and batch key
+  private final Map<String, BatchResultLoader.Batch> lazyLoadBatches = new HashMap<>();
+
   // Cached Automappings
   private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
 
+  // compiled row mappers of the current resultset (a null value means the result map cannot be compiled)
+  private final Map<String, CompiledRowMapper> compiledRowMappers = new HashMap<>();
+
+  // rows are mapped for a cursor, which fetches them one result at a time
+  private boolean cursorResults;
+
+  // number of rows read from the result sets, to adapt the fetch size of the statement
+  private int fetchedRowCount;
+
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
   private boolean useConstructorMappings;
 
@@ -103,14 +141,43 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     public ResultMapping propertyMapping;
   }
 
-  private static class UnMappedColumnAutoMapping {
+  private static class PendingBatch {
+    private final String batchQueryId;
+    private final String keyProperty;
+    // column values by normalized key, in the order of the rows
+    private final Map<Object, Object> keys = new LinkedHashMap<>();
+    private final List<PendingBatchLoad> loads = new ArrayList<>();
+
+    PendingBatch(String batchQueryId, String keyProperty) {
+      this.batchQueryId = batchQueryId;
+      this.keyProperty = keyProperty;
+    }
+  }
+
+  private static class PendingBatchLoad {
+    private final MetaObject metaObject;
+    private final String property;
+    private final Class<?> targetType;
+    private final Object key;
+
+    PendingBatchLoad(MetaObject metaObject, String property, Class<?> targetType, Object key) {
+      this.metaObject = metaObject;
+      this.property = property;
+      this.targetType = targetType;
+      this.key = key;
+    }
+  }
+
+  static class UnMappedColumnAutoMapping {
     private final String column;
+    private final int columnIndex;
     private final String property;
     private final TypeHandler<?> typeHandler;
     private final boolean primitive;
 
-    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive) {
+    public UnMappedColumnAutoMapping(String column, int columnIndex, String property, TypeHandler<?> typeHandler, boolean primitive) {
       this.column = column;
+      this.columnIndex = columnIndex;
       this.property = property;
       this.typeHandler = typeHandler;
       this.primitive = primitive;
@@ -171,6 +238,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     } finally {
       // issue #228 (close resultsets)
       closeResultSet(rs);
+      cleanUpAfterHandlingResultSet();
     }
   }
 
@@ -212,6 +280,11 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       }
     }
 
+    loadPendingBatches();
+
+    if (configuration.isAdaptiveFetchSizeEnabled()) {
+      configuration.getFetchSizeAdvisor().recordRowCount(mappedStatement, fetchedRowCount);
+    }
     return collapseSingleResultList(multipleResults);
   }
 
@@ -230,6 +303,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
 
     ResultMap resultMap = resultMaps.get(0);
+    cursorResults = true;
     return new DefaultCursor<>(this, resultMap, rsw, rowBounds);
   }
 
@@ -281,7 +355,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   }
 
   private void cleanUpAfterHandlingResultSet() {
-    nestedResultObjects.clear();
+    clearNestedResultObjects();
+    numericRowKeyColumns.clear();
+    numericRowKeySlots = 0;
+    // column indexes are only valid for the resultset they were resolved from
+    autoMappingsCache.clear();
+    compiledRowMappers.clear();
   }
 
   private void validateResultMapsCount(ResultSetWrapper rsw, int resultMapCount) {
@@ -349,11 +428,81 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
     ResultSet resultSet = rsw.getResultSet();
     skipRows(resultSet, rowBounds);
+    // a cursor fetches one row at a time, so it must not read ahead
+    final boolean parallel = mappedStatement.isParallelMapping() && parentMapping == null && !cursorResults
+        && resultMap.getDiscriminator() == null;
     while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
+      fetchedRowCount++;
       ResultMap discriminatedResultMap = resolveDiscriminatedResultMap(resultSet, resultMap, null);
       Object rowValue = getRowValue(rsw, discriminatedResultMap, null);
       storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
+      if (parallel) {
+        // the first row has been mapped by the default path, so the auto-mapping plan is in place
+        final CompiledRowMapper rowMapper = getCompiledRowMapper(rsw, resultMap, null);
+        if (rowMapper != null) {
+          handleRowValuesInParallel(rowMapper, resultSet, resultHandler, resultContext, rowBounds);
+          return;
+        }
+      }
+    }
+  }
+
+  private CompiledRowMapper getCompiledRowMapper(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix) throws SQLException {
+    final String mapKey = resultMap.getId() + ":" + columnPrefix;
+    CompiledRowMapper rowMapper = compiledRowMappers.get(mapKey);
+    if (rowMapper == null && !compiledRowMappers.containsKey(mapKey)) {
+      rowMapper = compileRowMapper(rsw, resultMap, columnPrefix, mapKey);
+      compiledRowMappers.put(mapKey, rowMapper);
+    }
+    return rowMapper;
+  }
+
+  private void handleRowValuesInParallel(CompiledRowMapper rowMapper, ResultSet resultSet, ResultHandler<?> resultHandler,
+      DefaultResultContext<Object> resultContext, RowBounds rowBounds) throws SQLException {
+    // this thread reads the column values (result sets are not thread safe) and delivers the rows in order,
+    // the pool creates the row objects and calls the setters
+    final ForkJoinPool pool = ForkJoinPool.commonPool();
+    final int maxBatchesInFlight = Math.max(2, pool.getParallelism() * 2);
+    final Deque<RowBatch> inFlight = new ArrayDeque<>(maxBatchesInFlight);
+    final Deque<RowBatch> freeBatches = new ArrayDeque<>(maxBatchesInFlight);
+    int remainingRows = rowBounds.getLimit() - resultContext.getResultCount();
+    try {
+      boolean moreRows = remainingRows > 0;
+      while (moreRows && !resultContext.isStopped()) {
+        final RowBatch batch = freeBatches.isEmpty() ? new RowBatch(rowMapper, PARALLEL_MAPPING_BATCH_SIZE) : freeBatches.poll();
+        moreRows = batch.read(resultSet, remainingRows);
+        remainingRows -= batch.size();
+        fetchedRowCount += batch.size();
+        if (batch.size() > 0) {
+          pool.execute(batch);
+          inFlight.add(batch);
+        }
+        if (inFlight.size() >= maxBatchesInFlight || !moreRows) {
+          final RowBatch mapped = inFlight.poll();
+          if (mapped != null) {
+            storeBatch(mapped, resultHandler, resultContext, rowBounds);
+            freeBatches.add(mapped);
+          }
+        }
+      }
+      while (!inFlight.isEmpty() && !resultContext.isStopped()) {
+        storeBatch(inFlight.poll(), resultHandler, resultContext, rowBounds);
+      }
+    } finally {
+      for (RowBatch batch : inFlight) {
+        batch.cancel(false);
+      }
+    }
+  }
+
+  private void storeBatch(RowBatch batch, ResultHandler<?> resultHandler, DefaultResultContext<Object> resultContext,
+      RowBounds rowBounds) {
+    // rethrows the exception thrown while mapping the batch, if any
+    batch.join();
+    for (int i = 0; i < batch.size() && shouldProcessMoreRows(resultContext, rowBounds); i++) {
+      callResultHandler(resultHandler, resultContext, batch.getRow(i));
     }
+    batch.release();
   }
 
   private void storeObject(ResultHandler<?> resultHandler, DefaultResultContext<Object> resultContext, Object rowValue, ResultMapping parentMapping, ResultSet rs) throws SQLException {
@@ -393,6 +542,13 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   //
 
   private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix) throws SQLException {
+    final String mapKey = resultMap.getId() + ":" + columnPrefix;
+    if (configuration.isCompiledRowMappingEnabled()) {
+      final CompiledRowMapper rowMapper = compiledRowMappers.get(mapKey);
+      if (rowMapper != null) {
+        return rowMapper.map(rsw.getResultSet());
+      }
+    }
     final ResultLoaderMap lazyLoader = new ResultLoaderMap();
     Object rowValue = createResultObject(rsw, resultMap, lazyLoader, columnPrefix);
     if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
@@ -405,14 +561,91 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       foundValues = lazyLoader.size() > 0 || foundValues;
       rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
     }
+    if (configuration.isCompiledRowMappingEnabled() && !compiledRowMappers.containsKey(mapKey)) {
+      // the first row goes through the default path so the auto-mapping plan is in place before compiling
+      compiledRowMappers.put(mapKey, compileRowMapper(rsw, resultMap, columnPrefix, mapKey));
+    }
     return rowValue;// 返回当前行对应的对象
   }
 
+  //
+  // COMPILED ROW MAPPER
+  //
+
+  private CompiledRowMapper compileRowMapper(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix, String mapKey) throws SQLException {
+    final Class<?> resultType = resultMap.getType();
+    if (resultMap.hasNestedResultMaps() || resultMap.hasNestedQueries() || resultMap.getDiscriminator() != null
+        || !resultMap.getConstructorResultMappings().isEmpty() || hasTypeHandlerForResultObject(rsw, resultType)
+        || resultType.isInterface() || Map.class.isAssignableFrom(resultType) || objectFactory.isCollection(resultType)
+        || configuration.getObjectWrapperFactory().getClass() != DefaultObjectWrapperFactory.class) {
+      return null;
+    }
+    final Reflector reflector = reflectorFactory.findForClass(resultType);
+    if (!reflector.hasDefaultConstructor()) {
+      return null;
+    }
+    final CompiledRowMapper.Builder builder = new CompiledRowMapper.Builder(resultType, objectFactory)
+        .constructor(resolveDefaultConstructor(resultType))
+        .callSettersOnNulls(configuration.isCallSettersOnNulls())
+        .returnInstanceForEmptyRow(configuration.isReturnInstanceForEmptyRow());
+    if (shouldApplyAutomaticMappings(resultMap, false)) {
+      final List<UnMappedColumnAutoMapping> autoMapping = autoMappingsCache.get(mapKey);
+      if (autoMapping == null) {
+        return null;
+      }
+      for (UnMappedColumnAutoMapping mapping : autoMapping) {
+        if (!addCompiledColumn(builder, reflector, mapping.columnIndex, mapping.typeHandler, mapping.property)) {
+          return null;
+        }
+      }
+    }
+    final int[] columnIndexes = rsw.getPropertyMappingColumnIndexes(resultMap, columnPrefix);
+    final List<ResultMapping> propertyMappings = resultMap.getPropertyResultMappings();
+    for (int i = 0; i < propertyMappings.size(); i++) {
+      final ResultMapping propertyMapping = propertyMappings.get(i);
+      if (propertyMapping.isCompositeResult() || propertyMapping.getResultSet() != null) {
+        return null;
+      }
+      // issue #541 make property optional
+      if (columnIndexes[i] < 0 || propertyMapping.getProperty() == null) {
+        continue;
+      }
+      if (!addCompiledColumn(builder, reflector, columnIndexes[i], propertyMapping.getTypeHandler(), propertyMapping.getProperty())) {
+        return null;
+      }
+    }
+    return builder.build();
+  }
+
+  private boolean addCompiledColumn(CompiledRowMapper.Builder builder, Reflector reflector, int columnIndex,
+      TypeHandler<?> typeHandler, String property) {
+    // nested properties (e.g. author.id) need the MetaObject to instantiate the intermediate objects
+    if (columnIndex < 0 || typeHandler == null || property.indexOf('.') >= 0 || property.indexOf('[') >= 0
+        || !reflector.hasSetter(property)) {
+      return false;
+    }
+    builder.column(columnIndex, typeHandler, property, reflector.getSetInvoker(property), reflector.getSetterType(property).isPrimitive());
+    return true;
+  }
+
+  private Constructor<?> resolveDefaultConstructor(Class<?> resultType) {
+    if (objectFactory.getClass() != DefaultObjectFactory.class || !Reflector.canControlMemberAccessible()) {
+      return null;
+    }
+    try {
+      final Constructor<?> constructor = resultType.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      return constructor;
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
   //
   // GET VALUE FROM ROW FOR NESTED RESULT MAP
   //
 
-  private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, CacheKey combinedKey, String columnPrefix, Object partialObject) throws SQLException {
+  private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, Object combinedKey, String columnPrefix, Object partialObject) throws SQLException {
     final String resultMapId = resultMap.getId();
     Object rowValue = partialObject;
     if (rowValue != null) {
@@ -437,7 +670,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
       }
       if (combinedKey != CacheKey.NULL_CACHE_KEY) {
-        nestedResultObjects.put(combinedKey, rowValue);
+        putNestedResultObject(combinedKey, rowValue);
       }
     }
     return rowValue;
@@ -465,19 +698,17 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   private boolean applyPropertyMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject, ResultLoaderMap lazyLoader, String columnPrefix)
       throws SQLException {
-    final List<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
+    // the user may have added a column attribute to a nested result map, its index is -1 so it is ignored
+    final int[] columnIndexes = rsw.getPropertyMappingColumnIndexes(resultMap, columnPrefix);
     boolean foundValues = false;
     final List<ResultMapping> propertyMappings = resultMap.getPropertyResultMappings();
-    for (ResultMapping propertyMapping : propertyMappings) {
-      String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
-      if (propertyMapping.getNestedResultMapId() != null) {
-        // the user added a column attribute to a nested result map, ignore it
-        column = null;
-      }
+    for (int i = 0; i < propertyMappings.size(); i++) {
+      final ResultMapping propertyMapping = propertyMappings.get(i);
+      final int columnIndex = columnIndexes[i];
       if (propertyMapping.isCompositeResult()
-          || (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH)))
+          || columnIndex > 0
           || propertyMapping.getResultSet() != null) {
-        Object value = getPropertyMappingValue(rsw.getResultSet(), metaObject, propertyMapping, lazyLoader, columnPrefix);
+        Object value = getPropertyMappingValue(rsw.getResultSet(), metaObject, propertyMapping, lazyLoader, columnPrefix, columnIndex);
         // issue #541 make property optional
         final String property = propertyMapping.getProperty();
         if (property == null) {
@@ -498,8 +729,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return foundValues;
   }
 
-  private Object getPropertyMappingValue(ResultSet rs, MetaObject metaResultObject, ResultMapping propertyMapping, ResultLoaderMap lazyLoader, String columnPrefix)
-      throws SQLException {
+  private Object getPropertyMappingValue(ResultSet rs, MetaObject metaResultObject, ResultMapping propertyMapping, ResultLoaderMap lazyLoader, String columnPrefix,
+      int columnIndex) throws SQLException {
     if (propertyMapping.getNestedQueryId() != null) {
       return getNestedQueryMappingValue(rs, metaResultObject, propertyMapping, lazyLoader, columnPrefix);
     } else if (propertyMapping.getResultSet() != null) {
@@ -507,6 +738,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       return DEFERRED;
     } else {
       final TypeHandler<?> typeHandler = propertyMapping.getTypeHandler();
+      if (columnIndex > 0) {
+        return typeHandler.getResult(rs, columnIndex);
+      }
       final String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
       return typeHandler.getResult(rs, column);
     }
@@ -515,6 +749,15 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private List<UnMappedColumnAutoMapping> createAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject, String columnPrefix) throws SQLException {
     final String mapKey = resultMap.getId() + ":" + columnPrefix;
     List<UnMappedColumnAutoMapping> autoMapping = autoMappingsCache.get(mapKey);
+    if (autoMapping != null) {
+      return autoMapping;
+    }
+    final AutoMappingPlanCache planCache = configuration.getAutoMappingPlanCache();
+    final AutoMappingPlanCache.PlanKey planKey = planCache == null ? null
+        : AutoMappingPlanCache.createKey(mappedStatement.getId(), resultMap.getId(), columnPrefix, rsw);
+    if (planKey != null) {
+      autoMapping = planCache.get(planKey);
+    }
     if (autoMapping == null) {
       autoMapping = new ArrayList<>();
       final List<String> unmappedColumnNames = rsw.getUnmappedColumnNames(resultMap, columnPrefix);
@@ -537,7 +780,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           final Class<?> propertyType = metaObject.getSetterType(property);// 获取 setter 方法的参数类型
           if (typeHandlerRegistry.hasTypeHandler(propertyType, rsw.getJdbcType(columnName))) {
             final TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
-            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive()));
+            autoMapping.add(new UnMappedColumnAutoMapping(columnName, rsw.getColumnIndex(columnName), property, typeHandler, propertyType.isPrimitive()));
           } else {
             configuration.getAutoMappingUnknownColumnBehavior()
                 .doAction(mappedStatement, columnName, property, propertyType);
@@ -547,8 +790,11 @@ public class DefaultResultSetHandler implements ResultSetHandler {
               .doAction(mappedStatement, columnName, (property != null) ? property : propertyName, null);
         }
       }
-      autoMappingsCache.put(mapKey, autoMapping);
+      if (planKey != null) {
+        planCache.put(planKey, autoMapping);
+      }
     }
+    autoMappingsCache.put(mapKey, autoMapping);
     return autoMapping;// 属性名称和对应的 typeHandler
   }
 
@@ -557,7 +803,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     boolean foundValues = false;
     if (!autoMapping.isEmpty()) {// autoMapping：所有属性的映射关系
       for (UnMappedColumnAutoMapping mapping : autoMapping) {
-        final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
+        final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.columnIndex);
         if (value != null) {
           foundValues = true;
         }
@@ -791,10 +1037,19 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         executor.deferLoad(nestedQuery, metaResultObject, property, key, targetType);
         value = DEFERRED;
       } else {
-        final ResultLoader resultLoader = new ResultLoader(configuration, executor, nestedQuery, nestedQueryParameterObject, targetType, key, nestedBoundSql);
+        final ResultLoader resultLoader;
+        if (propertyMapping.isLazy() && canLoadInBatch(propertyMapping)) {
+          resultLoader = new BatchResultLoader(configuration, executor, nestedQuery, nestedQueryParameterObject, targetType, key, nestedBoundSql,
+              getLazyLoadBatch(propertyMapping));
+        } else {
+          resultLoader = new ResultLoader(configuration, executor, nestedQuery, nestedQueryParameterObject, targetType, key, nestedBoundSql);
+        }
         if (propertyMapping.isLazy()) {
           lazyLoader.addLoader(property, metaResultObject, resultLoader);
           value = DEFERRED;
+        } else if (canLoadInBatch(propertyMapping)) {
+          addPendingBatchLoad(metaResultObject, propertyMapping, nestedQueryParameterObject);
+          value = DEFERRED;
         } else {
           value = resultLoader.loadResult();
         }
@@ -803,6 +1058,55 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return value;
   }
 
+  private boolean canLoadInBatch(ResultMapping propertyMapping) {
+    // a result handler or a cursor receives the rows before the end of the result set, and may not keep them all
+    return propertyMapping.getBatchQueryId() != null && resultHandler == null && !cursorResults;
+  }
+
+  private BatchResultLoader.Batch getLazyLoadBatch(ResultMapping propertyMapping) {
+    final String batchKey = propertyMapping.getBatchQueryId() + ":" + propertyMapping.getBatchKeyProperty();
+    return lazyLoadBatches.computeIfAbsent(batchKey, k -> new BatchResultLoader.Batch(
+        configuration.getMappedStatement(propertyMapping.getBatchQueryId()), propertyMapping.getBatchKeyProperty(),
+        configuration.getNestedSelectBatchSize()));
+  }
+
+  private void addPendingBatchLoad(MetaObject metaResultObject, ResultMapping propertyMapping, Object keyValue) {
+    final String batchKey = propertyMapping.getBatchQueryId() + ":" + propertyMapping.getBatchKeyProperty();
+    final PendingBatch batch = pendingBatches.computeIfAbsent(batchKey,
+        k -> new PendingBatch(propertyMapping.getBatchQueryId(), propertyMapping.getBatchKeyProperty()));
+    final Object key = BatchResultLoader.normalizeKey(keyValue);
+    batch.keys.putIfAbsent(key, keyValue);
+    batch.loads.add(new PendingBatchLoad(metaResultObject, propertyMapping.getProperty(), propertyMapping.getJavaType(), key));
+  }
+
+  private void loadPendingBatches() throws SQLException {
+    for (PendingBatch batch : pendingBatches.values()) {
+      loadPendingBatch(batch);
+    }
+    pendingBatches.clear();
+  }
+
+  private void loadPendingBatch(PendingBatch batch) throws SQLException {
+    final MappedStatement batchQuery = configuration.getMappedStatement(batch.batchQueryId);
+    final int batchSize = configuration.getNestedSelectBatchSize();
+    final List<Object> keyValues = new ArrayList<>(batch.keys.values());
+    final Map<Object, List<Object>> nestedResults = new HashMap<>();
+    for (int from = 0; from < keyValues.size(); from += batchSize) {
+      final List<Object> chunk = new ArrayList<>(keyValues.subList(from, Math.min(keyValues.size(), from + batchSize)));
+      final List<Object> rows = executor.query(batchQuery, ParamNameResolver.wrapToMapIfCollection(chunk, null),
+          RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      for (Object row : rows) {
+        final Object key = BatchResultLoader.normalizeKey(configuration.newMetaObject(row).getValue(batch.keyProperty));
+        nestedResults.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+      }
+    }
+    final ResultExtractor resultExtractor = new ResultExtractor(configuration, objectFactory);
+    for (PendingBatchLoad load : batch.loads) {
+      final List<Object> list = nestedResults.computeIfAbsent(load.key, k -> new ArrayList<>());
+      load.metaObject.setValue(load.property, resultExtractor.extractObjectFromList(list, load.targetType));
+    }
+  }
+
   private Object prepareParameterForNestedQuery(ResultSet rs, ResultMapping resultMapping, Class<?> parameterType, String columnPrefix) throws SQLException {
     if (resultMapping.isCompositeResult()) {
       return prepareCompositeKeyParameter(rs, resultMapping, parameterType, columnPrefix);
@@ -894,14 +1198,16 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     ResultSet resultSet = rsw.getResultSet();
     skipRows(resultSet, rowBounds);
     Object rowValue = previousRowValue;
+    final boolean resultOrdered = mappedStatement.isResultOrdered() || cursorResults && configuration.isCursorResultOrdered();
     while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
+      fetchedRowCount++;
       final ResultMap discriminatedResultMap = resolveDiscriminatedResultMap(resultSet, resultMap, null);
-      final CacheKey rowKey = createRowKey(discriminatedResultMap, rsw, null);
-      Object partialObject = nestedResultObjects.get(rowKey);
+      final Object rowKey = createNestedRowKey(discriminatedResultMap, rsw, null);
+      Object partialObject = getNestedResultObject(rowKey);
       // issue #577 && #542
-      if (mappedStatement.isResultOrdered()) {
+      if (resultOrdered) {
         if (partialObject == null && rowValue != null) {
-          nestedResultObjects.clear();
+          clearNestedResultObjects();
           storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
         }
         rowValue = getRowValue(rsw, discriminatedResultMap, rowKey, null, partialObject);
@@ -912,9 +1218,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         }
       }
     }
-    if (rowValue != null && mappedStatement.isResultOrdered() && shouldProcessMoreRows(resultContext, rowBounds)) {
+    if (rowValue != null && resultOrdered && shouldProcessMoreRows(resultContext, rowBounds)) {
       storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
       previousRowValue = null;
+      clearNestedResultObjects();
     } else if (rowValue != null) {
       previousRowValue = rowValue;
     }
@@ -924,7 +1231,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   // NESTED RESULT MAP (JOIN MAPPING)
   //
 
-  private boolean applyNestedResultMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject, String parentPrefix, CacheKey parentRowKey, boolean newObject) {
+  private boolean applyNestedResultMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject, String parentPrefix, Object parentRowKey, boolean newObject) {
     boolean foundValues = false;
     for (ResultMapping resultMapping : resultMap.getPropertyResultMappings()) {
       final String nestedResultMapId = resultMapping.getNestedResultMapId();
@@ -943,9 +1250,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
               continue;
             }
           }
-          final CacheKey rowKey = createRowKey(nestedResultMap, rsw, columnPrefix);
-          final CacheKey combinedKey = combineKeys(rowKey, parentRowKey);
-          Object rowValue = nestedResultObjects.get(combinedKey);
+          final Object rowKey = createNestedRowKey(nestedResultMap, rsw, columnPrefix);
+          final Object combinedKey = combineKeys(rowKey, parentRowKey);
+          Object rowValue = getNestedResultObject(combinedKey);
           boolean knownValue = rowValue != null;
           instantiateCollectionPropertyIfAppropriate(resultMapping, metaObject); // mandatory
           if (anyNotNullColumnHasValue(resultMapping, columnPrefix, rsw)) {
@@ -1016,7 +1323,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         createRowKeyForUnmappedProperties(resultMap, rsw, cacheKey, columnPrefix);
       }
     } else {
-      createRowKeyForMappedProperties(resultMap, rsw, cacheKey, resultMappings, columnPrefix);
+      final int[] columnIndexes = resultMap.getIdResultMappings().isEmpty()
+          ? rsw.getPropertyMappingColumnIndexes(resultMap, columnPrefix)
+          : rsw.getIdMappingColumnIndexes(resultMap, columnPrefix);
+      createRowKeyForMappedProperties(rsw, cacheKey, resultMappings, columnIndexes, columnPrefix);
     }
     if (cacheKey.getUpdateCount() < 2) {
       return CacheKey.NULL_CACHE_KEY;
@@ -1024,8 +1334,22 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return cacheKey;
   }
 
-  private CacheKey combineKeys(CacheKey rowKey, CacheKey parentRowKey) {
-    if (rowKey.getUpdateCount() > 1 && parentRowKey.getUpdateCount() > 1) {
+  private Object combineKeys(Object rowKey, Object parentRowKey) {
+    if (rowKey == CacheKey.NULL_CACHE_KEY || parentRowKey == CacheKey.NULL_CACHE_KEY) {
+      return CacheKey.NULL_CACHE_KEY;
+    }
+    if (rowKey instanceof long[] && parentRowKey instanceof long[]) {
+      final long[] key = (long[]) rowKey;
+      final long[] parentKey = (long[]) parentRowKey;
+      final long[] combinedKey = Arrays.copyOf(key, key.length + parentKey.length);
+      System.arraycopy(parentKey, 0, combinedKey, key.length, parentKey.length);
+      return combinedKey;
+    }
+    return combineKeys(toCacheKey(rowKey), parentRowKey);
+  }
+
+  private CacheKey combineKeys(CacheKey rowKey, Object parentRowKey) {
+    if (rowKey.getUpdateCount() > 1 && (!(parentRowKey instanceof CacheKey) || ((CacheKey) parentRowKey).getUpdateCount() > 1)) {
       CacheKey combinedKey;
       try {
         combinedKey = rowKey.clone();
@@ -1038,6 +1362,119 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return CacheKey.NULL_CACHE_KEY;
   }
 
+  private CacheKey toCacheKey(Object rowKey) {
+    if (rowKey instanceof CacheKey) {
+      return (CacheKey) rowKey;
+    }
+    // a numeric row key combined with a parent whose key is not numeric
+    final CacheKey cacheKey = new CacheKey();
+    cacheKey.update(NumericRowKeyMap.class);
+    cacheKey.update(rowKey);
+    return cacheKey;
+  }
+
+  //
+  // NUMERIC ROW KEY
+  //
+
+  /**
+   * Creates the row key of a nested result map. When {@code numericRowKeyEnabled} is set and every column of the key is
+   * read by an integer type handler, the key is a {@code long[]} made of a slot identifying the result map and the
+   * column prefix, a mask of the null columns and the column values. Otherwise it is a {@link CacheKey}.
+   */
+  private Object createNestedRowKey(ResultMap resultMap, ResultSetWrapper rsw, String columnPrefix) throws SQLException {
+    if (configuration.isNumericRowKeyEnabled()) {
+      final int[] columns = getNumericRowKeyColumns(resultMap, rsw, columnPrefix);
+      if (columns != NOT_NUMERIC) {
+        return createNumericRowKey(rsw.getResultSet(), columns);
+      }
+    }
+    return createRowKey(resultMap, rsw, columnPrefix);
+  }
+
+  private Object createNumericRowKey(ResultSet rs, int[] columns) throws SQLException {
+    final long[] key = new long[columns.length + 1];
+    key[0] = columns[0];
+    long nullColumns = 0;
+    boolean foundValues = false;
+    for (int i = 1; i < columns.length; i++) {
+      final long value = rs.getLong(columns[i]);
+      if (rs.wasNull()) {
+        nullColumns |= 1L << i;
+      } else {
+        key[i + 1] = value;
+        foundValues = true;
+      }
+    }
+    // same as createRowKey: a row without values has no key unless returnInstanceForEmptyRow is enabled
+    if (!foundValues && (columns.length == 1 || !configuration.isReturnInstanceForEmptyRow())) {
+      return CacheKey.NULL_CACHE_KEY;
+    }
+    key[1] = nullColumns;
+    return key;
+  }
+
+  private int[] getNumericRowKeyColumns(ResultMap resultMap, ResultSetWrapper rsw, String columnPrefix) {
+    final Map<String, int[]> columnsByPrefix = numericRowKeyColumns.computeIfAbsent(resultMap, k -> new HashMap<>());
+    int[] columns = columnsByPrefix.get(columnPrefix);
+    if (columns == null) {
+      columns = resolveNumericRowKeyColumns(resultMap, rsw, columnPrefix);
+      columnsByPrefix.put(columnPrefix, columns);
+    }
+    return columns;
+  }
+
+  private int[] resolveNumericRowKeyColumns(ResultMap resultMap, ResultSetWrapper rsw, String columnPrefix) {
+    final List<ResultMapping> resultMappings = getResultMappingsForRowKey(resultMap);
+    if (resultMappings.isEmpty() || resultMappings.size() > 62) {
+      return NOT_NUMERIC;
+    }
+    final int[] columnIndexes = resultMap.getIdResultMappings().isEmpty()
+        ? rsw.getPropertyMappingColumnIndexes(resultMap, columnPrefix)
+        : rsw.getIdMappingColumnIndexes(resultMap, columnPrefix);
+    final int[] columns = new int[resultMappings.size() + 1];
+    int count = 0;
+    columns[count++] = numericRowKeySlots++;
+    for (int i = 0; i < resultMappings.size(); i++) {
+      final ResultMapping resultMapping = resultMappings.get(i);
+      // the columns createRowKey ignores are ignored as well
+      if (resultMapping.isSimple() && columnIndexes[i] > 0) {
+        if (!isIntegerTypeHandler(resultMapping.getTypeHandler())) {
+          return NOT_NUMERIC;
+        }
+        columns[count++] = columnIndexes[i];
+      }
+    }
+    return Arrays.copyOf(columns, count);
+  }
+
+  private boolean isIntegerTypeHandler(TypeHandler<?> typeHandler) {
+    final Class<?> type = typeHandler == null ? null : typeHandler.getClass();
+    return type == LongTypeHandler.class || type == IntegerTypeHandler.class || type == ShortTypeHandler.class
+        || type == ByteTypeHandler.class;
+  }
+
+  private Object getNestedResultObject(Object rowKey) {
+    return rowKey instanceof long[] ? numericNestedResultObjects.get((long[]) rowKey) : nestedResultObjects.get(rowKey);
+  }
+
+  private void putNestedResultObject(Object rowKey, Object rowValue) {
+    if (rowKey instanceof long[]) {
+      numericNestedResultObjects.put((long[]) rowKey, rowValue);
+    } else {
+      nestedResultObjects.put((CacheKey) rowKey, rowValue);
+    }
+  }
+
+  private void clearNestedResultObjects() {
+    if (nestedResultObjects.size() > NESTED_RESULT_OBJECTS_RETAINED_SIZE) {
+      nestedResultObjects = new HashMap<>();
+    } else {
+      nestedResultObjects.clear();
+    }
+    numericNestedResultObjects.clear();
+  }
+
   private List<ResultMapping> getResultMappingsForRowKey(ResultMap resultMap) {
     List<ResultMapping> resultMappings = resultMap.getIdResultMappings();
     if (resultMappings.isEmpty()) {
@@ -1046,15 +1483,16 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return resultMappings;
   }
 
-  private void createRowKeyForMappedProperties(ResultMap resultMap, ResultSetWrapper rsw, CacheKey cacheKey, List<ResultMapping> resultMappings, String columnPrefix) throws SQLException {
-    for (ResultMapping resultMapping : resultMappings) {
+  private void createRowKeyForMappedProperties(ResultSetWrapper rsw, CacheKey cacheKey, List<ResultMapping> resultMappings, int[] columnIndexes,
+      String columnPrefix) throws SQLException {
+    for (int i = 0; i < resultMappings.size(); i++) {
+      final ResultMapping resultMapping = resultMappings.get(i);
       if (resultMapping.isSimple()) {
         final String column = prependPrefix(resultMapping.getColumn(), columnPrefix);
         final TypeHandler<?> th = resultMapping.getTypeHandler();
-        List<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
         // Issue #114
-        if (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
-          final Object value = th.getResult(rsw.getResultSet(), column);
+        if (columnIndexes[i] > 0) {
+          final Object value = th.getResult(rsw.getResultSet(), columnIndexes[i]);
           if (value != null || configuration.isReturnInstanceForEmptyRow()) {
             cacheKey.update(column);
             cacheKey.update(value);
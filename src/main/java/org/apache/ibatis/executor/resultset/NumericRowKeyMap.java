@@ -0,0 +1,125 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from row keys made of longs to the objects created for them.
+ * <p>
+ * Compared to a {@code HashMap<CacheKey, Object>} there is no entry object per row and the keys hold no boxed values.
+ */
+final class NumericRowKeyMap {
+
+  private static final int DEFAULT_CAPACITY = 64;
+
+  private long[][] keys;
+  private int[] hashes;
+  private Object[] values;
+  private int size;
+
+  NumericRowKeyMap() {
+    allocate(DEFAULT_CAPACITY);
+  }
+
+  int size() {
+    return size;
+  }
+
+  Object get(long[] key) {
+    final int hash = hash(key);
+    final int mask = keys.length - 1;
+    for (int i = hash & mask; keys[i] != null; i = (i + 1) & mask) {
+      if (hashes[i] == hash && Arrays.equals(keys[i], key)) {
+        return values[i];
+      }
+    }
+    return null;
+  }
+
+  void put(long[] key, Object value) {
+    if ((size + 1) * 4 > keys.length * 3) {
+      resize(keys.length << 1);
+    }
+    final int hash = hash(key);
+    final int mask = keys.length - 1;
+    int i = hash & mask;
+    for (; keys[i] != null; i = (i + 1) & mask) {
+      if (hashes[i] == hash && Arrays.equals(keys[i], key)) {
+        values[i] = value;
+        return;
+      }
+    }
+    keys[i] = key;
+    hashes[i] = hash;
+    values[i] = value;
+    size++;
+  }
+
+  void clear() {
+    if (size == 0) {
+      return;
+    }
+    if (keys.length > DEFAULT_CAPACITY) {
+      // do not keep (and clear on every parent) a table sized for the largest parent seen so far
+      allocate(DEFAULT_CAPACITY);
+    } else {
+      Arrays.fill(keys, null);
+      Arrays.fill(values, null);
+    }
+    size = 0;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity][];
+    hashes = new int[capacity];
+    values = new Object[capacity];
+  }
+
+  private void resize(int capacity) {
+    final long[][] oldKeys = keys;
+    final int[] oldHashes = hashes;
+    final Object[] oldValues = values;
+    allocate(capacity);
+    final int mask = capacity - 1;
+    for (int j = 0; j < oldKeys.length; j++) {
+      if (oldKeys[j] != null) {
+        int i = oldHashes[j] & mask;
+        while (keys[i] != null) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        hashes[i] = oldHashes[j];
+        values[i] = oldValues[j];
+      }
+    }
+  }
+
+  private static int hash(long[] key) {
+    long h = key.length;
+    for (long value : key) {
+      h = Long.rotateLeft(h ^ (value * 0x87c37b91114253d5L), 31) * 0x4cf5ad432745937fL;
+    }
+    // finalization step of MurmurHash3
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+
+}
@@ -29,6 +29,7 @@ import java.util.Set;
 
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.ObjectTypeHandler;
@@ -46,9 +47,12 @@ public class ResultSetWrapper {
   private final List<String> columnNames = new ArrayList<>();
   private final List<String> classNames = new ArrayList<>();
   private final List<JdbcType> jdbcTypes = new ArrayList<>();
+  private final Map<String, Integer> columnIndexMap = new HashMap<>();
   private final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlerMap = new HashMap<>();
   private final Map<String, List<String>> mappedColumnNamesMap = new HashMap<>();
   private final Map<String, List<String>> unMappedColumnNamesMap = new HashMap<>();
+  private final Map<String, int[]> propertyMappingColumnIndexesMap = new HashMap<>();
+  private final Map<String, int[]> idMappingColumnIndexesMap = new HashMap<>();
 
   public ResultSetWrapper(ResultSet rs, Configuration configuration) throws SQLException {
     super();
@@ -60,6 +64,8 @@ public class ResultSetWrapper {
       columnNames.add(configuration.isUseColumnLabel() ? metaData.getColumnLabel(i) : metaData.getColumnName(i));
       jdbcTypes.add(JdbcType.forCode(metaData.getColumnType(i)));
       classNames.add(metaData.getColumnClassName(i));
+      // like ResultSet#findColumn, the first column wins when a name is duplicated
+      columnIndexMap.putIfAbsent(columnNames.get(i - 1).toUpperCase(Locale.ENGLISH), i);
     }
   }
 
@@ -80,12 +86,73 @@ public class ResultSetWrapper {
   }
 
   public JdbcType getJdbcType(String columnName) {
-    for (int i = 0; i < columnNames.size(); i++) {
-      if (columnNames.get(i).equalsIgnoreCase(columnName)) {
-        return jdbcTypes.get(i);
+    final int columnIndex = getColumnIndex(columnName);
+    return columnIndex < 0 ? null : jdbcTypes.get(columnIndex - 1);
+  }
+
+  /**
+   * Gets the 1-based index of a column in the result set. The column name is compared ignoring case.
+   *
+   * @param columnName
+   *          the column name
+   * @return the column index, or -1 if the result set does not contain the column
+   */
+  public int getColumnIndex(String columnName) {
+    if (columnName == null) {
+      return -1;
+    }
+    final Integer columnIndex = columnIndexMap.get(columnName.toUpperCase(Locale.ENGLISH));
+    return columnIndex == null ? -1 : columnIndex;
+  }
+
+  /**
+   * Gets the 1-based column indexes of the property mappings of a result map, resolved once per result set.
+   *
+   * @param resultMap
+   *          the result map
+   * @param columnPrefix
+   *          the column prefix
+   * @return the column indexes in the order of {@link ResultMap#getPropertyResultMappings()}, -1 for mappings without a
+   *         column in the result set (or mapped to a nested result map)
+   */
+  public int[] getPropertyMappingColumnIndexes(ResultMap resultMap, String columnPrefix) {
+    return propertyMappingColumnIndexesMap.computeIfAbsent(getMapKey(resultMap, columnPrefix),
+        k -> resolveColumnIndexes(resultMap.getPropertyResultMappings(), columnPrefix));
+  }
+
+  /**
+   * Gets the 1-based column indexes of the id mappings of a result map, resolved once per result set.
+   *
+   * @param resultMap
+   *          the result map
+   * @param columnPrefix
+   *          the column prefix
+   * @return the column indexes in the order of {@link ResultMap#getIdResultMappings()}, -1 for mappings without a
+   *         column in the result set (or mapped to a nested result map)
+   */
+  public int[] getIdMappingColumnIndexes(ResultMap resultMap, String columnPrefix) {
+    return idMappingColumnIndexesMap.computeIfAbsent(getMapKey(resultMap, columnPrefix),
+        k -> resolveColumnIndexes(resultMap.getIdResultMappings(), columnPrefix));
+  }
+
+  private int[] resolveColumnIndexes(List<ResultMapping> resultMappings, String columnPrefix) {
+    final int[] columnIndexes = new int[resultMappings.size()];
+    for (int i = 0; i < columnIndexes.length; i++) {
+      final ResultMapping resultMapping = resultMappings.get(i);
+      if (resultMapping.getNestedResultMapId() != null || resultMapping.getColumn() == null) {
+        columnIndexes[i] = -1;
+      } else {
+        columnIndexes[i] = getColumnIndex(prependPrefix(resultMapping.getColumn(), columnPrefix));
       }
     }
-    return null;
+    return columnIndexes;
+  }
+
+  private String prependPrefix(String columnName, String prefix) {
+    if (columnName == null || columnName.length() == 0 || prefix == null || prefix.length() == 0) {
+      return columnName;
+    }
+    return prefix + columnName;
   }
 
   /**
@@ -0,0 +1,90 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A reusable buffer of raw rows used by the parallel result mapping.
+ * <p>
+ * The column values are read by the thread owning the result set, then the batch is forked to a
+ * {@link java.util.concurrent.ForkJoinPool} which creates the row objects. A batch can be read again once its rows
+ * have been delivered.
+ */
+final class RowBatch extends RecursiveAction {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient CompiledRowMapper rowMapper;
+  private final int columnCount;
+  private final Object[] values;
+  private final Object[] rows;
+  private int size;
+
+  RowBatch(CompiledRowMapper rowMapper, int capacity) {
+    this.rowMapper = rowMapper;
+    this.columnCount = rowMapper.getColumnCount();
+    this.values = new Object[capacity * columnCount];
+    this.rows = new Object[capacity];
+  }
+
+  /**
+   * Reads the next rows of the result set into this batch.
+   *
+   * @param rs
+   *          the result set
+   * @param maxRows
+   *          the maximum number of rows to read
+   * @return true if this batch is full, meaning the result set may have more rows
+   * @throws SQLException
+   *           if reading the result set fails
+   */
+  boolean read(ResultSet rs, int maxRows) throws SQLException {
+    reinitialize();
+    size = 0;
+    final int limit = Math.min(rows.length, maxRows);
+    while (size < limit && !rs.isClosed() && rs.next()) {
+      rowMapper.read(rs, values, size * columnCount);
+      size++;
+    }
+    return size == rows.length;
+  }
+
+  int size() {
+    return size;
+  }
+
+  Object getRow(int index) {
+    return rows[index];
+  }
+
+  void release() {
+    Arrays.fill(values, 0, size * columnCount, null);
+    Arrays.fill(rows, 0, size, null);
+    size = 0;
+  }
+
+  @Override
+  protected void compute() {
+    for (int i = 0; i < size; i++) {
+      rows[i] = rowMapper.map(values, i * columnCount);
+    }
+  }
+
+}
@@ -50,11 +50,22 @@ public abstract class BaseStatementHandler implements StatementHandler {
 
   protected BoundSql boundSql;
 
+  /**
+   * Whether the rows are streamed to a result handler or a cursor rather than collected into a list.
+   */
+  protected boolean streaming;
+
+  /**
+   * Whether the rows are read through a cursor.
+   */
+  protected boolean cursor;
+
   protected BaseStatementHandler(Executor executor, MappedStatement mappedStatement, Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
     this.configuration = mappedStatement.getConfiguration();
     this.executor = executor;
     this.mappedStatement = mappedStatement;
     this.rowBounds = rowBounds;
+    this.streaming = resultHandler != null;
 
     this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
     this.objectFactory = configuration.getObjectFactory();
@@ -119,12 +130,36 @@ public abstract class BaseStatementHandler implements StatementHandler {
       stmt.setFetchSize(fetchSize);
       return;
     }
+    if (configuration.isAdaptiveFetchSizeEnabled()) {
+      FetchSizeAdvisor advisor = configuration.getFetchSizeAdvisor();
+      fetchSize = streaming ? Integer.valueOf(advisor.getStreamingFetchSize(stmt, mappedStatement, cursor)) : advisor.getFetchSize(mappedStatement);
+      if (fetchSize != null) {
+        stmt.setFetchSize(fetchSize);
+        return;
+      }
+    }
     Integer defaultFetchSize = configuration.getDefaultFetchSize();
     if (defaultFetchSize != null) {
       stmt.setFetchSize(defaultFetchSize);
     }
   }
 
+  /**
+   * Applies the fetch size of a streaming query to a statement that is about to be executed for a cursor.
+   *
+   * @param stmt
+   *          the statement
+   * @throws SQLException
+   *           if the fetch size cannot be set
+   */
+  protected void prepareCursor(Statement stmt) throws SQLException {
+    if (!streaming && configuration.isAdaptiveFetchSizeEnabled() && mappedStatement.getFetchSize() == null) {
+      streaming = true;
+      cursor = true;
+      setFetchSize(stmt);
+    }
+  }
+
   protected void closeStatement(Statement statement) {
     try {
       if (statement != null) {
@@ -74,6 +74,7 @@ public class CallableStatementHandler extends BaseStatementHandler {
   @Override
   public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
     CallableStatement cs = (CallableStatement) statement;
+    prepareCursor(cs);
     cs.execute();
     Cursor<E> resultList = resultSetHandler.handleCursorResultSets(cs);
     resultSetHandler.handleOutputParameters(cs);
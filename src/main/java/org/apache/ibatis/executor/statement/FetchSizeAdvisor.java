@@ -0,0 +1,171 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.mapping.StatementType;
+
+/**
+ * Chooses the fetch size of the statements that do not specify one, from the number of rows they returned before.
+ * <p>
+ * A query whose results are collected into a list gets a fetch size slightly above its usual row count, so that its
+ * rows are usually fetched in one round-trip, up to the maximum fetch size. A query whose rows are streamed to a
+ * cursor or a result handler gets a fetch size of at most the maximum. A cursor also gets the streaming setting of the
+ * driver: MySQL Connector/J only streams with a fetch size of {@link Integer#MIN_VALUE}. It is not applied to result
+ * handlers, which may run other statements on the connection while the rows are read. PostgreSQL only uses the fetch
+ * size when auto-commit is off.
+ *
+ * @since 3.5.5
+ */
+public class FetchSizeAdvisor {
+
+  private static final Log log = LogFactory.getLog(FetchSizeAdvisor.class);
+
+  /**
+   * The weight of the last execution in the average row count.
+   */
+  private static final double SMOOTHING = 0.25;
+
+  private final int maxFetchSize;
+  private final ConcurrentMap<String, RowCountAverage> rowCounts = new ConcurrentHashMap<>();
+  private volatile String databaseProductName;
+
+  public FetchSizeAdvisor(int maxFetchSize) {
+    if (maxFetchSize < 1) {
+      throw new IllegalArgumentException("The max adaptive fetch size must be positive but was " + maxFetchSize);
+    }
+    this.maxFetchSize = maxFetchSize;
+  }
+
+  public int getMaxFetchSize() {
+    return maxFetchSize;
+  }
+
+  /**
+   * Records the number of rows returned by an execution of a statement.
+   *
+   * @param ms
+   *          the statement
+   * @param rowCount
+   *          the number of rows
+   */
+  public void recordRowCount(MappedStatement ms, int rowCount) {
+    rowCounts.computeIfAbsent(ms.getId(), k -> new RowCountAverage()).add(rowCount);
+  }
+
+  /**
+   * Gets the average number of rows returned by a statement.
+   *
+   * @param ms
+   *          the statement
+   * @return the average number of rows, or -1 if the statement was not executed yet
+   */
+  public double getAverageRowCount(MappedStatement ms) {
+    RowCountAverage average = rowCounts.get(ms.getId());
+    return average == null ? -1 : average.get();
+  }
+
+  /**
+   * Gets the fetch size of a statement whose results are collected into a list.
+   *
+   * @param ms
+   *          the statement
+   * @return the fetch size, or null if the statement was not executed yet
+   */
+  public Integer getFetchSize(MappedStatement ms) {
+    final double average = getAverageRowCount(ms);
+    if (average < 0) {
+      return null;
+    }
+    // one more row, so that the driver usually finds the end of the results in the same round-trip
+    return (int) Math.min(maxFetchSize, Math.ceil(average) + 1);
+  }
+
+  /**
+   * Gets the fetch size of a statement whose rows are streamed to a cursor or a result handler.
+   *
+   * @param stmt
+   *          the statement
+   * @param ms
+   *          the mapped statement
+   * @param cursor
+   *          true if the rows are read through a cursor, which may stream them row by row
+   * @return the fetch size
+   * @throws SQLException
+   *           if the database metadata cannot be read
+   */
+  public int getStreamingFetchSize(Statement stmt, MappedStatement ms, boolean cursor) throws SQLException {
+    final Connection connection = stmt.getConnection();
+    final String productName = getDatabaseProductName(connection);
+    if (cursor && "MySQL".equals(productName) && canStreamRowByRow(ms)) {
+      return Integer.MIN_VALUE;
+    }
+    if ("PostgreSQL".equals(productName) && connection.getAutoCommit() && log.isDebugEnabled()) {
+      log.debug("The rows of '" + ms.getId() + "' are not streamed because PostgreSQL ignores the fetch size in auto-commit mode.");
+    }
+    final Integer fetchSize = getFetchSize(ms);
+    return fetchSize == null ? maxFetchSize : fetchSize;
+  }
+
+  private String getDatabaseProductName(Connection connection) throws SQLException {
+    String productName = databaseProductName;
+    if (productName == null) {
+      productName = connection.getMetaData().getDatabaseProductName();
+      databaseProductName = productName;
+    }
+    return productName;
+  }
+
+  /**
+   * Row-by-row streaming locks the connection until all the rows are read, so nested queries cannot run meanwhile.
+   */
+  private static boolean canStreamRowByRow(MappedStatement ms) {
+    if (ms.getStatementType() == StatementType.CALLABLE
+        || ms.getResultSetType() != null && ms.getResultSetType() != ResultSetType.DEFAULT
+            && ms.getResultSetType() != ResultSetType.FORWARD_ONLY) {
+      return false;
+    }
+    for (ResultMap resultMap : ms.getResultMaps()) {
+      if (resultMap.hasNestedQueries()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final class RowCountAverage {
+    private double average = -1;
+
+    synchronized void add(int rowCount) {
+      average = average < 0 ? rowCount : average + SMOOTHING * (rowCount - average);
+    }
+
+    synchronized double get() {
+      return average;
+    }
+  }
+
+}
@@ -68,6 +68,7 @@ public class PreparedStatementHandler extends BaseStatementHandler {
   @Override
   public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
     PreparedStatement ps = (PreparedStatement) statement;
+    prepareCursor(ps);
     ps.execute();
     return resultSetHandler.handleCursorResultSets(ps);
   }
@@ -78,6 +78,7 @@ public class SimpleStatementHandler extends BaseStatementHandler {
   @Override
   public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
     String sql = boundSql.getSql();
+    prepareCursor(statement);
     statement.execute(sql);
     return resultSetHandler.handleCursorResultSets(statement);
   }
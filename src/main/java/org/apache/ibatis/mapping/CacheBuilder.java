@@ -23,13 +23,17 @@ import java.util.Properties;
 
 import org.apache.ibatis.builder.InitializingObject;
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheCopier;
 import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheWeigher;
 import org.apache.ibatis.cache.decorators.BlockingCache;
 import org.apache.ibatis.cache.decorators.LoggingCache;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.ScheduledCache;
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.impl.ConcurrentCache;
+import org.apache.ibatis.cache.impl.OffHeapCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
@@ -42,8 +46,11 @@ public class CacheBuilder {
   private Class<? extends Cache> implementation;
   private final List<Class<? extends Cache>> decorators;
   private Integer size;
+  private Long maxWeight;
+  private Class<? extends CacheWeigher> weigher;
   private Long clearInterval;
   private boolean readWrite;
+  private Class<? extends CacheCopier> copier;
   private Properties properties;
   private boolean blocking;
 
@@ -69,6 +76,32 @@ public class CacheBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum total weight of the entries, applied to a weight bounded eviction decorator.
+   *
+   * @param maxWeight
+   *          the max weight
+   * @return this builder
+   * @since 3.5.5
+   */
+  public CacheBuilder maxWeight(Long maxWeight) {
+    this.maxWeight = maxWeight;
+    return this;
+  }
+
+  /**
+   * Sets the weigher of the entries, applied to a weight bounded eviction decorator.
+   *
+   * @param weigher
+   *          the weigher type, it must have a public no-arg constructor
+   * @return this builder
+   * @since 3.5.5
+   */
+  public CacheBuilder weigher(Class<? extends CacheWeigher> weigher) {
+    this.weigher = weigher;
+    return this;
+  }
+
   public CacheBuilder clearInterval(Long clearInterval) {
     this.clearInterval = clearInterval;
     return this;
@@ -79,6 +112,19 @@ public class CacheBuilder {
     return this;
   }
 
+  /**
+   * Sets the copier of the values of a read-write cache.
+   *
+   * @param copier
+   *          the copier type, it must have a public no-arg constructor
+   * @return this builder
+   * @since 3.5.5
+   */
+  public CacheBuilder copier(Class<? extends CacheCopier> copier) {
+    this.copier = copier;
+    return this;
+  }
+
   public CacheBuilder blocking(boolean blocking) {
     this.blocking = blocking;
     return this;
@@ -99,7 +145,13 @@ public class CacheBuilder {
         cache = newCacheDecoratorInstance(decorator, cache);
         setCacheProperties(cache);
       }
-      cache = setStandardDecorators(cache);
+      cache = setStandardDecorators(cache, true, readWrite);
+    } else if (ConcurrentCache.class.equals(cache.getClass())) {
+      // it evicts by itself and is thread safe, so neither the eviction decorators nor the lock are needed
+      cache = setStandardDecorators(cache, false, readWrite);
+    } else if (OffHeapCache.class.equals(cache.getClass())) {
+      // it also serializes the values by itself, so they are always copied
+      cache = setStandardDecorators(cache, false, false);
     } else if (!LoggingCache.class.isAssignableFrom(cache.getClass())) {
       cache = new LoggingCache(cache);
     }
@@ -115,21 +167,33 @@ public class CacheBuilder {
     }
   }
 
-  private Cache setStandardDecorators(Cache cache) {
+  private Cache setStandardDecorators(Cache cache, boolean synchronize, boolean copy) {
     try {
       MetaObject metaCache = SystemMetaObject.forObject(cache);
       if (size != null && metaCache.hasSetter("size")) {
         metaCache.setValue("size", size);
       }
+      if (weigher != null && metaCache.hasSetter("weigher")) {
+        metaCache.setValue("weigher", weigher.getDeclaredConstructor().newInstance());
+      }
+      if (maxWeight != null && metaCache.hasSetter("maxWeight")) {
+        metaCache.setValue("maxWeight", maxWeight);
+      }
       if (clearInterval != null) {
         cache = new ScheduledCache(cache);
         ((ScheduledCache) cache).setClearInterval(clearInterval);
       }
-      if (readWrite) {
-        cache = new SerializedCache(cache);
+      if (copy) {
+        SerializedCache serializedCache = new SerializedCache(cache);
+        if (copier != null) {
+          serializedCache.setCopier(copier.getDeclaredConstructor().newInstance());
+        }
+        cache = serializedCache;
       }
       cache = new LoggingCache(cache);
-      cache = new SynchronizedCache(cache);
+      if (synchronize) {
+        cache = new SynchronizedCache(cache);
+      }
       if (blocking) {
         cache = new BlockingCache(cache);
       }
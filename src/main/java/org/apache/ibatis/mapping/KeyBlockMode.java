@@ -0,0 +1,32 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.mapping;
+
+/**
+ * How a selectKey statement that allocates keys in blocks returns the keys of a block.
+ *
+ * @since 3.5.5
+ */
+public enum KeyBlockMode {
+  /**
+   * One row with the first of the consecutive keys of the block, e.g. a sequence incremented by the block size.
+   */
+  SEQUENCE,
+  /**
+   * One row per key of the block.
+   */
+  ROWS
+}
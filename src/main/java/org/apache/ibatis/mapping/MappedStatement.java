@@ -47,6 +47,8 @@ public final class MappedStatement {
   private boolean flushCacheRequired;
   private boolean useCache;
   private boolean resultOrdered;
+  private boolean parallelMapping;
+  private String[] cacheTags;
   private SqlCommandType sqlCommandType;
   private KeyGenerator keyGenerator;
   private String[] keyProperties;
@@ -144,6 +146,21 @@ public final class MappedStatement {
       return this;
     }
 
+    public Builder parallelMapping(boolean parallelMapping) {
+      mappedStatement.parallelMapping = parallelMapping;
+      return this;
+    }
+
+    public Builder cacheTags(String cacheTags) {
+      mappedStatement.cacheTags = delimitedStringToArray(cacheTags);
+      if (mappedStatement.cacheTags != null) {
+        for (int i = 0; i < mappedStatement.cacheTags.length; i++) {
+          mappedStatement.cacheTags[i] = mappedStatement.cacheTags[i].trim();
+        }
+      }
+      return this;
+    }
+
     public Builder keyGenerator(KeyGenerator keyGenerator) {
       mappedStatement.keyGenerator = keyGenerator;
       return this;
@@ -266,6 +283,27 @@ public final class MappedStatement {
     return resultOrdered;
   }
 
+  /**
+   * Returns whether the rows of this statement are mapped to objects by a thread pool while the result set is being read.
+   *
+   * @return true if the result mapping is pipelined
+   * @since 3.5.5
+   */
+  public boolean isParallelMapping() {
+    return parallelMapping;
+  }
+
+  /**
+   * Returns the cache tags of this statement: the tags its cached results depend on for a select, the tags it
+   * invalidates otherwise. A tag may refer to parameter properties, like {@code blog:#{id}}.
+   *
+   * @return the cache tags, or null if none
+   * @since 3.5.5
+   */
+  public String[] getCacheTags() {
+    return cacheTags;
+  }
+
   public String getDatabaseId() {
     return databaseId;
   }
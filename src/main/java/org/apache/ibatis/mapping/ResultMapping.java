@@ -38,6 +38,8 @@ public class ResultMapping {
   private TypeHandler<?> typeHandler;
   private String nestedResultMapId;
   private String nestedQueryId;
+  private String batchQueryId;
+  private String batchKeyProperty;
   private Set<String> notNullColumns;
   private String columnPrefix;
   private List<ResultFlag> flags;
@@ -92,6 +94,16 @@ public class ResultMapping {
       return this;
     }
 
+    public Builder batchQueryId(String batchQueryId) {
+      resultMapping.batchQueryId = batchQueryId;
+      return this;
+    }
+
+    public Builder batchKeyProperty(String batchKeyProperty) {
+      resultMapping.batchKeyProperty = batchKeyProperty;
+      return this;
+    }
+
     public Builder resultSet(String resultSet) {
       resultMapping.resultSet = resultSet;
       return this;
@@ -154,6 +166,10 @@ public class ResultMapping {
       if (resultMapping.nestedResultMapId == null && resultMapping.column == null && resultMapping.composites.isEmpty()) {
         throw new IllegalStateException("Mapping is missing column attribute for property " + resultMapping.property);
       }
+      if (resultMapping.batchQueryId != null
+          && (resultMapping.nestedQueryId == null || resultMapping.batchKeyProperty == null || !resultMapping.composites.isEmpty())) {
+        throw new IllegalStateException("A batch select needs a nested select, a single column and a batch key in property " + resultMapping.property);
+      }
       if (resultMapping.getResultSet() != null) {
         int numColumns = 0;
         if (resultMapping.column != null) {
@@ -211,6 +227,26 @@ public class ResultMapping {
     return nestedQueryId;
   }
 
+  /**
+   * Gets the id of the statement that retrieves the nested results of several rows at once.
+   *
+   * @return the batch statement id, or null if the nested select is run row by row
+   * @since 3.5.5
+   */
+  public String getBatchQueryId() {
+    return batchQueryId;
+  }
+
+  /**
+   * Gets the property of the nested results that holds the value of the column of the parent row.
+   *
+   * @return the batch key property
+   * @since 3.5.5
+   */
+  public String getBatchKeyProperty() {
+    return batchKeyProperty;
+  }
+
   public Set<String> getNotNullColumns() {
     return notNullColumns;
   }
@@ -0,0 +1,191 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.executor.BatchResult;
+
+/**
+ * An asynchronous view of a {@link SqlSession}.
+ * <p>
+ * Every method returns immediately. The work is run in submission order on the executor of the session, one call at a
+ * time, so all calls share the connection and the transaction of the underlying session.
+ *
+ * @since 3.5.5
+ */
+public interface AsyncSqlSession extends Closeable {
+
+  /**
+   * Retrieve a single row mapped from the statement key.
+   * @param <T> the returned object type
+   * @param statement Unique identifier matching the statement to use.
+   * @return a future of the mapped object
+   */
+  <T> CompletableFuture<T> selectOne(String statement);
+
+  /**
+   * Retrieve a single row mapped from the statement key and parameter.
+   * @param <T> the returned object type
+   * @param statement Unique identifier matching the statement to use.
+   * @param parameter A parameter object to pass to the statement.
+   * @return a future of the mapped object
+   */
+  <T> CompletableFuture<T> selectOne(String statement, Object parameter);
+
+  /**
+   * Retrieve a list of mapped objects from the statement key.
+   * @param <E> the returned list element type
+   * @param statement Unique identifier matching the statement to use.
+   * @return a future of the list of mapped objects
+   */
+  <E> CompletableFuture<List<E>> selectList(String statement);
+
+  /**
+   * Retrieve a list of mapped objects from the statement key and parameter.
+   * @param <E> the returned list element type
+   * @param statement Unique identifier matching the statement to use.
+   * @param parameter A parameter object to pass to the statement.
+   * @return a future of the list of mapped objects
+   */
+  <E> CompletableFuture<List<E>> selectList(String statement, Object parameter);
+
+  /**
+   * Retrieve a list of mapped objects from the statement key and parameter, within the specified row bounds.
+   * @param <E> the returned list element type
+   * @param statement Unique identifier matching the statement to use.
+   * @param parameter A parameter object to pass to the statement.
+   * @param rowBounds  Bounds to limit object retrieval
+   * @return a future of the list of mapped objects
+   */
+  <E> CompletableFuture<List<E>> selectList(String statement, Object parameter, RowBounds rowBounds);
+
+  /**
+   * Retrieve a map of mapped objects keyed by one of their properties.
+   * @param <K> the returned Map keys type
+   * @param <V> the returned Map values type
+   * @param statement Unique identifier matching the statement to use.
+   * @param parameter A parameter object to pass to the statement.
+   * @param mapKey The property to use as key for each value in the list.
+   * @return a future of the map containing key pair data
+   */
+  <K, V> CompletableFuture<Map<K, V>> selectMap(String statement, Object parameter, String mapKey);
+
+  /**
+   * Retrieve mapped objects one by one through a cursor. The consumer is called on the executor of the session.
+   * @param <T> the returned object type
+   * @param statement Unique identifier matching the statement to use.
+   * @param parameter A parameter object to pass to the statement.
+   * @param consumer the consumer of the mapped objects
+   * @return a future completed when the cursor has been consumed and closed
+   */
+  <T> CompletableFuture<Void> selectCursor(String statement, Object parameter, Consumer<? super T> consumer);
+
+  /**
+   * Retrieve mapped objects one by one with a {@code ResultHandler}. The handler is called on the executor of the
+   * session.
+   * @param statement Unique identifier matching the statement to use.
+   * @param parameter A parameter object to pass to the statement.
+   * @param handler ResultHandler that will handle each retrieved row
+   * @return a future completed when all the rows have been handled
+   */
+  CompletableFuture<Void> select(String statement, Object parameter, ResultHandler<?> handler);
+
+  /**
+   * Execute an insert statement with the given parameter object.
+   * @param statement Unique identifier matching the statement to execute.
+   * @param parameter A parameter object to pass to the statement.
+   * @return a future of the number of rows affected by the insert.
+   */
+  CompletableFuture<Integer> insert(String statement, Object parameter);
+
+  /**
+   * Execute an update statement with the given parameter object.
+   * @param statement Unique identifier matching the statement to execute.
+   * @param parameter A parameter object to pass to the statement.
+   * @return a future of the number of rows affected by the update.
+   */
+  CompletableFuture<Integer> update(String statement, Object parameter);
+
+  /**
+   * Execute a delete statement with the given parameter object.
+   * @param statement Unique identifier matching the statement to execute.
+   * @param parameter A parameter object to pass to the statement.
+   * @return a future of the number of rows affected by the delete.
+   */
+  CompletableFuture<Integer> delete(String statement, Object parameter);
+
+  /**
+   * Flushes batch statements and commits the database connection.
+   * @return a future completed after the commit
+   */
+  CompletableFuture<Void> commit();
+
+  /**
+   * Discards pending batch statements and rolls the database connection back.
+   * @return a future completed after the rollback
+   */
+  CompletableFuture<Void> rollback();
+
+  /**
+   * Flushes batch statements.
+   * @return a future of the list of updated records
+   */
+  CompletableFuture<List<BatchResult>> flushStatements();
+
+  /**
+   * Runs any work with the underlying session, on the executor of the session and after the calls submitted before.
+   * The session must not be used outside of the work.
+   * @param <T> the result type
+   * @param work the work
+   * @return a future of the result of the work
+   */
+  <T> CompletableFuture<T> execute(Function<SqlSession, T> work);
+
+  /**
+   * Retrieves an asynchronous mapper. The methods of the mapper must return {@code CompletableFuture}, whose type
+   * argument is used as the return type of the mapped statement.
+   * @param <T> the mapper type
+   * @param type Mapper interface class
+   * @return a mapper bound to this session
+   */
+  <T> T getMapper(Class<T> type);
+
+  /**
+   * Retrieves current configuration.
+   * @return Configuration
+   */
+  Configuration getConfiguration();
+
+  /**
+   * Closes the underlying session after the calls submitted before.
+   * @return a future completed when the session has been closed
+   */
+  CompletableFuture<Void> closeAsync();
+
+  /**
+   * Closes the underlying session after the calls submitted before, and waits until it is closed. Use
+   * {@link #closeAsync()} to close the session from a call running on the executor of the session.
+   */
+  @Override
+  void close();
+
+}
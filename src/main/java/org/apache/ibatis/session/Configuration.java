@@ -25,6 +25,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 
 import org.apache.ibatis.binding.MapperRegistry;
@@ -34,10 +37,16 @@ import org.apache.ibatis.builder.ResultMapResolver;
 import org.apache.ibatis.builder.annotation.MethodResolver;
 import org.apache.ibatis.builder.xml.XMLStatementBuilder;
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheTagVersions;
+import org.apache.ibatis.cache.ReflectiveCopier;
+import org.apache.ibatis.cache.SerializationCopier;
 import org.apache.ibatis.cache.decorators.FifoCache;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.SoftCache;
 import org.apache.ibatis.cache.decorators.WeakCache;
+import org.apache.ibatis.cache.decorators.WeightedLruCache;
+import org.apache.ibatis.cache.impl.ConcurrentCache;
+import org.apache.ibatis.cache.impl.OffHeapCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.datasource.jndi.JndiDataSourceFactory;
 import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
@@ -47,13 +56,16 @@ import org.apache.ibatis.executor.CachingExecutor;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ReuseExecutor;
 import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.executor.keygen.KeyAssignmentPlanCache;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
 import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.resultset.AutoMappingPlanCache;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.executor.statement.FetchSizeAdvisor;
 import org.apache.ibatis.executor.statement.RoutingStatementHandler;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.io.VFS;
@@ -113,11 +125,32 @@ public class Configuration {
   protected boolean callSettersOnNulls;
   protected boolean useActualParamName = true;
   protected boolean returnInstanceForEmptyRow;
+  protected boolean compiledRowMappingEnabled;
+  protected int autoMappingPlanCacheSize;
+  protected boolean numericRowKeyEnabled;
+  protected boolean cursorResultOrdered;
+  protected int multiRowInsertSize;
+  protected int batchFlushRowsPerStatement;
+  protected int batchFlushPendingRows;
+  protected int batchFlushPendingBytes;
+  protected boolean batchReorderingEnabled;
+  protected int batchMaxOpenStatements = 16;
+  protected java.util.concurrent.Executor asyncExecutor;
+  protected boolean multiQueryEnabled;
+  protected boolean adaptiveFetchSizeEnabled;
+  protected FetchSizeAdvisor fetchSizeAdvisor = new FetchSizeAdvisor(1000);
+  protected final CacheTagVersions cacheTagVersions = new CacheTagVersions();
+  protected int nestedSelectBatchSize = 100;
+  protected AutoMappingPlanCache autoMappingPlanCache;
+  protected final KeyAssignmentPlanCache keyAssignmentPlanCache = new KeyAssignmentPlanCache(256);
 
   protected String logPrefix;
   protected Class<? extends Log> logImpl;
   protected Class<? extends VFS> vfsImpl;
   protected LocalCacheScope localCacheScope = LocalCacheScope.SESSION;
+  protected Integer localCacheSize;
+  protected Integer localCacheMaxObjects;
+  protected LocalCacheEviction localCacheEviction = LocalCacheEviction.LRU;
   protected JdbcType jdbcTypeForNull = JdbcType.OTHER;
   protected Set<String> lazyLoadTriggerMethods = new HashSet<>(Arrays.asList("equals", "clone", "hashCode", "toString"));
   protected Integer defaultStatementTimeout;
@@ -187,10 +220,16 @@ public class Configuration {
     typeAliasRegistry.registerAlias("UNPOOLED", UnpooledDataSourceFactory.class);
 
     typeAliasRegistry.registerAlias("PERPETUAL", PerpetualCache.class);
+    typeAliasRegistry.registerAlias("CONCURRENT", ConcurrentCache.class);
+    typeAliasRegistry.registerAlias("OFF_HEAP", OffHeapCache.class);
     typeAliasRegistry.registerAlias("FIFO", FifoCache.class);
     typeAliasRegistry.registerAlias("LRU", LruCache.class);
     typeAliasRegistry.registerAlias("SOFT", SoftCache.class);
     typeAliasRegistry.registerAlias("WEAK", WeakCache.class);
+    typeAliasRegistry.registerAlias("WEIGHTED", WeightedLruCache.class);
+
+    typeAliasRegistry.registerAlias("SERIALIZATION", SerializationCopier.class);
+    typeAliasRegistry.registerAlias("REFLECTIVE", ReflectiveCopier.class);
 
     typeAliasRegistry.registerAlias("DB_VENDOR", VendorDatabaseIdProvider.class);
 
@@ -266,6 +305,401 @@ public class Configuration {
     this.returnInstanceForEmptyRow = returnEmptyInstance;
   }
 
+  /**
+   * Gets whether rows of simple result maps are mapped by a row mapper specialized for the result set layout.
+   *
+   * @return true if enabled
+   * @since 3.5.5
+   */
+  public boolean isCompiledRowMappingEnabled() {
+    return compiledRowMappingEnabled;
+  }
+
+  /**
+   * Sets whether rows of simple result maps are mapped by a row mapper specialized for the result set layout.
+   * <p>
+   * Result maps with nested result maps, nested queries, constructor mappings or discriminators
+   * are always mapped by the default path.
+   *
+   * @param compiledRowMappingEnabled
+   *          true if enable
+   * @since 3.5.5
+   */
+  public void setCompiledRowMappingEnabled(boolean compiledRowMappingEnabled) {
+    this.compiledRowMappingEnabled = compiledRowMappingEnabled;
+  }
+
+  /**
+   * Gets the maximum number of auto-mapping plans shared across statement executions.
+   *
+   * @return the max size, 0 if auto-mapping plans are not shared
+   * @since 3.5.5
+   */
+  public int getAutoMappingPlanCacheSize() {
+    return autoMappingPlanCacheSize;
+  }
+
+  /**
+   * Sets the maximum number of auto-mapping plans shared across statement executions.
+   * <p>
+   * A plan is reused by every execution of the same statement that returns the same column layout,
+   * so the unknown column behavior is applied only when a plan is built.
+   *
+   * @param autoMappingPlanCacheSize
+   *          the max size, 0 to build the plans on every execution
+   * @since 3.5.5
+   */
+  public void setAutoMappingPlanCacheSize(int autoMappingPlanCacheSize) {
+    this.autoMappingPlanCacheSize = autoMappingPlanCacheSize;
+    this.autoMappingPlanCache = autoMappingPlanCacheSize > 0 ? new AutoMappingPlanCache(autoMappingPlanCacheSize) : null;
+  }
+
+  /**
+   * Gets the cache of the plans used to assign generated keys to parameter objects.
+   *
+   * @return the key assignment plan cache
+   * @since 3.5.5
+   */
+  public KeyAssignmentPlanCache getKeyAssignmentPlanCache() {
+    return keyAssignmentPlanCache;
+  }
+
+  /**
+   * Gets whether the row keys of nested result maps with integer id columns are built as tuples of longs.
+   *
+   * @return true if enabled
+   * @since 3.5.5
+   */
+  public boolean isNumericRowKeyEnabled() {
+    return numericRowKeyEnabled;
+  }
+
+  /**
+   * Sets whether the row keys of nested result maps with integer id columns are built as tuples of longs.
+   * <p>
+   * Such keys and the objects created for them are kept in an open-addressing map instead of a
+   * {@code HashMap<CacheKey, Object>}, which lowers the heap used by large joins. Result maps with other id columns
+   * keep using {@link org.apache.ibatis.cache.CacheKey}.
+   *
+   * @param numericRowKeyEnabled
+   *          true if enable
+   * @since 3.5.5
+   */
+  public void setNumericRowKeyEnabled(boolean numericRowKeyEnabled) {
+    this.numericRowKeyEnabled = numericRowKeyEnabled;
+  }
+
+  /**
+   * Gets the number of rows inserted by each statement executed by the batch executor.
+   *
+   * @return the number of rows, 0 if single row inserts are not rewritten
+   * @since 3.5.5
+   */
+  public int getMultiRowInsertSize() {
+    return multiRowInsertSize;
+  }
+
+  /**
+   * Sets the number of rows inserted by each statement executed by the batch executor.
+   * <p>
+   * When greater than 1, the batch executor rewrites a single row {@code INSERT ... VALUES (...)} statement into a
+   * statement with as many tuples as this number, and binds that many consecutive rows to each execution.
+   * Statements with a key generator are not rewritten.
+   *
+   * @param multiRowInsertSize
+   *          the number of rows, 0 to add each row to the batch of the single row statement
+   * @since 3.5.5
+   */
+  public void setMultiRowInsertSize(int multiRowInsertSize) {
+    this.multiRowInsertSize = multiRowInsertSize;
+  }
+
+  /**
+   * Gets the number of rows added to a batched statement that makes the batch executor flush its statements.
+   *
+   * @return the number of rows, 0 if unlimited
+   * @since 3.5.5
+   */
+  public int getBatchFlushRowsPerStatement() {
+    return batchFlushRowsPerStatement;
+  }
+
+  /**
+   * Sets the number of rows added to a batched statement that makes the batch executor flush its statements.
+   *
+   * @param batchFlushRowsPerStatement
+   *          the number of rows, 0 if unlimited
+   * @since 3.5.5
+   */
+  public void setBatchFlushRowsPerStatement(int batchFlushRowsPerStatement) {
+    this.batchFlushRowsPerStatement = batchFlushRowsPerStatement;
+  }
+
+  /**
+   * Gets the number of pending rows, all statements included, that makes the batch executor flush its statements.
+   *
+   * @return the number of rows, 0 if unlimited
+   * @since 3.5.5
+   */
+  public int getBatchFlushPendingRows() {
+    return batchFlushPendingRows;
+  }
+
+  /**
+   * Sets the number of pending rows, all statements included, that makes the batch executor flush its statements.
+   *
+   * @param batchFlushPendingRows
+   *          the number of rows, 0 if unlimited
+   * @since 3.5.5
+   */
+  public void setBatchFlushPendingRows(int batchFlushPendingRows) {
+    this.batchFlushPendingRows = batchFlushPendingRows;
+  }
+
+  /**
+   * Gets the approximate size in bytes of the pending parameter values that makes the batch executor flush its
+   * statements.
+   *
+   * @return the size in bytes, 0 if unlimited
+   * @since 3.5.5
+   */
+  public int getBatchFlushPendingBytes() {
+    return batchFlushPendingBytes;
+  }
+
+  /**
+   * Sets the approximate size in bytes of the pending parameter values that makes the batch executor flush its
+   * statements.
+   * <p>
+   * Strings and character arrays count two bytes per character, byte arrays their length and other values eight bytes.
+   *
+   * @param batchFlushPendingBytes
+   *          the size in bytes, 0 if unlimited
+   * @since 3.5.5
+   */
+  public void setBatchFlushPendingBytes(int batchFlushPendingBytes) {
+    this.batchFlushPendingBytes = batchFlushPendingBytes;
+  }
+
+  /**
+   * Gets whether the batch executor groups interleaved statements by SQL.
+   *
+   * @return true if the rows are added to the pending statement prepared for the same mapped statement and SQL
+   * @since 3.5.5
+   */
+  public boolean isBatchReorderingEnabled() {
+    return batchReorderingEnabled;
+  }
+
+  /**
+   * Sets whether the batch executor groups interleaved statements by SQL.
+   * <p>
+   * When enabled, a row is added to the pending statement that was prepared for the same mapped statement and SQL
+   * instead of only to the last one, and the statements are executed in the order they were first seen. The tables are
+   * expected to be modified in dependency order (e.g. parents before children) the first time, and the statements are
+   * flushed before a row would be executed ahead of a later statement that modifies the same or an earlier table.
+   *
+   * @param batchReorderingEnabled
+   *          true to group the rows by statement
+   * @since 3.5.5
+   */
+  public void setBatchReorderingEnabled(boolean batchReorderingEnabled) {
+    this.batchReorderingEnabled = batchReorderingEnabled;
+  }
+
+  /**
+   * Gets the maximum number of statements kept open by the batch executor when grouping rows by statement.
+   *
+   * @return the number of statements
+   * @since 3.5.5
+   */
+  public int getBatchMaxOpenStatements() {
+    return batchMaxOpenStatements;
+  }
+
+  /**
+   * Sets the maximum number of statements kept open by the batch executor when grouping rows by statement. The pending
+   * statements are flushed before a new one would exceed it.
+   *
+   * @param batchMaxOpenStatements
+   *          the number of statements
+   * @since 3.5.5
+   */
+  public void setBatchMaxOpenStatements(int batchMaxOpenStatements) {
+    this.batchMaxOpenStatements = batchMaxOpenStatements;
+  }
+
+  /**
+   * Gets whether the cursors over nested result maps collapse consecutive rows of the same parent.
+   *
+   * @return true if cursors read their rows as if their statements were result ordered
+   * @since 3.5.5
+   */
+  public boolean isCursorResultOrdered() {
+    return cursorResultOrdered;
+  }
+
+  /**
+   * Sets whether the cursors over nested result maps collapse consecutive rows of the same parent.
+   * <p>
+   * When enabled, a cursor reads its rows as if its statement was declared with {@code resultOrdered="true"}: a parent
+   * is returned once the first row of the next parent is read, and the objects kept to collapse its rows are released
+   * at that point, so that the memory used does not grow with the number of rows. The rows of a parent must be
+   * consecutive.
+   *
+   * @param cursorResultOrdered
+   *          true to collapse the rows of cursors
+   * @since 3.5.5
+   */
+  public void setCursorResultOrdered(boolean cursorResultOrdered) {
+    this.cursorResultOrdered = cursorResultOrdered;
+  }
+
+  /**
+   * Gets whether {@link SqlSession#selectMultiple(MultiSelect)} sends the statements to the database in one round-trip.
+   *
+   * @return true if the statements are joined into one multi-statement string
+   * @since 3.5.5
+   */
+  public boolean isMultiQueryEnabled() {
+    return multiQueryEnabled;
+  }
+
+  /**
+   * Sets whether {@link SqlSession#selectMultiple(MultiSelect)} sends the statements to the database in one round-trip.
+   * <p>
+   * When enabled, the prepared select statements that are not found in the caches are joined into one multi-statement
+   * string, and the result sets are mapped in order with the result map of each statement. The JDBC driver must accept
+   * several statements in one string and return their result sets.
+   *
+   * @param multiQueryEnabled
+   *          true to join the statements
+   * @since 3.5.5
+   */
+  public void setMultiQueryEnabled(boolean multiQueryEnabled) {
+    this.multiQueryEnabled = multiQueryEnabled;
+  }
+
+  /**
+   * Gets whether the fetch size of the statements that do not specify one is adapted to the rows they return.
+   *
+   * @return true if the fetch size is adapted
+   * @since 3.5.5
+   */
+  public boolean isAdaptiveFetchSizeEnabled() {
+    return adaptiveFetchSizeEnabled;
+  }
+
+  /**
+   * Sets whether the fetch size of the statements that do not specify one is adapted to the rows they return.
+   *
+   * @param adaptiveFetchSizeEnabled
+   *          true to adapt the fetch size
+   * @since 3.5.5
+   * @see FetchSizeAdvisor
+   */
+  public void setAdaptiveFetchSizeEnabled(boolean adaptiveFetchSizeEnabled) {
+    this.adaptiveFetchSizeEnabled = adaptiveFetchSizeEnabled;
+  }
+
+  /**
+   * Gets the largest fetch size chosen when the fetch size is adapted.
+   *
+   * @return the max fetch size
+   * @since 3.5.5
+   */
+  public int getAdaptiveFetchSizeMax() {
+    return fetchSizeAdvisor.getMaxFetchSize();
+  }
+
+  /**
+   * Sets the largest fetch size chosen when the fetch size is adapted. It is also the fetch size of streamed rows.
+   *
+   * @param adaptiveFetchSizeMax
+   *          the max fetch size
+   * @since 3.5.5
+   */
+  public void setAdaptiveFetchSizeMax(int adaptiveFetchSizeMax) {
+    this.fetchSizeAdvisor = new FetchSizeAdvisor(adaptiveFetchSizeMax);
+  }
+
+  /**
+   * Gets the advisor that learns the row counts of the statements when the fetch size is adapted.
+   *
+   * @return the fetch size advisor
+   * @since 3.5.5
+   */
+  public FetchSizeAdvisor getFetchSizeAdvisor() {
+    return fetchSizeAdvisor;
+  }
+
+  /**
+   * Gets the versions of the cache tags, shared by the sessions to invalidate tagged second level cache entries.
+   *
+   * @return the cache tag versions
+   * @since 3.5.5
+   */
+  public CacheTagVersions getCacheTagVersions() {
+    return cacheTagVersions;
+  }
+
+  /**
+   * Gets the largest number of column values passed to a batch select at once.
+   *
+   * @return the batch size
+   * @since 3.5.5
+   */
+  public int getNestedSelectBatchSize() {
+    return nestedSelectBatchSize;
+  }
+
+  /**
+   * Sets the largest number of column values passed to a batch select at once. The nested results of more rows are
+   * retrieved by several executions of the batch select. A lazy property is loaded for at most as many result objects
+   * at once.
+   *
+   * @param nestedSelectBatchSize
+   *          the batch size
+   * @since 3.5.5
+   */
+  public void setNestedSelectBatchSize(int nestedSelectBatchSize) {
+    if (nestedSelectBatchSize < 1) {
+      throw new IllegalArgumentException("The nested select batch size must be positive but was " + nestedSelectBatchSize);
+    }
+    this.nestedSelectBatchSize = nestedSelectBatchSize;
+  }
+
+  /**
+   * Gets the executor that runs the calls of asynchronous sessions.
+   *
+   * @return the configured executor, or the default one built on virtual threads where available
+   * @since 3.5.5
+   */
+  public java.util.concurrent.Executor getAsyncExecutor() {
+    return asyncExecutor == null ? DefaultAsyncExecutorHolder.EXECUTOR : asyncExecutor;
+  }
+
+  /**
+   * Sets the executor that runs the calls of asynchronous sessions. The calls of one session never run concurrently.
+   *
+   * @param asyncExecutor
+   *          the executor, null to use the default one
+   * @since 3.5.5
+   */
+  public void setAsyncExecutor(java.util.concurrent.Executor asyncExecutor) {
+    this.asyncExecutor = asyncExecutor;
+  }
+
+  /**
+   * Gets the cache of auto-mapping plans shared across statement executions.
+   *
+   * @return the cache, null if auto-mapping plans are not shared
+   * @since 3.5.5
+   */
+  public AutoMappingPlanCache getAutoMappingPlanCache() {
+    return autoMappingPlanCache;
+  }
+
   public String getDatabaseId() {
     return databaseId;
   }
@@ -484,6 +918,72 @@ public class Configuration {
     this.localCacheScope = localCacheScope;
   }
 
+  /**
+   * Gets the maximum number of entries of the local cache of a session.
+   *
+   * @return the maximum number of entries, or null for no limit
+   * @since 3.5.5
+   */
+  public Integer getLocalCacheSize() {
+    return localCacheSize;
+  }
+
+  /**
+   * Sets the maximum number of entries of the local cache of a session.
+   * <p>
+   * The eldest entries are evicted, according to the {@link #getLocalCacheEviction() eviction policy}, each time an
+   * outermost query completes.
+   *
+   * @param localCacheSize
+   *          the maximum number of entries, or null for no limit
+   * @since 3.5.5
+   */
+  public void setLocalCacheSize(Integer localCacheSize) {
+    this.localCacheSize = localCacheSize;
+  }
+
+  /**
+   * Gets the maximum number of objects held by the result lists of the local cache of a session.
+   *
+   * @return the maximum number of objects, or null for no limit
+   * @since 3.5.5
+   */
+  public Integer getLocalCacheMaxObjects() {
+    return localCacheMaxObjects;
+  }
+
+  /**
+   * Sets the maximum number of objects held by the result lists of the local cache of a session.
+   *
+   * @param localCacheMaxObjects
+   *          the maximum number of objects, or null for no limit
+   * @since 3.5.5
+   */
+  public void setLocalCacheMaxObjects(Integer localCacheMaxObjects) {
+    this.localCacheMaxObjects = localCacheMaxObjects;
+  }
+
+  /**
+   * Gets the policy used to evict entries from a bounded local cache.
+   *
+   * @return the eviction policy
+   * @since 3.5.5
+   */
+  public LocalCacheEviction getLocalCacheEviction() {
+    return localCacheEviction;
+  }
+
+  /**
+   * Sets the policy used to evict entries from a bounded local cache.
+   *
+   * @param localCacheEviction
+   *          the eviction policy
+   * @since 3.5.5
+   */
+  public void setLocalCacheEviction(LocalCacheEviction localCacheEviction) {
+    this.localCacheEviction = localCacheEviction;
+  }
+
   public JdbcType getJdbcTypeForNull() {
     return jdbcTypeForNull;
   }
@@ -735,6 +1235,9 @@ public class Configuration {
 
   public void addMappedStatement(MappedStatement ms) {
     mappedStatements.put(ms.getId(), ms);
+    if (ms.getCacheTags() != null && ms.getCache() != null) {
+      cacheTagVersions.addCache(ms.getCache());
+    }
   }
 
   public Collection<String> getMappedStatementNames() {
@@ -936,6 +1439,26 @@ public class Configuration {
     }
   }
 
+  private static class DefaultAsyncExecutorHolder {
+
+    // runs each call on a new virtual thread when the JDK supports them, and on a cached pool of daemon threads otherwise
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private static ExecutorService createExecutor() {
+      try {
+        // JDK 21 or later
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException e) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+          Thread thread = new Thread(runnable, "mybatis-async-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+      }
+    }
+  }
+
   protected static class StrictMap<V> extends HashMap<String, V> {
 
     private static final long serialVersionUID = -4950446264854982944L;
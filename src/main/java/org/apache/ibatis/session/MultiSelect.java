@@ -0,0 +1,70 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A list of independent select statements run together by {@link SqlSession#selectMultiple(MultiSelect)}.
+ *
+ * @since 3.5.5
+ */
+public class MultiSelect {
+
+  private final List<String> statements = new ArrayList<>();
+  private final List<Object> parameters = new ArrayList<>();
+
+  /**
+   * Adds a select statement without parameter.
+   *
+   * @param statement
+   *          Unique identifier matching the statement to use.
+   * @return this instance
+   */
+  public MultiSelect add(String statement) {
+    return add(statement, null);
+  }
+
+  /**
+   * Adds a select statement.
+   *
+   * @param statement
+   *          Unique identifier matching the statement to use.
+   * @param parameter
+   *          A parameter object to pass to the statement.
+   * @return this instance
+   */
+  public MultiSelect add(String statement, Object parameter) {
+    statements.add(statement);
+    parameters.add(parameter);
+    return this;
+  }
+
+  public List<String> getStatements() {
+    return Collections.unmodifiableList(statements);
+  }
+
+  public List<Object> getParameters() {
+    return Collections.unmodifiableList(parameters);
+  }
+
+  public int size() {
+    return statements.size();
+  }
+
+}
@@ -17,11 +17,14 @@ package org.apache.ibatis.session;
 
 import java.io.Closeable;
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.BatchResultHandler;
+import org.apache.ibatis.executor.LocalCacheStatistics;
 
 /**
  * The primary Java interface for working with MyBatis.
@@ -77,6 +80,21 @@ public interface SqlSession extends Closeable {
    */
   <E> List<E> selectList(String statement, Object parameter, RowBounds rowBounds);
 
+  /**
+   * Retrieve the lists of mapped objects of several independent select statements. When the
+   * {@code multiQueryEnabled} setting is on, the statements are sent to the database in one round-trip.
+   * @param select the statements and their parameters
+   * @return the list of mapped objects of each statement, in the order they were added
+   * @since 3.5.5
+   */
+  default List<List<Object>> selectMultiple(MultiSelect select) {
+    List<List<Object>> results = new ArrayList<>(select.size());
+    for (int i = 0; i < select.size(); i++) {
+      results.add(selectList(select.getStatements().get(i), select.getParameters().get(i)));
+    }
+    return results;
+  }
+
   /**
    * The selectMap is a special case in that it is designed to convert a list
    * of results into a Map based on one of the properties in the resulting
@@ -257,6 +275,32 @@ public interface SqlSession extends Closeable {
    */
   List<BatchResult> flushStatements();
 
+  /**
+   * Sets the handler receiving the result of each batch statement executed by a {@code BATCH} session, whether the
+   * statements are flushed explicitly or automatically (see the {@code batchFlush*} settings).
+   * Results passed to the handler are not returned by {@link #flushStatements()}. The sessions of MyBatis implement
+   * this method, the default implementation ignores the handler so that the results are still returned by
+   * {@link #flushStatements()}, like the executors that do not batch statements.
+   *
+   * @param batchResultHandler
+   *          the handler, or null to return the results from {@link #flushStatements()}
+   * @since 3.5.5
+   */
+  default void setBatchResultHandler(BatchResultHandler batchResultHandler) {
+    // the results are returned by flushStatements()
+  }
+
+  /**
+   * Returns the hit, miss and eviction counts of the local cache of this session (see the {@code localCache*}
+   * settings). The sessions of MyBatis implement this method, the default implementation returns empty statistics.
+   *
+   * @return the statistics
+   * @since 3.5.5
+   */
+  default LocalCacheStatistics getLocalCacheStatistics() {
+    return LocalCacheStatistics.EMPTY;
+  }
+
   /**
    * Closes the session.
    */
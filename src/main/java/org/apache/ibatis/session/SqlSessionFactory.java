@@ -42,4 +42,24 @@ public interface SqlSessionFactory {
 
   Configuration getConfiguration();
 
+  /**
+   * Opens an asynchronous session that runs its calls on the executor of the configuration.
+   *
+   * @return the session
+   * @since 3.5.5
+   */
+  AsyncSqlSession openAsyncSession();
+
+  /**
+   * Opens an asynchronous session that runs its calls on the executor of the configuration.
+   *
+   * @param execType
+   *          the executor type of the underlying session
+   * @param autoCommit
+   *          the auto commit mode of the underlying session
+   * @return the session
+   * @since 3.5.5
+   */
+  AsyncSqlSession openAsyncSession(ExecutorType execType, boolean autoCommit);
+
 }
@@ -27,6 +27,8 @@ import java.util.Properties;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.BatchResultHandler;
+import org.apache.ibatis.executor.LocalCacheStatistics;
 import org.apache.ibatis.reflection.ExceptionUtil;
 
 /**
@@ -151,6 +153,16 @@ public class SqlSessionManager implements SqlSessionFactory, SqlSession {
     return sqlSessionFactory.openSession(execType, connection);
   }
 
+  @Override
+  public AsyncSqlSession openAsyncSession() {
+    return sqlSessionFactory.openAsyncSession();
+  }
+
+  @Override
+  public AsyncSqlSession openAsyncSession(ExecutorType execType, boolean autoCommit) {
+    return sqlSessionFactory.openAsyncSession(execType, autoCommit);
+  }
+
   @Override
   public Configuration getConfiguration() {
     return sqlSessionFactory.getConfiguration();
@@ -211,6 +223,11 @@ public class SqlSessionManager implements SqlSessionFactory, SqlSession {
     return sqlSessionProxy.selectList(statement, parameter, rowBounds);
   }
 
+  @Override
+  public List<List<Object>> selectMultiple(MultiSelect select) {
+    return sqlSessionProxy.selectMultiple(select);
+  }
+
   @Override
   public void select(String statement, ResultHandler handler) {
     sqlSessionProxy.select(statement, handler);
@@ -324,6 +341,24 @@ public class SqlSessionManager implements SqlSessionFactory, SqlSession {
     return sqlSession.flushStatements();
   }
 
+  @Override
+  public void setBatchResultHandler(BatchResultHandler batchResultHandler) {
+    final SqlSession sqlSession = localSqlSession.get();
+    if (sqlSession == null) {
+      throw new SqlSessionException("Error:  Cannot set the batch result handler.  No managed session is started.");
+    }
+    sqlSession.setBatchResultHandler(batchResultHandler);
+  }
+
+  @Override
+  public LocalCacheStatistics getLocalCacheStatistics() {
+    final SqlSession sqlSession = localSqlSession.get();
+    if (sqlSession == null) {
+      throw new SqlSessionException("Error:  Cannot get the local cache statistics.  No managed session is started.");
+    }
+    return sqlSession.getLocalCacheStatistics();
+  }
+
   @Override
   public void close() {
     final SqlSession sqlSession = localSqlSession.get();
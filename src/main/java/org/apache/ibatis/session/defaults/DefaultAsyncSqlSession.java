@@ -0,0 +1,218 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session.defaults;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.ExceptionFactory;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.session.AsyncSqlSession;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * The default implementation for {@link AsyncSqlSession}.
+ * Note that this class is thread safe, but the session it wraps must not be used directly.
+ *
+ * @since 3.5.5
+ */
+public class DefaultAsyncSqlSession implements AsyncSqlSession {
+
+  private final SqlSession sqlSession;
+  private final Executor executor;
+  private CompletableFuture<?> lastCall = CompletableFuture.completedFuture(null);
+
+  public DefaultAsyncSqlSession(SqlSession sqlSession, Executor executor) {
+    this.sqlSession = sqlSession;
+    this.executor = executor;
+  }
+
+  @Override
+  public <T> CompletableFuture<T> selectOne(String statement) {
+    return execute(session -> session.selectOne(statement));
+  }
+
+  @Override
+  public <T> CompletableFuture<T> selectOne(String statement, Object parameter) {
+    return execute(session -> session.selectOne(statement, parameter));
+  }
+
+  @Override
+  public <E> CompletableFuture<List<E>> selectList(String statement) {
+    return execute(session -> session.selectList(statement));
+  }
+
+  @Override
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter) {
+    return execute(session -> session.selectList(statement, parameter));
+  }
+
+  @Override
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter, RowBounds rowBounds) {
+    return execute(session -> session.selectList(statement, parameter, rowBounds));
+  }
+
+  @Override
+  public <K, V> CompletableFuture<Map<K, V>> selectMap(String statement, Object parameter, String mapKey) {
+    return execute(session -> session.selectMap(statement, parameter, mapKey));
+  }
+
+  @Override
+  public <T> CompletableFuture<Void> selectCursor(String statement, Object parameter, Consumer<? super T> consumer) {
+    return execute(session -> {
+      try (Cursor<T> cursor = session.selectCursor(statement, parameter)) {
+        cursor.forEach(consumer);
+      } catch (Exception e) {
+        throw ExceptionFactory.wrapException("Error consuming cursor.  Cause: " + e, e);
+      }
+      return null;
+    });
+  }
+
+  @Override
+  public CompletableFuture<Void> select(String statement, Object parameter, ResultHandler<?> handler) {
+    return execute(session -> {
+      session.select(statement, parameter, handler);
+      return null;
+    });
+  }
+
+  @Override
+  public CompletableFuture<Integer> insert(String statement, Object parameter) {
+    return execute(session -> session.insert(statement, parameter));
+  }
+
+  @Override
+  public CompletableFuture<Integer> update(String statement, Object parameter) {
+    return execute(session -> session.update(statement, parameter));
+  }
+
+  @Override
+  public CompletableFuture<Integer> delete(String statement, Object parameter) {
+    return execute(session -> session.delete(statement, parameter));
+  }
+
+  @Override
+  public CompletableFuture<Void> commit() {
+    return execute(session -> {
+      session.commit();
+      return null;
+    });
+  }
+
+  @Override
+  public CompletableFuture<Void> rollback() {
+    return execute(session -> {
+      session.rollback();
+      return null;
+    });
+  }
+
+  @Override
+  public CompletableFuture<List<BatchResult>> flushStatements() {
+    return execute(SqlSession::flushStatements);
+  }
+
+  @Override
+  public synchronized <T> CompletableFuture<T> execute(Function<SqlSession, T> work) {
+    // a call starts when the previous one is completed, whatever its outcome
+    CompletableFuture<T> call = lastCall.handle((result, e) -> null).thenApplyAsync(v -> work.apply(sqlSession), executor);
+    lastCall = call;
+    return call;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T getMapper(Class<T> type) {
+    if (!getConfiguration().hasMapper(type)) {
+      throw new BindingException("Type " + type + " is not known to the MapperRegistry.");
+    }
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new AsyncMapperProxy<>(type));
+  }
+
+  @Override
+  public Configuration getConfiguration() {
+    return sqlSession.getConfiguration();
+  }
+
+  @Override
+  public CompletableFuture<Void> closeAsync() {
+    return execute(session -> {
+      session.close();
+      return null;
+    });
+  }
+
+  @Override
+  public void close() {
+    try {
+      closeAsync().join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+    }
+  }
+
+  private class AsyncMapperProxy<T> implements InvocationHandler {
+
+    private final Class<T> mapperInterface;
+    private T mapper;
+
+    AsyncMapperProxy(Class<T> mapperInterface) {
+      this.mapperInterface = mapperInterface;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (Object.class.equals(method.getDeclaringClass())) {
+        return method.invoke(this, args);
+      }
+      if (!CompletableFuture.class.equals(method.getReturnType())) {
+        throw new BindingException("Mapper method '" + mapperInterface.getName() + "." + method.getName()
+            + "' must return CompletableFuture to be called asynchronously.");
+      }
+      // the mapper of the session returns a completed future
+      return execute(session -> invokeMapper(session, method, args)).thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<?> invokeMapper(SqlSession session, Method method, Object[] args) {
+      if (mapper == null) {
+        mapper = session.getMapper(mapperInterface);
+      }
+      try {
+        return (CompletableFuture<?>) method.invoke(mapper, args);
+      } catch (Exception e) {
+        Throwable t = ExceptionUtil.unwrapThrowable(e);
+        throw t instanceof RuntimeException ? (RuntimeException) t : new CompletionException(t);
+      }
+    }
+  }
+
+}
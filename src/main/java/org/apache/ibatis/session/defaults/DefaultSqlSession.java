@@ -29,13 +29,16 @@ import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.exceptions.ExceptionFactory;
 import org.apache.ibatis.exceptions.TooManyResultsException;
 import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.BatchResultHandler;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.LocalCacheStatistics;
 import org.apache.ibatis.executor.result.DefaultMapResultHandler;
 import org.apache.ibatis.executor.result.DefaultResultContext;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.reflection.ParamNameResolver;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.MultiSelect;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
@@ -153,6 +156,23 @@ public class DefaultSqlSession implements SqlSession {
     }
   }
 
+  @Override
+  public List<List<Object>> selectMultiple(MultiSelect select) {
+    try {
+      List<MappedStatement> mappedStatements = new ArrayList<>(select.size());
+      List<Object> parameters = new ArrayList<>(select.size());
+      for (int i = 0; i < select.size(); i++) {
+        mappedStatements.add(configuration.getMappedStatement(select.getStatements().get(i)));
+        parameters.add(wrapCollection(select.getParameters().get(i)));
+      }
+      return executor.queryMultiple(mappedStatements, parameters);
+    } catch (Exception e) {
+      throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
+    } finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
   @Override
   public void select(String statement, Object parameter, ResultHandler handler) {
     select(statement, parameter, RowBounds.DEFAULT, handler);
@@ -258,6 +278,16 @@ public class DefaultSqlSession implements SqlSession {
     }
   }
 
+  @Override
+  public void setBatchResultHandler(BatchResultHandler batchResultHandler) {
+    executor.setBatchResultHandler(batchResultHandler);
+  }
+
+  @Override
+  public LocalCacheStatistics getLocalCacheStatistics() {
+    return executor.getLocalCacheStatistics();
+  }
+
   @Override
   public void close() {
     try {
@@ -22,6 +22,7 @@ import org.apache.ibatis.exceptions.ExceptionFactory;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.AsyncSqlSession;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
@@ -82,6 +83,16 @@ public class DefaultSqlSessionFactory implements SqlSessionFactory {
     return openSessionFromConnection(execType, connection);
   }
 
+  @Override
+  public AsyncSqlSession openAsyncSession() {
+    return openAsyncSession(configuration.getDefaultExecutorType(), false);
+  }
+
+  @Override
+  public AsyncSqlSession openAsyncSession(ExecutorType execType, boolean autoCommit) {
+    return new DefaultAsyncSqlSession(openSession(execType, autoCommit), configuration.getAsyncExecutor());
+  }
+
   @Override
   public Configuration getConfiguration() {
     return configuration;
@@ -1,5 +1,5 @@
 /**
- *    Copyright 2009-2020 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -56,6 +56,7 @@ import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.LocalCacheEviction;
 import org.apache.ibatis.session.LocalCacheScope;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
 import org.apache.ibatis.type.BaseTypeHandler;
@@ -91,11 +92,29 @@ class XmlConfigBuilderTest {
       assertThat(config.isMapUnderscoreToCamelCase()).isFalse();
       assertThat(config.isSafeRowBoundsEnabled()).isFalse();
       assertThat(config.getLocalCacheScope()).isEqualTo(LocalCacheScope.SESSION);
+      assertThat(config.getLocalCacheSize()).isNull();
+      assertThat(config.getLocalCacheMaxObjects()).isNull();
+      assertThat(config.getLocalCacheEviction()).isEqualTo(LocalCacheEviction.LRU);
       assertThat(config.getJdbcTypeForNull()).isEqualTo(JdbcType.OTHER);
       assertThat(config.getLazyLoadTriggerMethods()).isEqualTo(new HashSet<>(Arrays.asList("equals", "clone", "hashCode", "toString")));
       assertThat(config.isSafeResultHandlerEnabled()).isTrue();
       assertThat(config.getDefaultScriptingLanuageInstance()).isInstanceOf(XMLLanguageDriver.class);
       assertThat(config.isCallSettersOnNulls()).isFalse();
+      assertThat(config.isCompiledRowMappingEnabled()).isFalse();
+      assertThat(config.getAutoMappingPlanCacheSize()).isEqualTo(0);
+      assertNull(config.getAutoMappingPlanCache());
+      assertThat(config.isNumericRowKeyEnabled()).isFalse();
+      assertThat(config.isCursorResultOrdered()).isFalse();
+      assertThat(config.getMultiRowInsertSize()).isEqualTo(0);
+      assertThat(config.getBatchFlushRowsPerStatement()).isEqualTo(0);
+      assertThat(config.getBatchFlushPendingRows()).isEqualTo(0);
+      assertThat(config.getBatchFlushPendingBytes()).isEqualTo(0);
+      assertThat(config.isBatchReorderingEnabled()).isFalse();
+      assertThat(config.getBatchMaxOpenStatements()).isEqualTo(16);
+      assertThat(config.isMultiQueryEnabled()).isFalse();
+      assertThat(config.isAdaptiveFetchSizeEnabled()).isFalse();
+      assertThat(config.getAdaptiveFetchSizeMax()).isEqualTo(1000);
+      assertThat(config.getNestedSelectBatchSize()).isEqualTo(100);
       assertNull(config.getLogPrefix());
       assertNull(config.getLogImpl());
       assertNull(config.getConfigurationFactory());
@@ -185,11 +204,29 @@ class XmlConfigBuilderTest {
       assertThat(config.isMapUnderscoreToCamelCase()).isTrue();
       assertThat(config.isSafeRowBoundsEnabled()).isTrue();
       assertThat(config.getLocalCacheScope()).isEqualTo(LocalCacheScope.STATEMENT);
+      assertThat(config.getLocalCacheSize()).isEqualTo(256);
+      assertThat(config.getLocalCacheMaxObjects()).isEqualTo(10000);
+      assertThat(config.getLocalCacheEviction()).isEqualTo(LocalCacheEviction.FIFO);
       assertThat(config.getJdbcTypeForNull()).isEqualTo(JdbcType.NULL);
       assertThat(config.getLazyLoadTriggerMethods()).isEqualTo(new HashSet<>(Arrays.asList("equals", "clone", "hashCode", "toString", "xxx")));
       assertThat(config.isSafeResultHandlerEnabled()).isFalse();
       assertThat(config.getDefaultScriptingLanuageInstance()).isInstanceOf(RawLanguageDriver.class);
       assertThat(config.isCallSettersOnNulls()).isTrue();
+      assertThat(config.isCompiledRowMappingEnabled()).isTrue();
+      assertThat(config.getAutoMappingPlanCacheSize()).isEqualTo(128);
+      assertThat(config.getAutoMappingPlanCache().getMaxSize()).isEqualTo(128);
+      assertThat(config.isNumericRowKeyEnabled()).isTrue();
+      assertThat(config.isCursorResultOrdered()).isTrue();
+      assertThat(config.getMultiRowInsertSize()).isEqualTo(100);
+      assertThat(config.getBatchFlushRowsPerStatement()).isEqualTo(1000);
+      assertThat(config.getBatchFlushPendingRows()).isEqualTo(5000);
+      assertThat(config.getBatchFlushPendingBytes()).isEqualTo(1048576);
+      assertThat(config.isBatchReorderingEnabled()).isTrue();
+      assertThat(config.getBatchMaxOpenStatements()).isEqualTo(32);
+      assertThat(config.isMultiQueryEnabled()).isTrue();
+      assertThat(config.isAdaptiveFetchSizeEnabled()).isTrue();
+      assertThat(config.getAdaptiveFetchSizeMax()).isEqualTo(500);
+      assertThat(config.getNestedSelectBatchSize()).isEqualTo(50);
       assertThat(config.getLogPrefix()).isEqualTo("mybatis_");
       assertThat(config.getLogImpl().getName()).isEqualTo(Slf4jImpl.class.getName());
       assertThat(config.getVfsImpl().getName()).isEqualTo(JBoss6VFS.class.getName());
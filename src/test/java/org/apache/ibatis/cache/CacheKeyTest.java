@@ -1,5 +1,5 @@
 /**
- *    Copyright 2009-2020 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -87,6 +87,32 @@ class CacheKeyTest {
     assertEquals(key1, key2);
   }
 
+  @Test
+  void shouldTestIntUpdatesEqualToIntegerUpdates() {
+    CacheKey key1 = new CacheKey();
+    key1.update("select");
+    key1.updateInt(0);
+    key1.updateInt(Integer.MAX_VALUE);
+    CacheKey key2 = new CacheKey(new Object[] { "select", 0, Integer.MAX_VALUE });
+    assertEquals(key1, key2);
+    assertEquals(key2, key1);
+    assertEquals(key1.hashCode(), key2.hashCode());
+    assertEquals(key1.toString(), key2.toString());
+  }
+
+  @Test
+  void shouldGrowBeyondInitialCapacity() throws Exception {
+    CacheKey key1 = new CacheKey();
+    CacheKey key2 = new CacheKey();
+    for (int i = 0; i < 100; i++) {
+      key1.updateInt(i);
+      key2.update(String.valueOf(i));
+    }
+    assertEquals(100, key1.getUpdateCount());
+    assertEquals(key1, key1.clone());
+    assertNotEquals(key1, key2);
+  }
+
   @Test
   void serializationExceptionTest() {
     CacheKey cacheKey = new CacheKey();
@@ -0,0 +1,118 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.ibatis.cache.impl.ConcurrentCache;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentCacheTest {
+
+  @Test
+  void shouldRemoveLeastRecentlyUsedItemInBeyondFiveEntries() {
+    ConcurrentCache cache = new ConcurrentCache("default");
+    cache.setSize(5);
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+    }
+    assertEquals(0, cache.getObject(0));
+    cache.putObject(5, 5);
+    assertEquals(0, cache.getObject(0));
+    assertNull(cache.getObject(1));
+    assertEquals(5, cache.getSize());
+  }
+
+  @Test
+  void shouldKeepTheLatestValueOfAReplacedItem() {
+    ConcurrentCache cache = new ConcurrentCache("default");
+    cache.setSize(2);
+    cache.putObject(0, "a");
+    cache.putObject(0, "b");
+    cache.putObject(1, 1);
+    cache.putObject(2, 2);
+    assertEquals(2, cache.getSize());
+    assertEquals(2, cache.getObject(2));
+  }
+
+  @Test
+  void shouldRemoveItemOnDemand() {
+    Cache cache = new ConcurrentCache("default");
+    cache.putObject(0, 0);
+    assertNotNull(cache.getObject(0));
+    assertEquals(0, cache.removeObject(0));
+    assertNull(cache.getObject(0));
+  }
+
+  @Test
+  void shouldFlushAllItemsOnDemand() {
+    Cache cache = new ConcurrentCache("default");
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+    }
+    assertNotNull(cache.getObject(0));
+    assertNotNull(cache.getObject(4));
+    cache.clear();
+    assertNull(cache.getObject(0));
+    assertNull(cache.getObject(4));
+  }
+
+  @Test
+  void shouldStayWithinItsSizeWhenUsedByManyThreads() throws Exception {
+    ConcurrentCache cache = new ConcurrentCache("default");
+    cache.setSize(100);
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        final int thread = t;
+        futures.add(executorService.submit(() -> {
+          for (int i = 0; i < 10000; i++) {
+            Integer key = thread * 10000 + i;
+            cache.putObject(key, key);
+            Object value = cache.getObject(key);
+            assertTrue(value == null || key.equals(value));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdown();
+    }
+    cache.putObject(-1, -1);
+    assertTrue(cache.getSize() <= 100);
+  }
+
+  @Test
+  void shouldBuildWithStandardDecoratorsButEviction() {
+    Cache cache = new CacheBuilder("default").implementation(ConcurrentCache.class).size(5).readWrite(true).build();
+    for (int i = 0; i < 10; i++) {
+      cache.putObject(i, i);
+    }
+    assertEquals(5, cache.getSize());
+    assertEquals(9, cache.getObject(9));
+  }
+
+}
@@ -0,0 +1,180 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.ibatis.cache.impl.OffHeapCache;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.jupiter.api.Test;
+
+class OffHeapCacheTest {
+
+  // all integers have the same serialized size
+  private static final int ENTRY_SIZE = ((byte[]) new SerializationCopier().copyOnWrite(0)).length;
+
+  @Test
+  void shouldEvictItemsNotReadSinceTheirSegmentWasReused() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setSegmentSize(3 * ENTRY_SIZE);
+    cache.setCapacity(6 * ENTRY_SIZE);
+    for (int i = 0; i < 6; i++) {
+      cache.putObject(i, i);
+    }
+    assertEquals(0, cache.getObject(0));
+    cache.putObject(6, 6);
+    assertEquals(0, cache.getObject(0));
+    assertNull(cache.getObject(1));
+    assertNull(cache.getObject(2));
+    assertEquals(3, cache.getObject(3));
+    assertEquals(6, cache.getObject(6));
+    assertEquals(5, cache.getSize());
+  }
+
+  @Test
+  void shouldEvictReadItemsWhenNoRoomIsLeft() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setSegmentSize(2 * ENTRY_SIZE);
+    cache.setCapacity(2 * ENTRY_SIZE);
+    cache.putObject(0, 0);
+    cache.putObject(1, 1);
+    assertEquals(0, cache.getObject(0));
+    assertEquals(1, cache.getObject(1));
+    cache.putObject(2, 2);
+    assertNull(cache.getObject(0));
+    assertNull(cache.getObject(1));
+    assertEquals(2, cache.getObject(2));
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  void shouldReturnACopyOfTheValue() {
+    Cache cache = new OffHeapCache("default");
+    List<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+    cache.putObject(0, value);
+    value.add("c");
+    Object copy = cache.getObject(0);
+    assertEquals(Arrays.asList("a", "b"), copy);
+    assertNotSame(copy, cache.getObject(0));
+  }
+
+  @Test
+  void shouldNotCacheItemLargerThanASegment() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setSegmentSize(2 * ENTRY_SIZE);
+    cache.putObject(0, 0);
+    cache.putObject(1, new byte[2 * ENTRY_SIZE]);
+    assertNull(cache.getObject(1));
+    assertEquals(0, cache.getObject(0));
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  void shouldKeepTheLatestValueOfAReplacedItem() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setSegmentSize(2 * ENTRY_SIZE);
+    cache.setCapacity(2 * ENTRY_SIZE);
+    cache.putObject(0, 0);
+    cache.putObject(0, 1);
+    assertEquals(1, cache.getObject(0));
+    cache.putObject(1, 1);
+    assertEquals(1, cache.getObject(0));
+    assertEquals(2, cache.getSize());
+  }
+
+  @Test
+  void shouldRejectNonSerializableItem() {
+    Cache cache = new OffHeapCache("default");
+    assertThrows(CacheException.class, () -> cache.putObject(0, new Object()));
+  }
+
+  @Test
+  void shouldRemoveItemOnDemand() {
+    Cache cache = new OffHeapCache("default");
+    cache.putObject(0, 0);
+    assertNotNull(cache.getObject(0));
+    assertEquals(0, cache.removeObject(0));
+    assertNull(cache.getObject(0));
+  }
+
+  @Test
+  void shouldFlushAllItemsOnDemand() {
+    Cache cache = new OffHeapCache("default");
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+    }
+    assertNotNull(cache.getObject(0));
+    assertNotNull(cache.getObject(4));
+    cache.clear();
+    assertNull(cache.getObject(0));
+    assertNull(cache.getObject(4));
+    cache.putObject(5, 5);
+    assertEquals(5, cache.getObject(5));
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  void shouldStayWithinItsCapacityWhenUsedByManyThreads() throws Exception {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setSegmentSize(10 * ENTRY_SIZE);
+    cache.setCapacity(100 * ENTRY_SIZE);
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        final int thread = t;
+        futures.add(executorService.submit(() -> {
+          for (int i = 0; i < 10000; i++) {
+            Integer key = thread * 10000 + i;
+            cache.putObject(key, key);
+            Object value = cache.getObject(key);
+            assertTrue(value == null || key.equals(value));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdown();
+    }
+    assertTrue(cache.getSize() <= 100);
+  }
+
+  @Test
+  void shouldBuildWithPropertiesAndWithoutSerializedCache() {
+    Properties properties = new Properties();
+    properties.setProperty("capacity", String.valueOf(4 * ENTRY_SIZE));
+    properties.setProperty("segmentSize", String.valueOf(2 * ENTRY_SIZE));
+    Cache cache = new CacheBuilder("default").implementation(OffHeapCache.class).properties(properties)
+        .readWrite(true).build();
+    for (int i = 0; i < 10; i++) {
+      cache.putObject(i, i);
+    }
+    assertEquals(4, cache.getSize());
+    assertEquals(9, cache.getObject(9));
+    assertThrows(CacheException.class, () -> cache.putObject(10, new Object()));
+  }
+
+}
@@ -0,0 +1,287 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.ibatis.annotations.CacheNamespace;
+import org.apache.ibatis.annotations.Immutable;
+import org.apache.ibatis.cache.decorators.SerializedCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+class ReflectiveCopierTest {
+
+  @Test
+  void shouldCopyBeansDeeply() {
+    CacheCopier copier = new ReflectiveCopier();
+    Blog blog = blog();
+    Blog copy = (Blog) copier.copyOnRead(copier.copyOnWrite(blog));
+    assertNotSame(blog, copy);
+    assertNotSame(blog.getPosts(), copy.getPosts());
+    assertNotSame(blog.getPosts().get(0), copy.getPosts().get(0));
+    assertNotSame(blog.getCreatedOn(), copy.getCreatedOn());
+    assertEquals(blog.getCreatedOn(), copy.getCreatedOn());
+    assertEquals("First", copy.getPosts().get(0).getSubject());
+    assertEquals(LinkedList.class, copy.getPosts().getClass());
+    assertArrayEquals(blog.getTags(), copy.getTags());
+    assertNotSame(blog.getTags(), copy.getTags());
+  }
+
+  @Test
+  void shouldShareImmutableValues() {
+    CacheCopier copier = new ReflectiveCopier();
+    Blog blog = blog();
+    Blog copy = (Blog) copier.copyOnWrite(blog);
+    assertSame(blog.getTitle(), copy.getTitle());
+    assertSame(blog.getAuthor(), copy.getAuthor());
+    assertSame(blog.getState(), copy.getState());
+  }
+
+  @Test
+  void shouldKeepSharedReferencesAndCycles() {
+    CacheCopier copier = new ReflectiveCopier();
+    Blog blog = blog();
+    List<Post> posts = blog.getPosts();
+    List<Object> value = Arrays.asList(posts.get(0), posts.get(0), blog);
+    @SuppressWarnings("unchecked")
+    List<Object> copy = (List<Object>) copier.copyOnWrite(value);
+    assertSame(copy.get(0), copy.get(1));
+    Blog blogCopy = (Blog) copy.get(2);
+    assertSame(blogCopy, blogCopy.getPosts().get(0).getBlog());
+    assertSame(copy.get(0), blogCopy.getPosts().get(0));
+  }
+
+  @Test
+  void shouldCopyCollectionsWithTheirOrdering() {
+    CacheCopier copier = new ReflectiveCopier();
+    Map<String, Integer> map = new TreeMap<>(Comparator.reverseOrder());
+    map.put("a", 1);
+    map.put("b", 2);
+    @SuppressWarnings("unchecked")
+    Map<String, Integer> copy = (Map<String, Integer>) copier.copyOnWrite(map);
+    assertEquals(TreeMap.class, copy.getClass());
+    copy.put("c", 3);
+    assertEquals("c", copy.keySet().iterator().next());
+    assertEquals(2, map.size());
+
+    List<String> unmodifiable = Collections.unmodifiableList(new ArrayList<>(Arrays.asList("a", "b")));
+    assertEquals(Arrays.asList("a", "b"), copier.copyOnWrite(unmodifiable));
+  }
+
+  @Test
+  void shouldKeepTheTypeOfArrayListSubclasses() {
+    CacheCopier copier = new ReflectiveCopier();
+    PostList posts = new PostList();
+    posts.add(new Post(null, "First"));
+    Object copy = copier.copyOnWrite(posts);
+    assertEquals(PostList.class, copy.getClass());
+    assertEquals("First", ((PostList) copy).get(0).getSubject());
+    assertNotSame(posts.get(0), ((PostList) copy).get(0));
+  }
+
+  @Test
+  void shouldCopyTypesWithoutDefaultConstructorBySerialization() {
+    CacheCopier copier = new ReflectiveCopier();
+    Point point = new Point(1, 2);
+    Point copy = (Point) copier.copyOnWrite(point);
+    assertNotSame(point, copy);
+    assertEquals(2, copy.y);
+    assertThrows(CacheException.class, () -> copier.copyOnWrite(new Line(point, point)));
+  }
+
+  @Test
+  void shouldCopyValuesOfReadWriteCacheIndependently() {
+    SerializedCache cache = new SerializedCache(new PerpetualCache("default"));
+    cache.setCopier(new ReflectiveCopier());
+    Blog blog = blog();
+    cache.putObject(0, blog);
+    blog.setTitle("Changed by the caller");
+    Blog first = (Blog) cache.getObject(0);
+    first.getPosts().clear();
+    Blog second = (Blog) cache.getObject(0);
+    assertEquals("Blog", second.getTitle());
+    assertEquals(2, second.getPosts().size());
+    assertNotSame(first, second);
+  }
+
+  @Test
+  void shouldApplyCopierOfCacheNamespace() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.addMapper(ReflectiveMapper.class);
+    Cache cache = configuration.getCache(ReflectiveMapper.class.getName());
+    while (!(cache instanceof SerializedCache)) {
+      cache = delegateOf(cache);
+    }
+    Field field = SerializedCache.class.getDeclaredField("copier");
+    field.setAccessible(true);
+    assertEquals(ReflectiveCopier.class, field.get(cache).getClass());
+  }
+
+  private static Cache delegateOf(Cache cache) throws Exception {
+    Field field = cache.getClass().getDeclaredField("delegate");
+    field.setAccessible(true);
+    return (Cache) field.get(cache);
+  }
+
+  private static Blog blog() {
+    Blog blog = new Blog();
+    blog.setTitle("Blog");
+    blog.setAuthor(new Author("jim"));
+    blog.setState(State.PUBLISHED);
+    blog.setCreatedOn(new Date());
+    blog.setTags(new String[] { "java", "sql" });
+    List<Post> posts = new LinkedList<>();
+    posts.add(new Post(blog, "First"));
+    posts.add(new Post(blog, "Second"));
+    blog.setPosts(posts);
+    return blog;
+  }
+
+  enum State {
+    DRAFT, PUBLISHED
+  }
+
+  @Immutable
+  static class Author {
+    private final String username;
+
+    Author(String username) {
+      this.username = username;
+    }
+  }
+
+  static class Blog {
+    private String title;
+    private Author author;
+    private State state;
+    private Date createdOn;
+    private String[] tags;
+    private List<Post> posts;
+
+    public String getTitle() {
+      return title;
+    }
+
+    public void setTitle(String title) {
+      this.title = title;
+    }
+
+    public Author getAuthor() {
+      return author;
+    }
+
+    public void setAuthor(Author author) {
+      this.author = author;
+    }
+
+    public State getState() {
+      return state;
+    }
+
+    public void setState(State state) {
+      this.state = state;
+    }
+
+    public Date getCreatedOn() {
+      return createdOn;
+    }
+
+    public void setCreatedOn(Date createdOn) {
+      this.createdOn = createdOn;
+    }
+
+    public String[] getTags() {
+      return tags;
+    }
+
+    public void setTags(String[] tags) {
+      this.tags = tags;
+    }
+
+    public List<Post> getPosts() {
+      return posts;
+    }
+
+    public void setPosts(List<Post> posts) {
+      this.posts = posts;
+    }
+  }
+
+  static class Post {
+    private Blog blog;
+    private String subject;
+
+    Post() {
+    }
+
+    Post(Blog blog, String subject) {
+      this.blog = blog;
+      this.subject = subject;
+    }
+
+    public Blog getBlog() {
+      return blog;
+    }
+
+    public String getSubject() {
+      return subject;
+    }
+  }
+
+  static class PostList extends ArrayList<Post> {
+    private static final long serialVersionUID = 1L;
+  }
+
+  static class Point implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final int x;
+    private final int y;
+
+    Point(int x, int y) {
+      this.x = x;
+      this.y = y;
+    }
+  }
+
+  static class Line {
+    private final Point from;
+    private final Point to;
+
+    Line(Point from, Point to) {
+      this.from = from;
+      this.to = to;
+    }
+  }
+
+  @CacheNamespace(copier = ReflectiveCopier.class)
+  private interface ReflectiveMapper {
+  }
+
+}
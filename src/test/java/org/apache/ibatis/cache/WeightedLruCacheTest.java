@@ -0,0 +1,190 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.annotations.CacheNamespace;
+import org.apache.ibatis.cache.decorators.WeightedLruCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+class WeightedLruCacheTest {
+
+  @Test
+  void shouldRemoveLeastRecentlyUsedItemsBeyondMaxWeight() {
+    WeightedLruCache cache = new WeightedLruCache(new PerpetualCache("default"));
+    cache.setWeigher(new ListSizeWeigher());
+    cache.setMaxWeight(10);
+    cache.putObject(0, rows(4));
+    cache.putObject(1, rows(4));
+    assertNotNull(cache.getObject(0));
+    cache.putObject(2, rows(3));
+    assertNotNull(cache.getObject(0));
+    assertNull(cache.getObject(1));
+    assertNotNull(cache.getObject(2));
+    assertEquals(7, cache.getWeight());
+    assertEquals(2, cache.getSize());
+  }
+
+  @Test
+  void shouldNotCacheItemHeavierThanMaxWeight() {
+    WeightedLruCache cache = new WeightedLruCache(new PerpetualCache("default"));
+    cache.setWeigher(new ListSizeWeigher());
+    cache.setMaxWeight(10);
+    cache.putObject(0, rows(2));
+    cache.putObject(1, rows(11));
+    assertNull(cache.getObject(1));
+    assertNotNull(cache.getObject(0));
+    assertEquals(2, cache.getWeight());
+  }
+
+  @Test
+  void shouldReweighReplacedItem() {
+    WeightedLruCache cache = new WeightedLruCache(new PerpetualCache("default"));
+    cache.setWeigher(new ListSizeWeigher());
+    cache.putObject(0, rows(5));
+    cache.putObject(0, rows(2));
+    assertEquals(2, cache.getWeight());
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  void shouldEvictWhenMaxWeightIsLowered() {
+    WeightedLruCache cache = new WeightedLruCache(new PerpetualCache("default"));
+    cache.setWeigher(new ListSizeWeigher());
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, rows(2));
+    }
+    cache.setMaxWeight(4);
+    assertNull(cache.getObject(2));
+    assertNotNull(cache.getObject(3));
+    assertNotNull(cache.getObject(4));
+    assertEquals(4, cache.getWeight());
+  }
+
+  @Test
+  void shouldRemoveItemOnDemand() {
+    WeightedLruCache cache = new WeightedLruCache(new PerpetualCache("default"));
+    cache.setWeigher(new ListSizeWeigher());
+    cache.putObject(0, rows(3));
+    assertNotNull(cache.getObject(0));
+    cache.removeObject(0);
+    assertNull(cache.getObject(0));
+    assertEquals(0, cache.getWeight());
+  }
+
+  @Test
+  void shouldFlushAllItemsOnDemand() {
+    WeightedLruCache cache = new WeightedLruCache(new PerpetualCache("default"));
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+    }
+    assertNotNull(cache.getObject(0));
+    assertNotNull(cache.getObject(4));
+    cache.clear();
+    assertNull(cache.getObject(0));
+    assertNull(cache.getObject(4));
+    assertEquals(0, cache.getWeight());
+  }
+
+  @Test
+  void shouldRejectNegativeWeights() {
+    WeightedLruCache cache = new WeightedLruCache(new PerpetualCache("default"));
+    cache.setWeigher((key, value) -> -1);
+    assertThrows(CacheException.class, () -> cache.putObject(0, 0));
+  }
+
+  @Test
+  void shouldEstimateWeightByContents() {
+    CacheWeigher weigher = new EstimatedSizeWeigher();
+    long oneRow = weigher.weigh("key", rows(1));
+    long manyRows = weigher.weigh("key", rows(1000));
+    assertTrue(oneRow > 0);
+    assertTrue(manyRows > 500 * oneRow);
+    assertEquals(1016, weigher.weigh(null, new byte[1000]));
+  }
+
+  @Test
+  void shouldCountSharedAndCyclicObjectsOnce() {
+    CacheWeigher weigher = new EstimatedSizeWeigher();
+    Row row = new Row(1, "name");
+    row.next = row;
+    long one = weigher.weigh(null, Collections.singletonList(row));
+    long twice = weigher.weigh(null, Arrays.asList(row, row));
+    assertEquals(one + 8, twice);
+  }
+
+  @Test
+  void shouldApplyWeightSettingsOfCacheNamespace() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.addMapper(WeightedMapper.class);
+    Cache cache = configuration.getCache(WeightedMapper.class.getName());
+    while (!(cache instanceof WeightedLruCache)) {
+      cache = delegateOf(cache);
+    }
+    WeightedLruCache weightedCache = (WeightedLruCache) cache;
+    assertEquals(100, weightedCache.getMaxWeight());
+    weightedCache.putObject(0, rows(60));
+    weightedCache.putObject(1, rows(60));
+    assertNull(weightedCache.getObject(0));
+    assertEquals(60, weightedCache.getWeight());
+  }
+
+  private static Cache delegateOf(Cache cache) throws Exception {
+    Field field = cache.getClass().getDeclaredField("delegate");
+    field.setAccessible(true);
+    return (Cache) field.get(cache);
+  }
+
+  private static List<Row> rows(int count) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      rows.add(new Row(i, "name" + i));
+    }
+    return rows;
+  }
+
+  static class Row {
+    private final int id;
+    private final String name;
+    private Row next;
+
+    Row(int id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  public static class ListSizeWeigher implements CacheWeigher {
+    @Override
+    public long weigh(Object key, Object value) {
+      return value instanceof List ? ((List<?>) value).size() : 1;
+    }
+  }
+
+  @CacheNamespace(eviction = WeightedLruCache.class, maxWeight = 100, weigher = ListSizeWeigher.class, readWrite = false)
+  private interface WeightedMapper {
+  }
+
+}
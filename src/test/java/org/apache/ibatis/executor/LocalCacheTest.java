@@ -0,0 +1,110 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.apache.ibatis.executor.ExecutionPlaceholder.EXECUTION_PLACEHOLDER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.ibatis.session.LocalCacheEviction;
+import org.junit.jupiter.api.Test;
+
+class LocalCacheTest {
+
+  @Test
+  void shouldNotEvictWhenUnbounded() {
+    LocalCache cache = new LocalCache("default");
+    for (int i = 0; i < 100; i++) {
+      cache.putObject(i, Collections.singletonList(i));
+    }
+    cache.evictExcess();
+    assertThat(cache.isBounded()).isFalse();
+    assertThat(cache.getSize()).isEqualTo(100);
+    assertThat(cache.getEvictionCount()).isZero();
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedEntries() {
+    LocalCache cache = new LocalCache("default", LocalCacheEviction.LRU, 3, 0);
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, Collections.singletonList(i));
+      cache.getObject(0);
+    }
+    assertThat(cache.getSize()).isEqualTo(5);
+    cache.evictExcess();
+    assertThat(cache.getSize()).isEqualTo(3);
+    assertThat(cache.getObject(0)).isNotNull();
+    assertThat(cache.getObject(1)).isNull();
+    assertThat(cache.getObject(2)).isNull();
+    assertThat(cache.getEvictionCount()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldEvictFirstAddedEntries() {
+    LocalCache cache = new LocalCache("default", LocalCacheEviction.FIFO, 3, 0);
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, Collections.singletonList(i));
+      cache.getObject(0);
+    }
+    cache.evictExcess();
+    assertThat(cache.getObject(0)).isNull();
+    assertThat(cache.getObject(1)).isNull();
+    assertThat(cache.getObject(4)).isNotNull();
+  }
+
+  @Test
+  void shouldEvictByNumberOfCachedObjects() {
+    LocalCache cache = new LocalCache("default", LocalCacheEviction.LRU, 0, 5);
+    cache.putObject("a", Arrays.asList(1, 2, 3));
+    cache.putObject("b", Arrays.asList(4, 5));
+    cache.evictExcess();
+    assertThat(cache.getSize()).isEqualTo(2);
+    cache.putObject("c", Collections.singletonList(6));
+    cache.evictExcess();
+    assertThat(cache.getObject("a")).isNull();
+    assertThat(cache.getObject("b")).isNotNull();
+    assertThat(cache.getObject("c")).isNotNull();
+  }
+
+  @Test
+  void shouldKeepQueriesInProgress() {
+    LocalCache cache = new LocalCache("default", LocalCacheEviction.LRU, 1, 0);
+    cache.putObject("running", EXECUTION_PLACEHOLDER);
+    cache.putObject("done", Collections.emptyList());
+    cache.evictExcess();
+    assertThat(cache.getObject("running")).isSameAs(EXECUTION_PLACEHOLDER);
+    assertThat(cache.getObject("done")).isNull();
+  }
+
+  @Test
+  void shouldRecordLookups() {
+    LocalCache cache = new LocalCache("default");
+    cache.recordLookup(false);
+    cache.recordLookup(true);
+    cache.recordLookup(true);
+    cache.recordLookup(true);
+    assertThat(cache.getHitCount()).isEqualTo(3);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitRatio()).isEqualTo(0.75);
+    assertThat(cache.getStatistics().getHitCount()).isEqualTo(3);
+    assertThat(cache.getStatistics().getMissCount()).isEqualTo(1);
+    assertThat(cache.getStatistics().getEvictionCount()).isZero();
+    assertThat(cache.getStatistics().getHitRatio()).isEqualTo(0.75);
+  }
+
+}
@@ -0,0 +1,153 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.transaction.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MultiQueryTest {
+
+  private static final String SELECT_NAME = "select name from users where id = ?";
+  private static final String SELECT_COUNT = "select count(*) from users";
+
+  private Configuration config;
+  private Connection connection;
+  private PreparedStatement ps;
+  private Executor executor;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    config = new Configuration();
+    config.setMultiQueryEnabled(true);
+    connection = mock(Connection.class);
+    ps = mock(PreparedStatement.class);
+    DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class);
+    when(connection.prepareStatement(contains("select"))).thenReturn(ps);
+    when(connection.getMetaData()).thenReturn(databaseMetaData);
+    when(databaseMetaData.supportsMultipleResultSets()).thenReturn(true);
+    when(ps.execute()).thenReturn(true);
+    when(ps.getConnection()).thenReturn(connection);
+    when(ps.getUpdateCount()).thenReturn(-1);
+    ResultSet names = mockResultSet("NAME", Types.VARCHAR, String.class);
+    when(names.getString("NAME")).thenReturn("User2");
+    ResultSet counts = mockResultSet("C1", Types.INTEGER, Integer.class);
+    when(counts.getInt("C1")).thenReturn(3);
+    when(ps.getResultSet()).thenReturn(names, counts);
+    Transaction transaction = mock(Transaction.class);
+    when(transaction.getConnection()).thenReturn(connection);
+    executor = new SimpleExecutor(config, transaction);
+  }
+
+  @Test
+  void shouldRunTheUncachedSelectsInOneStatement() throws SQLException {
+    when(ps.getMoreResults()).thenReturn(true, false);
+    MappedStatement selectName = selectName();
+    MappedStatement selectCount = selectCount(null);
+
+    List<List<Object>> results = executor.queryMultiple(Arrays.asList(selectName, selectCount), Arrays.asList(2, null));
+    assertEquals(Arrays.asList(Collections.singletonList("User2"), Collections.singletonList(3)), results);
+    verify(connection).prepareStatement(SELECT_NAME + ";\n" + SELECT_COUNT);
+    verify(ps).setInt(1, 2);
+    verify(ps).close();
+
+    // both results are now in the local cache
+    List<List<Object>> cachedResults = executor.queryMultiple(Arrays.asList(selectCount, selectName), Arrays.asList(null, 2));
+    assertSame(results.get(1), cachedResults.get(0));
+    assertSame(results.get(0), cachedResults.get(1));
+    verify(connection, times(1)).prepareStatement(contains("select"));
+    assertEquals(2, executor.getLocalCacheStatistics().getHitCount());
+    assertEquals(2, executor.getLocalCacheStatistics().getMissCount());
+  }
+
+  @Test
+  void shouldRunSelectsWithAnotherFetchSizeSeparately() throws SQLException {
+    MappedStatement selectName = selectName();
+    MappedStatement selectCount = selectCount(100);
+
+    List<List<Object>> results = executor.queryMultiple(Arrays.asList(selectName, selectCount), Arrays.asList(2, null));
+    assertEquals(Arrays.asList(Collections.singletonList("User2"), Collections.singletonList(3)), results);
+    verify(connection).prepareStatement(SELECT_NAME);
+    verify(connection).prepareStatement(SELECT_COUNT);
+    verify(connection, never()).prepareStatement(contains(";"));
+    verify(ps).setFetchSize(100);
+    // each miss is counted once, by the query run on its own
+    assertEquals(0, executor.getLocalCacheStatistics().getHitCount());
+    assertEquals(2, executor.getLocalCacheStatistics().getMissCount());
+  }
+
+  private MappedStatement selectName() {
+    List<ParameterMapping> parameterMappings = Collections.singletonList(new ParameterMapping.Builder(config, "id", Integer.class).build());
+    return addMappedStatement(new MappedStatement.Builder(config, "selectName",
+        new StaticSqlSource(config, SELECT_NAME, parameterMappings), SqlCommandType.SELECT)
+            .resultMaps(Collections.singletonList(new ResultMap.Builder(config, "selectName-Inline", String.class, new ArrayList<>()).build()))
+            .build());
+  }
+
+  private MappedStatement selectCount(Integer fetchSize) {
+    return addMappedStatement(new MappedStatement.Builder(config, "selectCount",
+        new StaticSqlSource(config, SELECT_COUNT), SqlCommandType.SELECT)
+            .fetchSize(fetchSize)
+            .resultMaps(Collections.singletonList(new ResultMap.Builder(config, "selectCount-Inline", Integer.class, new ArrayList<>()).build()))
+            .build());
+  }
+
+  private MappedStatement addMappedStatement(MappedStatement ms) {
+    config.addMappedStatement(ms);
+    return ms;
+  }
+
+  private static ResultSet mockResultSet(String column, int jdbcType, Class<?> javaType) throws SQLException {
+    ResultSet rs = mock(ResultSet.class);
+    ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+    when(rs.next()).thenReturn(true, false);
+    when(rsmd.getColumnCount()).thenReturn(1);
+    when(rsmd.getColumnLabel(1)).thenReturn(column);
+    when(rsmd.getColumnType(1)).thenReturn(jdbcType);
+    when(rsmd.getColumnClassName(1)).thenReturn(javaType.getName());
+    return rs;
+  }
+
+}
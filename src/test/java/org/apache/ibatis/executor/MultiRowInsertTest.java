@@ -0,0 +1,48 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MultiRowInsertTest {
+
+  @Test
+  void shouldRewriteSingleRowInsert() {
+    assertThat(MultiRowInsert.rewrite("insert into users (id, name) values (?, ?)", 2, 3))
+        .isEqualTo("insert into users (id, name) values (?, ?), (?, ?), (?, ?)");
+    assertThat(MultiRowInsert.rewrite("  INSERT INTO users (id, name)\n  VALUES (?, upper(?))  ", 2, 2))
+        .isEqualTo("  INSERT INTO users (id, name)\n  VALUES (?, upper(?)), (?, upper(?))");
+  }
+
+  @Test
+  void shouldIgnoreValuesInQuotes() {
+    assertThat(MultiRowInsert.rewrite("insert into users (id, name) values (?, 'values (?)')", 1, 2))
+        .isEqualTo("insert into users (id, name) values (?, 'values (?)'), (?, 'values (?)')");
+  }
+
+  @Test
+  void shouldNotRewriteOtherStatements() {
+    assertThat(MultiRowInsert.rewrite("update users set name = ? where id = ?", 2, 3)).isNull();
+    assertThat(MultiRowInsert.rewrite("insert into users (id, name) select id, name from people where id = ?", 1, 3)).isNull();
+    assertThat(MultiRowInsert.rewrite("insert into users (id, name) values (?, ?) on duplicate key update name = ?", 3, 3)).isNull();
+    assertThat(MultiRowInsert.rewrite("insert into users (id, name) values (?, ?), (?, ?)", 4, 3)).isNull();
+    assertThat(MultiRowInsert.rewrite("insert into users (id, name) values ((select max(id) from users where id < ?), ?)", 2, 2))
+        .isEqualTo("insert into users (id, name) values ((select max(id) from users where id < ?), ?), ((select max(id) from users where id < ?), ?)");
+  }
+
+}
@@ -0,0 +1,55 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class NumericRowKeyMapTest {
+
+  @Test
+  void shouldFindValuesByKeyContent() {
+    NumericRowKeyMap map = new NumericRowKeyMap();
+    map.put(new long[] { 0, 0, 1 }, "one");
+    map.put(new long[] { 0, 0, 1, 1, 0, 7 }, "child");
+    assertThat(map.get(new long[] { 0, 0, 1 })).isEqualTo("one");
+    assertThat(map.get(new long[] { 0, 0, 1, 1, 0, 7 })).isEqualTo("child");
+    assertThat(map.get(new long[] { 0, 0, 2 })).isNull();
+    assertThat(map.get(new long[] { 1, 0, 1 })).isNull();
+    map.put(new long[] { 0, 0, 1 }, "replaced");
+    assertThat(map.get(new long[] { 0, 0, 1 })).isEqualTo("replaced");
+    assertThat(map.size()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldGrowAndClear() {
+    NumericRowKeyMap map = new NumericRowKeyMap();
+    for (long i = 0; i < 10_000; i++) {
+      map.put(new long[] { 0, 0, i }, i);
+    }
+    assertThat(map.size()).isEqualTo(10_000);
+    for (long i = 0; i < 10_000; i++) {
+      assertThat(map.get(new long[] { 0, 0, i })).isEqualTo(i);
+    }
+    map.clear();
+    assertThat(map.size()).isZero();
+    assertThat(map.get(new long[] { 0, 0, 1 })).isNull();
+    map.put(new long[] { 0, 0, 1 }, "again");
+    assertThat(map.get(new long[] { 0, 0, 1 })).isEqualTo("again");
+  }
+
+}
@@ -0,0 +1,134 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FetchSizeAdvisorTest {
+
+  private final Configuration configuration = new Configuration();
+
+  @Mock
+  Statement statement;
+
+  @Mock
+  Connection connection;
+
+  @Mock
+  DatabaseMetaData metaData;
+
+  @Test
+  void shouldRejectNonPositiveMax() {
+    assertThatThrownBy(() -> new FetchSizeAdvisor(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldNotAdviseBeforeFirstExecution() {
+    FetchSizeAdvisor advisor = new FetchSizeAdvisor(100);
+    MappedStatement ms = mappedStatement("select", false);
+    assertThat(advisor.getAverageRowCount(ms)).isEqualTo(-1);
+    assertThat(advisor.getFetchSize(ms)).isNull();
+  }
+
+  @Test
+  void shouldAdviseSlightlyMoreThanAverageRowCount() {
+    FetchSizeAdvisor advisor = new FetchSizeAdvisor(100);
+    MappedStatement ms = mappedStatement("select", false);
+    advisor.recordRowCount(ms, 10);
+    assertThat(advisor.getFetchSize(ms)).isEqualTo(11);
+    advisor.recordRowCount(ms, 30);
+    assertThat(advisor.getAverageRowCount(ms)).isEqualTo(15.0);
+    assertThat(advisor.getFetchSize(ms)).isEqualTo(16);
+  }
+
+  @Test
+  void shouldClampToMax() {
+    FetchSizeAdvisor advisor = new FetchSizeAdvisor(100);
+    MappedStatement ms = mappedStatement("select", false);
+    advisor.recordRowCount(ms, 5000);
+    assertThat(advisor.getFetchSize(ms)).isEqualTo(100);
+  }
+
+  @Test
+  void shouldStreamCursorsRowByRowOnMySql() throws SQLException {
+    mockDatabase("MySQL");
+    FetchSizeAdvisor advisor = new FetchSizeAdvisor(100);
+    assertThat(advisor.getStreamingFetchSize(statement, mappedStatement("select", false), true)).isEqualTo(Integer.MIN_VALUE);
+  }
+
+  @Test
+  void shouldNotStreamResultHandlersRowByRowOnMySql() throws SQLException {
+    mockDatabase("MySQL");
+    FetchSizeAdvisor advisor = new FetchSizeAdvisor(100);
+    assertThat(advisor.getStreamingFetchSize(statement, mappedStatement("select", false), false)).isEqualTo(100);
+  }
+
+  @Test
+  void shouldNotStreamRowByRowOnMySqlWithNestedQueries() throws SQLException {
+    mockDatabase("MySQL");
+    FetchSizeAdvisor advisor = new FetchSizeAdvisor(100);
+    assertThat(advisor.getStreamingFetchSize(statement, mappedStatement("select", true), true)).isEqualTo(100);
+  }
+
+  @Test
+  void shouldUseMaxOrLearnedSizeOnOtherDatabases() throws SQLException {
+    mockDatabase("HSQL Database Engine");
+    FetchSizeAdvisor advisor = new FetchSizeAdvisor(100);
+    MappedStatement ms = mappedStatement("select", false);
+    assertThat(advisor.getStreamingFetchSize(statement, ms, false)).isEqualTo(100);
+    advisor.recordRowCount(ms, 20);
+    assertThat(advisor.getStreamingFetchSize(statement, ms, false)).isEqualTo(21);
+  }
+
+  private void mockDatabase(String productName) throws SQLException {
+    when(statement.getConnection()).thenReturn(connection);
+    when(connection.getMetaData()).thenReturn(metaData);
+    when(metaData.getDatabaseProductName()).thenReturn(productName);
+  }
+
+  private MappedStatement mappedStatement(String id, boolean nestedQuery) {
+    ArrayList<ResultMapping> mappings = new ArrayList<>();
+    if (nestedQuery) {
+      mappings.add(new ResultMapping.Builder(configuration, "child", "child_id", Object.class)
+          .nestedQueryId("selectChild").build());
+    }
+    ResultMap resultMap = new ResultMap.Builder(configuration, id + "-Inline", Object.class, mappings).build();
+    return new MappedStatement.Builder(configuration, id, new StaticSqlSource(configuration, "select 1"), SqlCommandType.SELECT)
+        .resultMaps(Collections.singletonList(resultMap)).build();
+  }
+
+}
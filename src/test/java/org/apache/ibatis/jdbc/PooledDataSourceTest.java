@@ -1,5 +1,5 @@
 /**
- *    Copyright 2009-2019 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -75,6 +75,105 @@ class PooledDataSourceTest extends BaseDataTest {
     }
   }
 
+  @Test
+  void shouldReuseCachedStatementsAcrossBorrowedConnections() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      runScript(ds, JPETSTORE_DDL);
+      ds.setPoolMaximumActiveConnections(1);
+      ds.setPoolPreparedStatementCacheSize(2);
+      for (int i = 0; i < 3; i++) {
+        try (Connection c = ds.getConnection()) {
+          int defaultFetchSize;
+          try (PreparedStatement st = c.prepareStatement("SELECT * FROM PRODUCT WHERE PRODUCTID = ?")) {
+            defaultFetchSize = st.getFetchSize();
+            st.setFetchSize(defaultFetchSize + 10);
+            st.setString(1, "X");
+            st.executeQuery().close();
+          }
+          try (PreparedStatement st = c.prepareStatement("SELECT * FROM PRODUCT WHERE PRODUCTID = ?")) {
+            assertEquals(defaultFetchSize, st.getFetchSize());
+          }
+        }
+      }
+      assertEquals(5, ds.getPoolState().getStatementCacheHitCount());
+      assertEquals(1, ds.getPoolState().getStatementCacheMissCount());
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldCloseLeastRecentlyUsedStatements() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      runScript(ds, JPETSTORE_DDL);
+      ds.setPoolMaximumActiveConnections(1);
+      ds.setPoolPreparedStatementCacheSize(1);
+      try (Connection c = ds.getConnection()) {
+        PreparedStatement first = c.prepareStatement("SELECT * FROM PRODUCT");
+        // the first statement is in use
+        PreparedStatement second = c.prepareStatement("SELECT * FROM PRODUCT");
+        first.close();
+        second.close();
+        assertTrue(first.isClosed());
+        c.prepareStatement("SELECT * FROM ITEM").close();
+        c.prepareStatement("SELECT * FROM ITEM").close();
+        c.prepareStatement("SELECT * FROM PRODUCT").close();
+      }
+      assertEquals(1, ds.getPoolState().getStatementCacheHitCount());
+      assertEquals(4, ds.getPoolState().getStatementCacheMissCount());
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldCloseTheResultSetOfReleasedStatements() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      runScript(ds, JPETSTORE_DDL);
+      ds.setPoolMaximumActiveConnections(1);
+      ds.setPoolPreparedStatementCacheSize(1);
+      try (Connection c = ds.getConnection()) {
+        PreparedStatement st = c.prepareStatement("SELECT * FROM PRODUCT");
+        ResultSet rs = st.executeQuery();
+        st.close();
+        assertTrue(rs.isClosed());
+        try (PreparedStatement reused = c.prepareStatement("SELECT * FROM PRODUCT")) {
+          assertNull(reused.getResultSet());
+        }
+      }
+      assertEquals(1, ds.getPoolState().getStatementCacheHitCount());
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldCloseStatementsReleasedAfterTheirConnectionWasReclaimed() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      runScript(ds, JPETSTORE_DDL);
+      ds.setPoolMaximumActiveConnections(1);
+      ds.setPoolMaximumCheckoutTime(20);
+      ds.setPoolPreparedStatementCacheSize(1);
+      Connection overdue = ds.getConnection();
+      PreparedStatement st = overdue.prepareStatement("SELECT * FROM PRODUCT");
+      PreparedStatement realStatement = st.unwrap(PreparedStatement.class);
+      TimeUnit.MILLISECONDS.sleep(50);
+      try (Connection c = ds.getConnection()) {
+        // the real connection is still open, but the statement must not be cached for the next borrower
+        st.close();
+        assertTrue(realStatement.isClosed());
+        assertFalse(c.isClosed());
+      }
+      overdue.close();
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
   @Test
   void shouldNotFailCallingToStringOverAnInvalidConnection() throws Exception {
     PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
@@ -0,0 +1,168 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.async_session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.AsyncSqlSession;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.defaults.DefaultAsyncSqlSession;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncSessionTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/async_session/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @BeforeEach
+  void createTables() throws Exception {
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/async_session/CreateDB.sql");
+  }
+
+  @Test
+  void shouldSelectAsynchronously() {
+    try (AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession()) {
+      CompletableFuture<User> user = asyncSession.selectOne("org.apache.ibatis.submitted.async_session.Mapper.getUser", 1);
+      CompletableFuture<List<User>> users = asyncSession.selectList("org.apache.ibatis.submitted.async_session.Mapper.getUsers");
+      assertThat(user.join().getName()).isEqualTo("User1");
+      assertThat(users.join()).extracting(User::getName).containsExactly("User1", "User2");
+    }
+  }
+
+  @Test
+  void shouldRunMapperMethodsInOrderWithinTheTransaction() {
+    try (AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession()) {
+      Mapper mapper = asyncSession.getMapper(Mapper.class);
+      CompletableFuture<Integer> count = mapper.insertUser(new User(3, "User3"));
+      CompletableFuture<List<User>> users = mapper.getUsers();
+      CompletableFuture<User> inserted = mapper.insertAndGetUser(new User(4, "User4"));
+      asyncSession.rollback();
+      assertThat(count.join()).isEqualTo(1);
+      assertThat(users.join()).extracting(User::getName).containsExactly("User1", "User2", "User3");
+      assertThat(inserted.join().getName()).isEqualTo("User4");
+      assertThat(mapper.getUsers().join()).hasSize(2);
+    }
+  }
+
+  @Test
+  void shouldCommitAsynchronously() {
+    try (AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession()) {
+      asyncSession.insert("org.apache.ibatis.submitted.async_session.Mapper.insertUser", new User(3, "User3"));
+      asyncSession.commit().join();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).getUserSynchronously(3).getName()).isEqualTo("User3");
+    }
+  }
+
+  @Test
+  void shouldRunOnTheGivenExecutor() {
+    ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "async-session-test"));
+    try (AsyncSqlSession asyncSession = new DefaultAsyncSqlSession(sqlSessionFactory.openSession(), executor)) {
+      assertThat(asyncSession.execute(sqlSession -> Thread.currentThread().getName()).join())
+          .isEqualTo("async-session-test");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldRunOnTheConfiguredExecutor() {
+    ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "async-session-test"));
+    sqlSessionFactory.getConfiguration().setAsyncExecutor(executor);
+    try (AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession()) {
+      assertThat(asyncSession.execute(sqlSession -> Thread.currentThread().getName()).join())
+          .isEqualTo("async-session-test");
+    } finally {
+      sqlSessionFactory.getConfiguration().setAsyncExecutor(null);
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldWaitForThePendingCallsWhenClosing() {
+    SqlSession sqlSession = sqlSessionFactory.openSession();
+    AsyncSqlSession asyncSession = new DefaultAsyncSqlSession(sqlSession, sqlSessionFactory.getConfiguration().getAsyncExecutor());
+    CompletableFuture<List<User>> users = asyncSession.selectList("org.apache.ibatis.submitted.async_session.Mapper.getUsers");
+    asyncSession.close();
+    assertThat(users).isDone();
+    assertThatThrownBy(() -> sqlSession.selectList("org.apache.ibatis.submitted.async_session.Mapper.getUsers"))
+        .isInstanceOf(PersistenceException.class);
+  }
+
+  @Test
+  void shouldCloseAsynchronously() {
+    AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession();
+    CompletableFuture<User> user = asyncSession.selectOne("org.apache.ibatis.submitted.async_session.Mapper.getUser", 1);
+    asyncSession.closeAsync().join();
+    assertThat(user.join().getName()).isEqualTo("User1");
+    CompletableFuture<User> afterClose = asyncSession.selectOne("org.apache.ibatis.submitted.async_session.Mapper.getUser", 1);
+    assertThatThrownBy(afterClose::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(PersistenceException.class);
+  }
+
+  @Test
+  void shouldCompleteExceptionallyAndContinue() {
+    try (AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession()) {
+      Mapper mapper = asyncSession.getMapper(Mapper.class);
+      CompletableFuture<Integer> failed = asyncSession.insert("org.apache.ibatis.submitted.async_session.Mapper.unknown", null);
+      assertThatThrownBy(failed::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(PersistenceException.class);
+      assertThat(mapper.getUser(2).join().getName()).isEqualTo("User2");
+    }
+  }
+
+  @Test
+  void shouldRejectSynchronousMethods() {
+    try (AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession()) {
+      Mapper mapper = asyncSession.getMapper(Mapper.class);
+      assertThatThrownBy(() -> mapper.getUserSynchronously(1)).isInstanceOf(BindingException.class);
+    }
+  }
+
+  @Test
+  void shouldReturnCompletedFuturesFromSynchronousSessions() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      CompletableFuture<User> user = sqlSession.getMapper(Mapper.class).getUser(1);
+      assertThat(user).isDone();
+      assertThat(user.join().getName()).isEqualTo("User1");
+    }
+  }
+
+}
@@ -0,0 +1,42 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.async_session;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Select;
+
+public interface Mapper {
+
+  @Select("select * from users where id = #{id}")
+  CompletableFuture<User> getUser(Integer id);
+
+  @Select("select * from users order by id")
+  CompletableFuture<List<User>> getUsers();
+
+  @Insert("insert into users (id, name) values (#{id}, #{name})")
+  CompletableFuture<Integer> insertUser(User user);
+
+  @Select("select * from users where id = #{id}")
+  User getUserSynchronously(Integer id);
+
+  default CompletableFuture<User> insertAndGetUser(User user) {
+    return insertUser(user).thenCompose(count -> getUser(user.getId()));
+  }
+
+}
@@ -0,0 +1,103 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.auto_mapping_plan_cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.resultset.AutoMappingPlanCache;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AutoMappingPlanCacheTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/auto_mapping_plan_cache/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/auto_mapping_plan_cache/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void clearPlans() {
+    sqlSessionFactory.getConfiguration().getAutoMappingPlanCache().clear();
+  }
+
+  @Test
+  void shouldReusePlanAcrossExecutions() {
+    AutoMappingPlanCache planCache = sqlSessionFactory.getConfiguration().getAutoMappingPlanCache();
+    for (int i = 1; i <= 2; i++) {
+      try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+        User user = sqlSession.getMapper(Mapper.class).getUser(i);
+        assertThat(user.getId()).isEqualTo(i);
+        assertThat(user.getName()).isEqualTo("User" + i);
+        assertThat(user.getNickName()).isEqualTo(i == 1 ? "one" : "two");
+      }
+      assertThat(planCache.size()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void shouldBuildPlanPerColumnLayout() {
+    AutoMappingPlanCache planCache = sqlSessionFactory.getConfiguration().getAutoMappingPlanCache();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = mapper.getUsers("id, name");
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User2");
+      assertThat(users).extracting(User::getNickName).containsOnlyNulls();
+
+      users = mapper.getUsers("nick_name, id");
+      assertThat(users).extracting(User::getId).containsExactly(1, 2);
+      assertThat(users).extracting(User::getName).containsOnlyNulls();
+      assertThat(users).extracting(User::getNickName).containsExactly("one", "two");
+      assertThat(planCache.size()).isEqualTo(2);
+
+      users = mapper.getUsers("id, name");
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User2");
+      assertThat(planCache.size()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldEvictWhenFull() {
+    AutoMappingPlanCache planCache = sqlSessionFactory.getConfiguration().getAutoMappingPlanCache();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.getUsers("id");
+      mapper.getUsers("id, name");
+      List<User> users = mapper.getUsers("name, id");
+      assertThat(users).extracting(User::getId).containsExactly(1, 2);
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User2");
+      assertThat(planCache.size()).isEqualTo(2);
+    }
+  }
+
+}
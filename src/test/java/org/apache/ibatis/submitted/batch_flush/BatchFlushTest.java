@@ -0,0 +1,114 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_flush;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchFlushTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_flush/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @BeforeEach
+  void createTables() throws Exception {
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_flush/CreateDB.sql");
+  }
+
+  @Test
+  void shouldFlushWhenThresholdIsReached() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 7; i++) {
+        mapper.insertUser(new User(i, "User" + i));
+        assertThat(countUsers(sqlSession.getConnection())).isEqualTo(i / 3 * 3);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).hasSize(3);
+      // the automatically flushed results only keep their update counts
+      assertThat(results).extracting(result -> result.getParameterObjects().size()).containsExactly(0, 0, 1);
+      assertThat(results).extracting(BatchResult::getUpdateCounts).containsExactly(new int[] {1, 1, 1}, new int[] {1, 1, 1}, new int[] {1});
+      sqlSession.commit();
+      assertThat(mapper.countUsers()).isEqualTo(7);
+    }
+  }
+
+  @Test
+  void shouldPassResultsToHandler() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      List<BatchResult> handled = new ArrayList<>();
+      sqlSession.setBatchResultHandler(handled::add);
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 7; i++) {
+        mapper.insertUser(new User(i, "User" + i));
+      }
+      assertThat(handled).hasSize(2);
+      assertThat(sqlSession.flushStatements()).isEmpty();
+      assertThat(handled).hasSize(3);
+      assertThat(handled).extracting(result -> result.getParameterObjects().size()).containsExactly(3, 3, 1);
+      sqlSession.commit();
+      assertThat(mapper.countUsers()).isEqualTo(7);
+    }
+  }
+
+  @Test
+  void shouldDiscardResultsOnRollback() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 4; i++) {
+        mapper.insertUser(new User(i, "User" + i));
+      }
+      sqlSession.rollback();
+      assertThat(sqlSession.flushStatements()).isEmpty();
+      assertThat(mapper.countUsers()).isEqualTo(0);
+    }
+  }
+
+  private int countUsers(Connection connection) throws Exception {
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("select count(*) from users")) {
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
+}
@@ -0,0 +1,125 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_reorder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchReorderTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_reorder/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @BeforeEach
+  void createTables() throws Exception {
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_reorder/CreateDB.sql");
+  }
+
+  @Test
+  void shouldGroupInterleavedInserts() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 3; i++) {
+        mapper.insertOrder(new PurchaseOrder(i, 0));
+        mapper.insertLine(new OrderLine(i * 10 + 1, i));
+        mapper.insertLine(new OrderLine(i * 10 + 2, i));
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getMappedStatement().getId()).containsExactly(
+          "org.apache.ibatis.submitted.batch_reorder.Mapper.insertOrder",
+          "org.apache.ibatis.submitted.batch_reorder.Mapper.insertLine");
+      assertThat(results).extracting(result -> result.getParameterObjects().size()).containsExactly(3, 6);
+      sqlSession.commit();
+      assertThat(mapper.countLines()).isEqualTo(6);
+    }
+  }
+
+  @Test
+  void shouldFlushBeforeExecutingRowsAheadOfLaterStatements() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertOrder(new PurchaseOrder(1, 0));
+      mapper.insertLine(new OrderLine(11, 1));
+      mapper.insertLine(new OrderLine(12, 1));
+      mapper.updateOrder(new PurchaseOrder(1, 2));
+      mapper.insertOrder(new PurchaseOrder(2, 0));
+      mapper.insertLine(new OrderLine(21, 2));
+      mapper.updateOrder(new PurchaseOrder(2, 1));
+      assertThat(mapper.selectTotal(1)).isEqualTo(2);
+      assertThat(mapper.selectTotal(2)).isEqualTo(1);
+      assertThat(mapper.countLines()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void shouldKeepTablesInTheOrderTheyWereFirstModified() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertOrder(new PurchaseOrder(1, 0));
+      mapper.insertLine(new OrderLine(11, 1));
+      sqlSession.flushStatements();
+      // the lines statement is opened first now, the line of order 2 must not be executed ahead of its order
+      mapper.insertLine(new OrderLine(12, 1));
+      mapper.insertOrder(new PurchaseOrder(2, 0));
+      mapper.insertLine(new OrderLine(21, 2));
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getParameterObjects().size()).containsExactly(1, 1, 1);
+      sqlSession.commit();
+      assertThat(mapper.countLines()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void shouldFlushWhenTooManyStatementsAreOpen() {
+    sqlSessionFactory.getConfiguration().setBatchMaxOpenStatements(1);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertOrder(new PurchaseOrder(1, 0));
+      mapper.insertLine(new OrderLine(11, 1));
+      mapper.insertOrder(new PurchaseOrder(2, 0));
+      mapper.insertLine(new OrderLine(21, 2));
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getParameterObjects().size()).containsExactly(1, 1, 1, 1);
+      sqlSession.commit();
+      assertThat(mapper.countLines()).isEqualTo(2);
+    } finally {
+      sqlSessionFactory.getConfiguration().setBatchMaxOpenStatements(16);
+    }
+  }
+
+}
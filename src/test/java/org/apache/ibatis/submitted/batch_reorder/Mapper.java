@@ -0,0 +1,39 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_reorder;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+public interface Mapper {
+
+  @Insert("insert into purchase_orders (id, total) values (#{id}, #{total})")
+  int insertOrder(PurchaseOrder order);
+
+  @Insert("insert into order_lines (id, order_id) values (#{id}, #{orderId})")
+  int insertLine(OrderLine line);
+
+  @Update("update purchase_orders set total = #{total} where id = #{id}")
+  int updateOrder(PurchaseOrder order);
+
+  @Select("select count(*) from order_lines")
+  int countLines();
+
+  @Select("select total from purchase_orders where id = #{id}")
+  Integer selectTotal(Integer id);
+
+}
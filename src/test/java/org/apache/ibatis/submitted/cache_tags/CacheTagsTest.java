@@ -0,0 +1,146 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cache_tags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheTagsTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    SharedCache.reset();
+    sqlSessionFactory = newSqlSessionFactory();
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/cache_tags/CreateDB.sql");
+  }
+
+  @Test
+  void shouldInvalidateOnlyTheTaggedEntries() {
+    cacheAll();
+    changeWithoutInvalidation();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.renameUser(1, "Renamed1");
+      assertEquals("Renamed1", mapper.getUser(1).getName());
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("Renamed1", mapper.getUser(1).getName());
+      assertEquals("User2", mapper.getUser(2).getName());
+      List<User> users = mapper.getUsers();
+      assertEquals(3, users.size());
+      assertEquals("Renamed1", users.get(0).getName());
+      assertEquals("Stale2", users.get(1).getName());
+      assertEquals(3, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldInvalidateTheTagsOfAnAnnotatedStatement() {
+    cacheAll();
+    changeWithoutInvalidation();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.renameUserWithAnnotation(2, "Renamed2");
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("User1", mapper.getUser(1).getName());
+      assertEquals("Renamed2", mapper.getUser(2).getName());
+      assertEquals("Stale1", mapper.getUsers().get(0).getName());
+    }
+  }
+
+  @Test
+  void shouldNotInvalidateOnRollback() {
+    cacheAll();
+    changeWithoutInvalidation();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.renameUser(1, "Renamed1");
+      sqlSession.rollback();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("User1", mapper.getUser(1).getName());
+      assertEquals(2, mapper.getUsers().size());
+      assertEquals(2, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldInvalidateTheTagsOfACacheSharedWithAnotherConfiguration() throws Exception {
+    cacheAll();
+    changeWithoutInvalidation();
+    SqlSessionFactory otherSqlSessionFactory = newSqlSessionFactory();
+    try (SqlSession sqlSession = otherSqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("User1", mapper.getUser(1).getName());
+      mapper.renameUser(1, "Renamed1");
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("Renamed1", mapper.getUser(1).getName());
+      assertEquals("User2", mapper.getUser(2).getName());
+      assertEquals(3, mapper.getUsers().size());
+    }
+  }
+
+  private SqlSessionFactory newSqlSessionFactory() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cache_tags/mybatis-config.xml")) {
+      return new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  private void cacheAll() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("User1", mapper.getUser(1).getName());
+      assertEquals("User2", mapper.getUser(2).getName());
+      assertEquals(2, mapper.getUsers().size());
+      assertEquals(2, mapper.countUsers());
+    }
+  }
+
+  private void changeWithoutInvalidation() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.renameUserWithoutInvalidation(1, "Stale1");
+      mapper.renameUserWithoutInvalidation(2, "Stale2");
+      mapper.insertUserWithoutInvalidation(3, "User3");
+      sqlSession.commit();
+    }
+  }
+
+}
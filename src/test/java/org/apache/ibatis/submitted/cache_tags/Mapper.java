@@ -0,0 +1,42 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cache_tags;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.CacheTags;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+public interface Mapper {
+
+  User getUser(Integer id);
+
+  List<User> getUsers();
+
+  int countUsers();
+
+  void renameUser(@Param("id") Integer id, @Param("name") String name);
+
+  void renameUserWithoutInvalidation(@Param("id") Integer id, @Param("name") String name);
+
+  void insertUserWithoutInvalidation(@Param("id") Integer id, @Param("name") String name);
+
+  @Update("update users set name = #{name} where id = #{id}")
+  @CacheTags({ "users", "user:#{id}" })
+  void renameUserWithAnnotation(@Param("id") Integer id, @Param("name") String name);
+
+}
@@ -0,0 +1,78 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cache_tags;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+
+/**
+ * A cache whose entries are shared by all configurations, like a distributed cache.
+ */
+public class SharedCache implements Cache {
+
+  private static final Cache ENTRIES = new PerpetualCache("shared");
+
+  private final String id;
+
+  public SharedCache(String id) {
+    this.id = id;
+  }
+
+  public static void reset() {
+    ENTRIES.clear();
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    synchronized (ENTRIES) {
+      ENTRIES.putObject(key, value);
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    synchronized (ENTRIES) {
+      return ENTRIES.getObject(key);
+    }
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    synchronized (ENTRIES) {
+      return ENTRIES.removeObject(key);
+    }
+  }
+
+  @Override
+  public void clear() {
+    synchronized (ENTRIES) {
+      ENTRIES.clear();
+    }
+  }
+
+  @Override
+  public int getSize() {
+    synchronized (ENTRIES) {
+      return ENTRIES.getSize();
+    }
+  }
+
+}
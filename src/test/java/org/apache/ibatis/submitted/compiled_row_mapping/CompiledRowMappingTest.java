@@ -0,0 +1,106 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.compiled_row_mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CompiledRowMappingTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/compiled_row_mapping/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/compiled_row_mapping/CreateDB.sql");
+  }
+
+  @Test
+  void shouldMapAllRowsWithAutoMapping() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsers();
+      assertThat(users).hasSize(3);
+      assertThat(users).extracting(User::getId).containsExactly(1, 2, 3);
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User2", null);
+      assertThat(users).extracting(User::getLoginCount).containsExactly(10, 0, 0);
+      assertThat(users).extracting(User::getNickName).containsExactly("one", "two", null);
+    }
+  }
+
+  @Test
+  void shouldMapAllRowsWithResultMap() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsersWithResultMap();
+      assertThat(users).hasSize(3);
+      assertThat(users).extracting(User::getId).containsExactly(1, 2, 3);
+      assertThat(users).extracting(User::getDisplayName).containsExactly("one", "two", null);
+      // nick_name is mapped explicitly, so it is not auto-mapped
+      assertThat(users).extracting(User::getNickName).containsOnlyNulls();
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User2", null);
+    }
+  }
+
+  @Test
+  void shouldMapTheRowsAfterTheFirstWithTheCompiledMapper() {
+    // the first row is mapped through a MetaObject and builds the compiled mapper, which then maps the next rows
+    // without looking up the reflector of the result type
+    List<Integer> lookups = userLookupsAfterEachRow("getUsers");
+    assertThat(lookups).hasSize(3).containsOnly(lookups.get(0));
+    assertThat(lookups.get(0)).isPositive();
+
+    lookups = userLookupsAfterEachRow("getUsersWithResultMap");
+    assertThat(lookups).hasSize(3).containsOnly(lookups.get(0));
+  }
+
+  @Test
+  void shouldReturnNullForEmptyRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getNames();
+      assertThat(users).hasSize(3);
+      assertThat(users.get(0).getName()).isEqualTo("User1");
+      assertThat(users.get(1).getName()).isEqualTo("User2");
+      assertThat(users.get(2)).isNull();
+    }
+  }
+
+  private List<Integer> userLookupsAfterEachRow(String statement) {
+    CountingReflectorFactory reflectorFactory = (CountingReflectorFactory) sqlSessionFactory.getConfiguration().getReflectorFactory();
+    List<Integer> lookups = new ArrayList<>();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.select("org.apache.ibatis.submitted.compiled_row_mapping.Mapper." + statement,
+          context -> lookups.add(reflectorFactory.getUserLookups()));
+    }
+    return lookups;
+  }
+
+}
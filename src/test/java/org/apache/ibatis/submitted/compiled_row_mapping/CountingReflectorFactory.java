@@ -0,0 +1,41 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.compiled_row_mapping;
+
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Counts the reflector lookups of {@link User}, which the default row mapping makes for every row through a
+ * {@code MetaObject}, while a compiled row mapper makes them only when it is built.
+ */
+public class CountingReflectorFactory extends DefaultReflectorFactory {
+
+  private int userLookups;
+
+  @Override
+  public Reflector findForClass(Class<?> type) {
+    if (type == User.class) {
+      userLookups++;
+    }
+    return super.findForClass(type);
+  }
+
+  public int getUserLookups() {
+    return userLookups;
+  }
+
+}
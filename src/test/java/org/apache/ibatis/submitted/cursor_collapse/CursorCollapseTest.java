@@ -0,0 +1,87 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cursor_collapse;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Map;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CursorCollapseTest {
+
+  private static final int USERS = 2000;
+  private static final int GROUPS = 3;
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cursor_collapse/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/cursor_collapse/CreateDB.sql");
+    try (Connection conn = sqlSessionFactory.getConfiguration().getEnvironment().getDataSource().getConnection();
+        PreparedStatement stmt = conn.prepareStatement("insert into users values(?, ?, ?)")) {
+      for (int id = 1; id <= USERS; id++) {
+        for (int group = 1; group <= GROUPS; group++) {
+          stmt.setInt(1, id);
+          stmt.setString(2, "User" + id);
+          stmt.setInt(3, group);
+          stmt.addBatch();
+        }
+      }
+      stmt.executeBatch();
+    }
+  }
+
+  @Test
+  void shouldReturnCompleteUsersWithoutRetainingThem() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Cursor<User> usersCursor = mapper.getAllUsers();
+      MetaObject cursor = SystemMetaObject.forObject(usersCursor);
+      int count = 0;
+      for (User user : usersCursor) {
+        count++;
+        // the statement is not declared resultOrdered, the setting makes the cursor collapse its rows
+        Assertions.assertEquals(count, (int) user.getId());
+        Assertions.assertEquals(GROUPS, user.getGroups().size());
+        // only the objects of the user being read are kept
+        int retained = ((Map<?, ?>) cursor.getValue("resultSetHandler.nestedResultObjects")).size()
+            + (Integer) cursor.getValue("resultSetHandler.numericNestedResultObjects.size");
+        Assertions.assertTrue(retained <= 1 + GROUPS, "retained " + retained + " objects after " + count + " users");
+      }
+      Assertions.assertEquals(USERS, count);
+    }
+  }
+
+}
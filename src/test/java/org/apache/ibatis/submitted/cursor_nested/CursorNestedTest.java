@@ -88,6 +88,29 @@ class CursorNestedTest {
     Assertions.assertFalse(usersCursor.isOpen());
   }
 
+  @Test
+  void shouldCompleteUsersReturnedWithoutResultOrdered() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Cursor<User> usersCursor = mapper.getAllUsersWithoutResultOrdered();
+      Iterator<User> iterator = usersCursor.iterator();
+
+      // a user is returned at its first row, and completed as the next rows are read
+      User user1 = iterator.next();
+      Assertions.assertEquals("User1", user1.getName());
+      User user2 = iterator.next();
+      Assertions.assertEquals("User2", user2.getName());
+      Assertions.assertEquals(2, user1.getGroups().size());
+      Assertions.assertEquals(3, user1.getRoles().size());
+
+      Assertions.assertEquals("User3", iterator.next().getName());
+      Assertions.assertEquals("User4", iterator.next().getName());
+      Assertions.assertFalse(iterator.hasNext());
+      Assertions.assertEquals(1, user2.getGroups().size());
+      Assertions.assertEquals(3, user2.getRoles().size());
+    }
+  }
+
   @Test
   void testCursorWithRowBound() {
     try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
@@ -1,5 +1,5 @@
 /**
- *    Copyright 2009-2019 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -90,6 +90,34 @@ class Jdbc3KeyGeneratorTest {
     }
   }
 
+  @Test
+  void shouldReuseKeyAssignmentPlanAcrossFlushes() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      try {
+        CountryMapper mapper = sqlSession.getMapper(CountryMapper.class);
+        List<Country> countries = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+          Country country1 = new Country("China", "CN");
+          Country country2 = new Country("Canada", "CA");
+          mapper.insertBean(country1);
+          mapper.insertBean(country2);
+          sqlSession.flushStatements();
+          countries.add(country1);
+          countries.add(country2);
+        }
+        assertTrue(sqlSessionFactory.getConfiguration().getKeyAssignmentPlanCache().size() > 0);
+        Set<Integer> ids = new HashSet<>();
+        for (Country country : countries) {
+          assertNotNull(country.getId());
+          ids.add(country.getId());
+        }
+        assertEquals(countries.size(), ids.size());
+      } finally {
+        sqlSession.rollback();
+      }
+    }
+  }
+
   @Test
   void shouldAssignKeyToNamedBean() {
     try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
@@ -0,0 +1,79 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.local_cache_size;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.LocalCacheStatistics;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class LocalCacheSizeTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/local_cache_size/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/local_cache_size/CreateDB.sql");
+  }
+
+  @Test
+  void shouldEvictTheLeastRecentlyUsedResults() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      User user1 = mapper.getUser(1);
+      User user2 = mapper.getUser(2);
+      assertThat(mapper.getUser(1)).isSameAs(user1);
+      mapper.getUser(3);
+      assertThat(mapper.getUser(1)).isSameAs(user1);
+      assertThat(mapper.getUser(2)).isNotSameAs(user2);
+      LocalCacheStatistics statistics = sqlSession.getLocalCacheStatistics();
+      assertThat(statistics.getHitCount()).isEqualTo(2);
+      assertThat(statistics.getMissCount()).isEqualTo(4);
+      assertThat(statistics.getEvictionCount()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldKeepNestedResultsUntilTheOutermostQueryCompletes() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.getUser(1);
+      mapper.getUser(2);
+      List<User> users = mapper.getUsersWithTeam();
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User2", "User3");
+      assertThat(users).extracting(user -> user.getTeam().getName()).containsOnly("Team1");
+      assertThat(users.get(0).getTeam()).isSameAs(users.get(2).getTeam());
+      assertThat(mapper.getUsersWithTeam()).isSameAs(users);
+    }
+  }
+
+}
@@ -0,0 +1,108 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.multi_row_insert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MultiRowInsertTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/multi_row_insert/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @BeforeEach
+  void createTables() throws Exception {
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/multi_row_insert/CreateDB.sql");
+  }
+
+  @Test
+  void shouldInsertRowsInGroups() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      // the same object is inserted several times, the values are read when each row is added
+      User user = new User();
+      for (int i = 1; i <= 7; i++) {
+        user.setId(i);
+        user.setName("User" + i);
+        user.setNickName(i % 2 == 0 ? null : "nick" + i);
+        mapper.insertUser(user);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).hasSize(1);
+      assertThat(results.get(0).getParameterObjects()).hasSize(7);
+      assertThat(results.get(0).getUpdateCounts()).containsExactly(1, 1, 1, 1, 1, 1, 1);
+      sqlSession.commit();
+
+      List<User> users = mapper.getUsers();
+      assertThat(users).extracting(User::getId).containsExactly(1, 2, 3, 4, 5, 6, 7);
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User2", "User3", "User4", "User5", "User6", "User7");
+      assertThat(users).extracting(User::getNickName).containsExactly("NICK1", null, "NICK3", null, "NICK5", null, "NICK7");
+    }
+  }
+
+  @Test
+  void shouldInsertRowsWithParamMap() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 4; i++) {
+        mapper.insertUserWithParams(i, "User" + i);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results.get(0).getUpdateCounts()).containsExactly(1, 1, 1, 1);
+      sqlSession.commit();
+
+      assertThat(mapper.getUsers()).extracting(User::getName).containsExactly("User1", "User2", "User3", "User4");
+    }
+  }
+
+  @Test
+  void shouldNotRewriteStatementsWithGeneratedKeys() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<Account> accounts = Arrays.asList(new Account("a"), new Account("b"), new Account("c"), new Account("d"));
+      for (Account account : accounts) {
+        mapper.insertAccount(account);
+      }
+      sqlSession.flushStatements();
+      sqlSession.commit();
+      assertThat(accounts).extracting(Account::getId).containsExactly(100, 101, 102, 103);
+    }
+  }
+
+}
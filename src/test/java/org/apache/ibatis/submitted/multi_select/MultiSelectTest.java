@@ -0,0 +1,103 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.multi_select;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.MultiSelect;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class MultiSelectTest {
+
+  private static final String NAMESPACE = "org.apache.ibatis.submitted.multi_select.Mapper.";
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/multi_select/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/multi_select/CreateDB.sql");
+  }
+
+  @Test
+  void shouldReturnTheResultsInOrder() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<List<Object>> results = sqlSession.selectMultiple(new MultiSelect()
+          .add(NAMESPACE + "getUsers")
+          .add(NAMESPACE + "getTeamNames")
+          .add(NAMESPACE + "getUser", 2));
+      assertThat(results).hasSize(3);
+      assertThat(results.get(0)).extracting("name").containsExactly("User1", "User2");
+      assertThat(results.get(1)).containsExactly("Team1");
+      assertThat(results.get(2)).extracting("name").containsExactly("User2");
+    }
+  }
+
+  @Test
+  void shouldShareTheLocalCache() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsers();
+      List<List<Object>> results = sqlSession.selectMultiple(new MultiSelect()
+          .add(NAMESPACE + "getUsers")
+          .add(NAMESPACE + "getTeamNames"));
+      assertThat(results.get(0)).isSameAs(users);
+      assertThat(sqlSession.getMapper(Mapper.class).getTeamNames()).isSameAs(results.get(1));
+    }
+  }
+
+  @Test
+  void shouldQueryTheStatementsNotFoundInTheCacheWhenMultiQueryIsEnabled() {
+    sqlSessionFactory.getConfiguration().setMultiQueryEnabled(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      // only one statement is left to run, so it does not need a multi-statement string
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsers();
+      List<List<Object>> results = sqlSession.selectMultiple(new MultiSelect()
+          .add(NAMESPACE + "getUsers")
+          .add(NAMESPACE + "getUser", 1));
+      assertThat(results.get(0)).isSameAs(users);
+      assertThat(results.get(1)).extracting("name").containsExactly("User1");
+    } finally {
+      sqlSessionFactory.getConfiguration().setMultiQueryEnabled(false);
+    }
+  }
+
+  @Test
+  void shouldSelectMultipleThroughTheSessionManager() {
+    SqlSessionManager manager = SqlSessionManager.newInstance(sqlSessionFactory);
+    List<List<Object>> results = manager.selectMultiple(new MultiSelect()
+        .add(NAMESPACE + "getTeamNames")
+        .add(NAMESPACE + "getUser", 1));
+    assertThat(results.get(0)).containsExactly("Team1");
+    assertThat(results.get(1)).extracting("name").containsExactly("User1");
+  }
+
+}
@@ -0,0 +1,41 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.nested_select_batch;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Many;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.ResultHandler;
+
+public interface Mapper {
+
+  List<Blog> getBlogs();
+
+  void getBlogs(ResultHandler<Blog> handler);
+
+  List<Blog> getBlogsWithLazyPosts();
+
+  @Select("select id, title from blog order by id")
+  @Results({
+      @Result(property = "id", column = "id", id = true),
+      @Result(property = "posts", column = "id",
+          many = @Many(select = "getPostsOfBlog", batchSelect = "getPostsOfBlogs", batchKey = "blogId")) })
+  List<Blog> getBlogsWithAnnotations();
+
+}
@@ -0,0 +1,122 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.nested_select_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NestedSelectBatchTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/nested_select_batch/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/nested_select_batch/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void resetCounter() {
+    StatementCounter.count.set(0);
+  }
+
+  @Test
+  void shouldLoadNestedSelectsInBatches() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).getBlogs();
+      assertBlogs(blogs);
+      assertThat(blogs.get(0).getAuthor().getName()).isEqualTo("Author1");
+      assertThat(blogs.get(1).getAuthor()).isSameAs(blogs.get(0).getAuthor());
+      assertThat(blogs.get(3).getAuthor().getName()).isEqualTo("Author2");
+      // the blogs, the two authors at once, and the posts of four blogs two at a time
+      assertThat(StatementCounter.count.get()).isEqualTo(4);
+    }
+  }
+
+  @Test
+  void shouldLoadNestedSelectsInBatchesWithAnnotations() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).getBlogsWithAnnotations();
+      assertBlogs(blogs);
+      assertThat(StatementCounter.count.get()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void shouldLoadNestedSelectsRowByRowForResultHandler() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = new ArrayList<>();
+      sqlSession.getMapper(Mapper.class).getBlogs(context -> blogs.add(context.getResultObject()));
+      assertBlogs(blogs);
+      // the blogs, one author per distinct author and the posts of each blog
+      assertThat(StatementCounter.count.get()).isEqualTo(7);
+    }
+  }
+
+  @Test
+  void shouldLoadLazyNestedSelectsOfSiblingsInBatches() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).getBlogsWithLazyPosts();
+      assertThat(StatementCounter.count.get()).isEqualTo(1);
+      assertThat(blogs.get(0).getPosts()).hasSize(2);
+      assertThat(StatementCounter.count.get()).isEqualTo(2);
+      assertThat(blogs.get(1).getPosts()).isEmpty();
+      assertThat(StatementCounter.count.get()).isEqualTo(2);
+      assertBlogs(blogs);
+      // the posts of four blogs two at a time
+      assertThat(StatementCounter.count.get()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void shouldLoadLazyNestedSelectsOfSiblingsFollowingTheTriggeringOne() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).getBlogsWithLazyPosts();
+      assertThat(blogs.get(3).getPosts()).extracting(Post::getSubject).containsExactly("Post4");
+      assertThat(blogs.get(0).getPosts()).hasSize(2);
+      assertThat(StatementCounter.count.get()).isEqualTo(2);
+      assertBlogs(blogs);
+      assertThat(StatementCounter.count.get()).isEqualTo(3);
+    }
+  }
+
+  private void assertBlogs(List<Blog> blogs) {
+    assertThat(blogs).extracting(Blog::getId).containsExactly(1, 2, 3, 4);
+    assertThat(blogs.get(0).getPosts()).extracting(Post::getSubject).containsExactly("Post1", "Post2");
+    assertThat(blogs.get(1).getPosts()).isEmpty();
+    assertThat(blogs.get(2).getPosts()).extracting(Post::getSubject).containsExactly("Post3");
+    assertThat(blogs.get(3).getPosts()).extracting(Post::getSubject).containsExactly("Post4");
+  }
+
+}
@@ -0,0 +1,80 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.numeric_row_key;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class NumericRowKeyTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/numeric_row_key/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/numeric_row_key/CreateDB.sql");
+  }
+
+  @Test
+  void shouldGroupRowsInAnyOrder() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).getBlogs();
+      assertThat(blogs).extracting(Blog::getId).containsExactly(3, 1, 2);
+      assertThat(blogs.get(0).getPosts()).isEmpty();
+      assertThat(blogs.get(1).getPosts()).extracting(Post::getId).containsExactly(1L, 2L, 4L);
+      assertThat(blogs.get(2).getPosts()).extracting(Post::getSubject).containsExactly("Post3");
+    }
+  }
+
+  @Test
+  void shouldGroupOrderedRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).getBlogsOrdered();
+      assertThat(blogs).extracting(Blog::getId).containsExactly(1, 2, 3);
+      assertThat(blogs.get(0).getPosts()).extracting(Post::getId).containsExactly(1L, 2L, 4L);
+      assertThat(blogs.get(1).getPosts()).extracting(Post::getId).containsExactly(3L);
+      assertThat(blogs.get(2).getPosts()).isEmpty();
+    }
+  }
+
+  @Test
+  void shouldCombineNumericAndRegularKeys() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).getBlogsWithTags();
+      assertThat(blogs).extracting(Blog::getId).containsExactly(1, 2, 3);
+      assertThat(blogs.get(0).getTags()).containsExactly("java", "sql");
+      assertThat(blogs.get(1).getTags()).containsExactly("java");
+      assertThat(blogs.get(2).getTags()).isEmpty();
+    }
+  }
+
+}
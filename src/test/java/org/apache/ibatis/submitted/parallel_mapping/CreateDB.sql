@@ -0,0 +1,37 @@
+--
+--    Copyright 2009-2020 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       http://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+
+drop table users if exists;
+drop table digits if exists;
+
+create table digits (
+  n int
+);
+
+insert into digits (n) values (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+create table users (
+  id int,
+  name varchar(20),
+  nick_name varchar(20)
+);
+
+insert into users (id, name, nick_name)
+  select d1.n + d2.n * 10 + d3.n * 100 + d4.n * 1000,
+         'User' || cast(d1.n + d2.n * 10 + d3.n * 100 + d4.n * 1000 as varchar(4)),
+         case when d1.n = 0 then null else 'Nick' || cast(d1.n as varchar(1)) end
+  from digits d1, digits d2, digits d3, digits d4;
@@ -0,0 +1,110 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.parallel_mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ParallelMappingTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/parallel_mapping/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/parallel_mapping/CreateDB.sql");
+  }
+
+  @Test
+  void shouldMapRowsInOrder() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = mapper.getUsersInParallel();
+      assertUsers(users, 0, 10000);
+      assertThat(users).usingFieldByFieldElementComparator().isEqualTo(mapper.getUsers());
+    }
+  }
+
+  @Test
+  void shouldMapRowsInOrderWithAnnotation() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertUsers(sqlSession.getMapper(Mapper.class).getUsersInParallelWithAnnotation(), 0, 10000);
+    }
+  }
+
+  @Test
+  void shouldApplyRowBounds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertUsers(sqlSession.getMapper(Mapper.class).getUsersInParallel(new RowBounds(10, 1000)), 10, 1000);
+    }
+  }
+
+  @Test
+  void shouldStopWhenResultHandlerStops() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = new ArrayList<>();
+      sqlSession.getMapper(Mapper.class).getUsersInParallel(context -> {
+        users.add(context.getResultObject());
+        if (context.getResultCount() == 700) {
+          context.stop();
+        }
+      });
+      assertUsers(users, 0, 700);
+    }
+  }
+
+  @Test
+  void shouldRethrowMappingFailure() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThatThrownBy(mapper::getFailingUsersInParallel)
+          .isInstanceOf(PersistenceException.class)
+          .hasStackTraceContaining("Invalid id 5000");
+    }
+  }
+
+  private void assertUsers(List<User> users, int firstId, int count) {
+    assertThat(users).hasSize(count);
+    for (int i = 0; i < count; i++) {
+      final User user = users.get(i);
+      final int id = firstId + i;
+      assertThat(user.getId()).isEqualTo(id);
+      assertThat(user.getName()).isEqualTo("User" + id);
+      assertThat(user.getNickName()).isEqualTo(id % 10 == 0 ? null : "Nick" + id % 10);
+    }
+  }
+
+}
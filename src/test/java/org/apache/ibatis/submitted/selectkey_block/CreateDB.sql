@@ -0,0 +1,35 @@
+--
+--    Copyright 2009-2020 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       http://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+drop table users if exists;
+drop table key_rows if exists;
+drop sequence users_seq if exists;
+drop sequence rows_seq if exists;
+
+create sequence users_seq start with 1 increment by 10;
+create sequence rows_seq start with 100;
+
+create table users (
+  id int,
+  name varchar(20)
+);
+
+create table key_rows (
+  n int
+);
+
+insert into key_rows (n) values (1);
+insert into key_rows (n) values (2);
+insert into key_rows (n) values (3);
@@ -0,0 +1,43 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.selectkey_block;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.SelectKey;
+import org.apache.ibatis.mapping.KeyBlockMode;
+
+public interface Mapper {
+
+  int insertUser(User user);
+
+  @Insert("insert into users (id, name) values (#{id}, #{name})")
+  @SelectKey(statement = "select next value for rows_seq from key_rows", keyProperty = "id", before = true, resultType = int.class, blockSize = 3, blockMode = KeyBlockMode.ROWS)
+  int insertUserWithKeyRows(User user);
+
+  @Insert("insert into users (id, name) values (#{id}, #{name})")
+  @SelectKey(statement = "select next value for rows_seq from key_rows", keyProperty = "id", before = true, resultType = int.class, blockSize = 4, blockMode = KeyBlockMode.ROWS)
+  int insertUserWithTooFewKeyRows(User user);
+
+  @Select("select id from users order by id")
+  List<Integer> getIds();
+
+  @Select("select next value for users_seq from (values(0))")
+  int nextUserSequenceValue();
+
+}
@@ -0,0 +1,115 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.selectkey_block;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SelectKeyBlockTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // create a SqlSessionFactory, so that each test starts with empty key pools
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/selectkey_block/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/selectkey_block/CreateDB.sql");
+  }
+
+  @Test
+  void shouldAllocateConsecutiveKeysFromTheFirstValueOfABlock() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 0; i < 25; i++) {
+        User user = new User("User" + i);
+        mapper.insertUser(user);
+        assertThat(user.getId()).isEqualTo(i + 1);
+      }
+      sqlSession.flushStatements();
+      assertThat(mapper.getIds()).isEqualTo(IntStream.rangeClosed(1, 25).boxed().collect(Collectors.toList()));
+      // the sequence was used once per block of 10 keys
+      assertThat(mapper.nextUserSequenceValue()).isEqualTo(31);
+    }
+  }
+
+  @Test
+  void shouldShareTheKeysOfABlockBetweenSessions() {
+    User user1 = new User("User1");
+    User user2 = new User("User2");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).insertUser(user1);
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).insertUser(user2);
+      sqlSession.commit();
+    }
+    assertThat(user1.getId()).isEqualTo(1);
+    assertThat(user2.getId()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldAllocateOneKeyPerReturnedRow() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 0; i < 4; i++) {
+        User user = new User("User" + i);
+        mapper.insertUserWithKeyRows(user);
+        assertThat(user.getId()).isEqualTo(100 + i);
+      }
+    }
+  }
+
+  @Test
+  void shouldRequireOneRowPerKeyOfTheBlock() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThatThrownBy(() -> mapper.insertUserWithTooFewKeyRows(new User("User1")))
+          .isInstanceOf(PersistenceException.class)
+          .hasMessageContaining("SelectKey returned 3 rows instead of 4");
+    }
+  }
+
+  @Test
+  void shouldRequireTheKeyToBeSelectedBefore() {
+    Configuration configuration = new Configuration();
+    assertThatThrownBy(() -> configuration.addMapper(InvalidMapper.class))
+        .isInstanceOf(BuilderException.class)
+        .hasMessageContaining("must be executed before the statement");
+  }
+
+}